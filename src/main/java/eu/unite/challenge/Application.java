@@ -1,8 +1,9 @@
 package eu.unite.challenge;
 
 import eu.unite.challenge.algorithms.AbstractProblemSolver;
-import eu.unite.challenge.algorithms.BranchAndBoundAlgoImpl;
-import eu.unite.challenge.algorithms.DynamicProgrammingAlgoImpl;
+import eu.unite.challenge.algorithms.CachedAlgoImpl;
+import eu.unite.challenge.algorithms.SolutionCache;
+import eu.unite.challenge.dataobjects.RecordInstance;
 import eu.unite.challenge.exceptions.FileFormatException;
 import eu.unite.challenge.utils.FileParserUtility;
 import org.slf4j.Logger;
@@ -11,8 +12,15 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static eu.unite.challenge.validations.ConstraintRules.SOLUTION_CACHE_CAPACITY;
+import static eu.unite.challenge.validations.ConstraintRules.SOLVE_BATCH_SIZE;
 
 @SpringBootApplication
 public class Application {
@@ -28,14 +36,31 @@ public class Application {
         }
 
         FileParserUtility fileParserUtility = new FileParserUtility(args[0]);
+        SolutionCache cache = new SolutionCache(SOLUTION_CACHE_CAPACITY);
+
+        /*
+         * The lines are read lazily, and solved in parallel batches of SOLVE_BATCH_SIZE,
+         * so that only one batch is kept in memory, whatever the size of the file.
+         */
+        try (Stream<RecordInstance> recordInstances = fileParserUtility.stream()) {
+            Iterator<RecordInstance> iterator = recordInstances.iterator();
+            logger.info("------");
+            while (iterator.hasNext()) {
+                List<RecordInstance> batch = new ArrayList<>(SOLVE_BATCH_SIZE);
+                while (batch.size() < SOLVE_BATCH_SIZE && iterator.hasNext())
+                    batch.add(iterator.next());
 
-        List<AbstractProblemSolver> abstractProblemSolvers = fileParserUtility.parse().parallelStream()
-                .map(DynamicProgrammingAlgoImpl::new)
-                .collect(Collectors.toList());
+                List<AbstractProblemSolver> abstractProblemSolvers = batch.parallelStream()
+                        .map(recordInstance -> new CachedAlgoImpl(recordInstance, cache))
+                        .collect(Collectors.toList());
 
-        logger.info("------");
-        for (AbstractProblemSolver solver : abstractProblemSolvers)
-            logger.info("{}", solver);
+                for (AbstractProblemSolver solver : abstractProblemSolvers)
+                    logger.info("{}", solver);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        logger.debug("{}", cache);
     }
 
 }
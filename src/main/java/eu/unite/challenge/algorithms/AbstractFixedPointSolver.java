@@ -0,0 +1,54 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+
+import java.util.Comparator;
+import java.util.SortedSet;
+
+/**
+ * Base class for solvers which run entirely on primitives.
+ * The problem instance is converted once to a {@link FixedPointInstance},
+ * where weights and prices are scaled to exact {@code long} values.
+ * Only the final {@code Package} is converted back to {@code BigDecimal},
+ * by {@link AbstractProblemSolver}. Weights are normalized by
+ * {@link Preprocessor#normalize(FixedPointInstance)}.
+ * <p>
+ * Each subclass mirrors one of the {@code BigDecimal} solvers, and
+ * returns exactly the same solution, including the tie-break between subsets of the same price.
+ */
+public abstract class AbstractFixedPointSolver extends AbstractProblemSolver {
+
+    AbstractFixedPointSolver(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected final SortedSet<Integer> solve(final RecordInstance recordInstance) {
+        return solve(Preprocessor.normalize(new FixedPointInstance(recordInstance, order())));
+    }
+
+    /**
+     * The order of items in the fixed-point view passed to
+     * {@link #solve(FixedPointInstance)}. Sorting is done once,
+     * on {@link Item}s, so that it matches the corresponding
+     * {@code BigDecimal} solver.
+     *
+     * @return A comparator, or {@code null} to keep the original order.
+     */
+    Comparator<Item> order() {
+        return null;
+    }
+
+    /**
+     * Solves the package problem for the given fixed-point instance.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A sorted set containing the labels of items in the solution
+     */
+    protected abstract SortedSet<Integer> solve(final FixedPointInstance instance);
+}
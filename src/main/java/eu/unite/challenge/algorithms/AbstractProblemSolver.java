@@ -2,9 +2,15 @@ package eu.unite.challenge.algorithms;
 
 import eu.unite.challenge.dataobjects.Package;
 import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
 import java.util.SortedSet;
+import java.util.function.Function;
 
 /**
  * The {@code Solver} class provides a base class for various
@@ -12,25 +18,155 @@ import java.util.SortedSet;
  * It has an {@code abstract} method called {@code solve}.
  * Various algorithms which want to solve the problem can
  * implement this method.
+ * <p>
+ * Solvers which accept a time budget stop cooperatively at their
+ * {@link Deadline}, and return the best package found so far. Then,
+ * {@link #getUpperBound()} is a proven bound on the optimal price, and
+ * {@link #getGap()} tells how far from optimal the package may be.
+ * {@link #solveWithin(RecordInstance, Duration)} solves any instance
+ * within a time budget. Approximation solvers report the bound of
+ * {@link #approximationBound(RecordInstance)}, so their packages are
+ * only optimal if they reach it.
  */
 @Getter
 public abstract class AbstractProblemSolver {
     private final Package bag;
 
+    // How much the instance was reduced before it was solved, or null if it was not preprocessed
+    private final Preprocessor.Reduction reduction;
+
+    // The deadline of the solve, checked by the solvers which support it
+    @Getter(AccessLevel.NONE)
+    final Deadline deadline;
+
+    // A proven upper bound on the optimal price
+    private final BigDecimal upperBound;
+
+    // Whether the package is proven to have the optimal price
+    private final boolean optimal;
+
     /**
      * The constructor receives an instance of RecordInstance,
-     * calls solve on it, and initializes the field {@code bag}
-     * upon receiving the response.
+     * reduces it (see {@link Preprocessor}), calls solve on the
+     * reduced instance, and initializes the field {@code bag}
+     * upon receiving the response. If all items of the reduced
+     * instance fit, they are taken without calling solve.
      *
      * @param recordInstance An instance of the problem
+     * @throws IllegalArgumentException If the instance has a maximum volume,
+     *                                  which the solver does not support
      */
     AbstractProblemSolver(final RecordInstance recordInstance) {
+        this(recordInstance, null);
+    }
+
+    /**
+     * The constructor for solvers having several modes. Since {@code solve}
+     * is called from the constructor, a subclass cannot keep its mode in a
+     * field. Instead, the chosen mode is passed as {@code strategy}, which
+     * is called in place of {@code solve}.
+     *
+     * @param recordInstance An instance of the problem
+     * @param strategy       The function solving the instance, or {@code null}
+     *                       to call {@code solve}
+     */
+    AbstractProblemSolver(final RecordInstance recordInstance,
+                          final Function<RecordInstance, SortedSet<Integer>> strategy) {
+        this(recordInstance, strategy, Deadline.none());
+    }
+
+    /**
+     * The constructor for solvers with a time budget. The deadline is
+     * passed to the strategy as well, if the strategy supports it.
+     *
+     * @param recordInstance An instance of the problem
+     * @param strategy       The function solving the instance, or {@code null}
+     *                       to call {@code solve}
+     * @param deadline       The deadline of the solve
+     */
+    AbstractProblemSolver(final RecordInstance recordInstance,
+                          final Function<RecordInstance, SortedSet<Integer>> strategy,
+                          final Deadline deadline) {
+        this(recordInstance, strategy, deadline, true);
+    }
+
+    /**
+     * The constructor for solvers which delegate to another solver, which
+     * preprocesses the instance itself. Then, {@code preprocess} is
+     * {@code false}, so that the instance is not reduced twice, and
+     * {@code reduction} is {@code null}.
+     *
+     * @param recordInstance An instance of the problem
+     * @param strategy       The function solving the instance, or {@code null}
+     *                       to call {@code solve}
+     * @param deadline       The deadline of the solve
+     * @param preprocess     Whether to reduce the instance before it is solved
+     */
+    AbstractProblemSolver(final RecordInstance recordInstance,
+                          final Function<RecordInstance, SortedSet<Integer>> strategy,
+                          final Deadline deadline, final boolean preprocess) {
+        this.deadline = deadline;
         if (recordInstance == null) {
             bag = null;
+            reduction = null;
+            upperBound = null;
+            optimal = false;
             return;
         }
-        SortedSet<Integer> sortedSolution = solve(recordInstance);
+        if (recordInstance.hasVolume() && !supportsVolume())
+            throw new IllegalArgumentException(String.format(
+                    "%s does not support a maximum volume, use TwoDimensionalAlgoImpl.", getClass().getSimpleName()));
+        reduction = preprocess ? Preprocessor.reduce(recordInstance) : null;
+        final RecordInstance reduced = preprocess ? reduction.getInstance() : recordInstance;
+        SortedSet<Integer> sortedSolution;
+        if (preprocess && reduction.isAllFit())
+            sortedSolution = reduction.allLabels();
+        else
+            sortedSolution = (strategy == null) ? solve(reduced) : strategy.apply(reduced);
         bag = new Package(recordInstance.getMap(), sortedSolution);
+
+        BigDecimal bound = deadline.getUpperBound();
+        if (bound == null && !(preprocess && reduction.isAllFit()))
+            bound = approximationBound(reduced);
+        upperBound = (bound == null) ? bag.getResultPrice() : bound.max(bag.getResultPrice());
+        optimal = upperBound.compareTo(bag.getResultPrice()) == 0;
+    }
+
+    /**
+     * Solves the instance within a time budget, by the dynamic programming
+     * in {@link DynamicProgrammingAlgoImpl.Mode#PACKED} mode if it is in range
+     * and expected to be cheaper (see {@link SolverSelector#estimate}), and by
+     * {@link BranchAndBoundAlgoImpl} otherwise. Both stop cooperatively once
+     * the budget is spent, and return their incumbent with a proven upper bound.
+     *
+     * @param recordInstance An instance of the problem
+     * @param budget         The time after which the search stops
+     * @return The solver, which has solved the instance
+     * @throws IllegalArgumentException If {@code budget} is negative, or the
+     *                                  instance has a maximum volume.
+     */
+    public static AbstractProblemSolver solveWithin(final RecordInstance recordInstance, final Duration budget) {
+        final Deadline deadline = Deadline.after(budget);
+        if (recordInstance != null && !recordInstance.hasVolume()) {
+            final Map<SolverSelector.Strategy, Double> estimates = SolverSelector.estimate(recordInstance);
+            final Double dpCost = estimates.get(SolverSelector.Strategy.DYNAMIC_PROGRAMMING);
+            if (dpCost != null && dpCost < estimates.get(SolverSelector.Strategy.BRANCH_AND_BOUND)) {
+                try {
+                    return new DynamicProgrammingAlgoImpl(recordInstance, deadline);
+                } catch (OutOfRangeProblemSizeException e) {
+                    // The normalized maximum weight is in range, so this only happens for a huge table
+                }
+            }
+        }
+        return new BranchAndBoundAlgoImpl(recordInstance, deadline);
+    }
+
+    /**
+     * @return The difference between the upper bound and the price of the
+     * package; zero if the package is optimal
+     */
+    public BigDecimal getGap() {
+        return (bag == null) ? null : upperBound.subtract(bag.getResultPrice());
     }
 
     @Override
@@ -38,6 +174,31 @@ public abstract class AbstractProblemSolver {
         return (bag == null) ? "ERR" : bag.getResult();
     }
 
+    /**
+     * Solvers which only check the weight of a package reject lines with a
+     * maximum volume (see {@link RecordInstance#hasVolume()}).
+     *
+     * @return {@code true} if the solver checks the volume of a package as well
+     */
+    boolean supportsVolume() {
+        return false;
+    }
+
+    /**
+     * Exact solvers prove their package optimal, unless they are interrupted
+     * by their deadline. Approximation solvers override this method, and
+     * return a bound, which is then reported by {@link #getUpperBound()}.
+     * It is called on the subclass before its constructor runs, so it must
+     * not use the fields of the subclass.
+     *
+     * @param recordInstance The instance passed to {@code solve}
+     * @return A proven upper bound on the optimal price, or {@code null}
+     * if the package returned by {@code solve} is optimal
+     */
+    BigDecimal approximationBound(final RecordInstance recordInstance) {
+        return null;
+    }
+
     /**
      * Solves the package problem for the given instance.
      *
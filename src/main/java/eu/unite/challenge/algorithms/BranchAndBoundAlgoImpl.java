@@ -7,6 +7,7 @@ import net.jcip.annotations.Immutable;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,6 +29,23 @@ import static eu.unite.challenge.validations.ConstraintRules.SCALE;
  *     <li>Its bound is less than the current maximum cost
  *  achieved by traversing other nodes of the tree</li>
  * </ol>
+ * The bound of a node is the Martello&ndash;Toth bound U2 (see
+ * {@link #computeU2Bound}), which is never larger than the fractional
+ * bound of {@link #computeBound}.
+ * <p>
+ * Before the search, a reduction phase fixes some items permanently:
+ * The greedy solution gives a lower bound L on the optimal price. An item
+ * which is taken by the fractional solution is fixed in, if the bound with
+ * the item left is less than L; an item which is left by the fractional
+ * solution is fixed out, if the bound with the item taken is less than L.
+ * Since every optimal solution has a price of at least L, it respects all
+ * fixed items, and the search only runs on the undecided items.
+ * {@link #getFixedItems()} and {@link #getNodesSaved()} show the effect
+ * of both techniques on an instance.
+ * <p>
+ * Given a time budget, the search stops once it is spent, and returns
+ * the incumbent. Since the queue is ordered by bound, the bound of its
+ * head is a proven upper bound on the optimal price.
  */
 @Immutable
 public final class BranchAndBoundAlgoImpl extends AbstractProblemSolver {
@@ -39,10 +57,37 @@ public final class BranchAndBoundAlgoImpl extends AbstractProblemSolver {
     private BigDecimal bestWeight;
     private SortedSet<Integer> bestLabels;
 
+    // The number of items fixed by the reduction phase
+    @Getter
+    private int fixedItems;
+
+    // The number of nodes added to the queue
+    @Getter
+    private long nodes;
+
+    // The number of nodes pruned by U2, which the fractional bound would have kept
+    @Getter
+    private long nodesSaved;
+
+    // The fractional bound of the items of the last call to u2Bound
+    private BigDecimal fractionalBound;
+
     public BranchAndBoundAlgoImpl(final RecordInstance recordInstance) {
         super(recordInstance);
     }
 
+    /**
+     * @param recordInstance An instance of the problem
+     * @param budget         The time after which the search stops
+     */
+    public BranchAndBoundAlgoImpl(final RecordInstance recordInstance, final Duration budget) {
+        this(recordInstance, Deadline.after(budget));
+    }
+
+    BranchAndBoundAlgoImpl(final RecordInstance recordInstance, final Deadline deadline) {
+        super(recordInstance, null, deadline);
+    }
+
     /**
      * @inheritDoc
      */
@@ -51,11 +96,55 @@ public final class BranchAndBoundAlgoImpl extends AbstractProblemSolver {
         /*
          * Sort the items by their efficiency, then price.
          * This will *possibly* help the algorithm to achieve
-         * its solution faster.
+         * its solution faster. Efficiencies are compared exactly,
+         * since both bounds rely on this order.
          */
-        sorted = recordInstance.getItems().stream()
-                .sorted(ItemComparators.efficiencyPrice.reversed())
+        final List<Item> items = recordInstance.getPieces().stream()
+                .sorted(ItemComparators.exactEfficiencyPrice.reversed())
                 .collect(Collectors.toUnmodifiableList());
+        maxWeight = recordInstance.getMaxWeight();
+
+        /*
+         * The greedy solution is the first incumbent, and its price is
+         * the lower bound used for fixing items.
+         */
+        sorted = items;
+        bestLabels = new TreeSet<>();
+        bestWeight = bestPrice = BigDecimal.ZERO;
+        for (Item item : items)
+            if (bestWeight.add(item.getWeight()).compareTo(maxWeight) <= 0) {
+                bestWeight = bestWeight.add(item.getWeight());
+                bestPrice = bestPrice.add(item.getPrice());
+                bestLabels.add(item.getNumber());
+            }
+
+        // The search only runs on the undecided items, from the fixed ones
+        final List<Item> undecided = new ArrayList<>();
+        final SortedSet<Integer> fixedLabels = new TreeSet<>();
+        BigDecimal fixedWeight = BigDecimal.ZERO;
+        BigDecimal fixedPrice = BigDecimal.ZERO;
+        // The weight of items 0, ..., j, which the fractional solution takes while it fits
+        BigDecimal prefixWeight = BigDecimal.ZERO;
+        for (int j = 0; j < items.size(); j++) {
+            final Item item = items.get(j);
+            prefixWeight = prefixWeight.add(item.getWeight());
+            final boolean fractionalTakes = prefixWeight.compareTo(maxWeight) <= 0;
+            final BigDecimal capacity = fractionalTakes ? maxWeight : maxWeight.subtract(item.getWeight());
+            BigDecimal bound = u2Bound(0, capacity, j);
+            if (bound != null && !fractionalTakes)
+                bound = bound.add(item.getPrice());
+
+            if (bound == null || bound.compareTo(bestPrice) < 0) {
+                fixedItems++;
+                if (fractionalTakes) {
+                    fixedLabels.add(item.getNumber());
+                    fixedWeight = fixedWeight.add(item.getWeight());
+                    fixedPrice = fixedPrice.add(item.getPrice());
+                }
+            } else
+                undecided.add(item);
+        }
+        sorted = Collections.unmodifiableList(undecided);
 
         /*
          * Create a priority queue, where items are retrieved
@@ -64,20 +153,23 @@ public final class BranchAndBoundAlgoImpl extends AbstractProblemSolver {
          * This will *possibly* help the algorithm to achieve
          * its solution faster.
          */
-        maxWeight = recordInstance.getMaxWeight();
         queue = new PriorityQueue<>(Node.boundPriceWeight.reversed());
 
         /*
-         * Create a dummy node and add it to the queue.
+         * Create a root node, holding the fixed items, and add it to the queue.
          * Note the similarity with BFS search of a graph:
          * https://en.wikipedia.org/wiki/Breadth-first_search#Pseudocode
          * The only difference is that the queue is not FIFO.
          */
-        Node dummy = new Node();
-        queue.add(dummy);
-        bestPrice = BigDecimal.ZERO;
+        Node root = new Node(-1, fixedWeight, fixedPrice,
+                fixedPrice.add(computeU2Bound(0, fixedWeight)), fixedLabels);
+        queue.add(root);
 
         while (!queue.isEmpty()) {
+            if (deadline.isExpired()) {
+                deadline.interrupt(queue.peek().bound);
+                break;
+            }
             Node parent = queue.poll();
 
             /*
@@ -158,13 +250,16 @@ public final class BranchAndBoundAlgoImpl extends AbstractProblemSolver {
             priceToRoot = parent.price.add(item.getPrice());
         }
 
-        BigDecimal bound = priceToRoot.add(computeBound(i + 1, weightToRoot));
+        BigDecimal bound = priceToRoot.add(computeU2Bound(i + 1, weightToRoot));
         if (bound.compareTo(bestPrice) >= 0) {
             final Node n = new Node(i, weightToRoot, priceToRoot, bound, labelsToRoot);
             queue.add(n);
+            nodes++;
             return n;
         }
 
+        if (priceToRoot.add(fractionalBound).compareTo(bestPrice) >= 0)
+            nodesSaved++;
         return null;
     }
 
@@ -187,8 +282,8 @@ public final class BranchAndBoundAlgoImpl extends AbstractProblemSolver {
             final BigDecimal weight = item.getWeight();
 
             if (weight.compareTo(remainingWeight) > 0) {
-                BigDecimal fraction = remainingWeight.divide(weight, SCALE, RoundingMode.HALF_UP);
-                price = price.multiply(fraction);
+                // Rounded up, so that the bound is never too small
+                price = remainingWeight.multiply(price).divide(weight, SCALE, RoundingMode.CEILING);
                 maxPrice = maxPrice.add(price);
                 break;
             }
@@ -199,6 +294,91 @@ public final class BranchAndBoundAlgoImpl extends AbstractProblemSolver {
         return maxPrice;
     }
 
+    /**
+     * Computes the Martello&ndash;Toth bound U2, from this node downward.
+     *
+     * @param start         The index of the starting item.
+     * @param currentWeight The current weight of the items in the solution subset.
+     * @return A bound on the maximum attainable price.
+     */
+    BigDecimal computeU2Bound(final int start, final BigDecimal currentWeight) {
+        return u2Bound(start, maxWeight.subtract(currentWeight), -1);
+    }
+
+    /**
+     * Computes the bound U2 of items {@code start, ..., N-1}, except
+     * {@code excluded}. The items which fully fit are taken in sorted
+     * order, until the break item b. Then, either b is left, and the
+     * remaining weight is filled at most at the best efficiency of the
+     * items after b; or b is taken, and its excess weight is removed at
+     * least at the worst efficiency of the items before b. U2 is the
+     * larger of both. Efficiencies are compared exactly, and divisions
+     * are rounded so that the bound is never too small.
+     * <p>
+     * The fractional bound of the same items shares the break item, so it
+     * is kept in {@code fractionalBound} at the cost of a single division.
+     *
+     * @param start    The index of the starting item.
+     * @param capacity The weight which is still available.
+     * @param excluded The index of an item to skip, or -1.
+     * @return A bound on the price attainable from the items, or
+     * {@code null} if {@code capacity} is negative.
+     */
+    BigDecimal u2Bound(final int start, final BigDecimal capacity, final int excluded) {
+        if (capacity.signum() < 0)
+            return fractionalBound = null;
+
+        BigDecimal price = BigDecimal.ZERO;
+        BigDecimal remainingWeight = capacity;
+        Item worstBefore = null;
+        int b = start;
+        for (; b < sorted.size(); b++) {
+            if (b == excluded)
+                continue;
+            final Item item = sorted.get(b);
+            if (item.getWeight().compareTo(remainingWeight) > 0)
+                break;
+            remainingWeight = remainingWeight.subtract(item.getWeight());
+            price = price.add(item.getPrice());
+            if (worstBefore == null || isMoreEfficient(worstBefore, item))
+                worstBefore = item;
+        }
+        if (b == sorted.size())
+            return fractionalBound = price;
+
+        // Rounded up, as in computeBound
+        final Item breakItem = sorted.get(b);
+        fractionalBound = price.add(remainingWeight.multiply(breakItem.getPrice())
+                .divide(breakItem.getWeight(), SCALE, RoundingMode.CEILING));
+
+        // Leave the break item
+        Item bestAfter = null;
+        for (int i = b + 1; i < sorted.size(); i++)
+            if (i != excluded && (bestAfter == null || isMoreEfficient(sorted.get(i), bestAfter)))
+                bestAfter = sorted.get(i);
+        BigDecimal bound = price;
+        if (bestAfter != null)
+            bound = bound.add(remainingWeight.multiply(bestAfter.getPrice())
+                    .divide(bestAfter.getWeight(), SCALE, RoundingMode.CEILING));
+
+        // Take the break item
+        if (worstBefore != null) {
+            final BigDecimal excess = breakItem.getWeight().subtract(remainingWeight);
+            final BigDecimal taken = price.add(breakItem.getPrice()).subtract(excess.multiply(worstBefore.getPrice())
+                    .divide(worstBefore.getWeight(), SCALE, RoundingMode.FLOOR));
+            bound = bound.max(taken);
+        }
+        return bound;
+    }
+
+    /**
+     * Compares p<sub>a</sub>&middot;w<sub>b</sub> with p<sub>b</sub>&middot;w<sub>a</sub>,
+     * instead of the rounded efficiencies.
+     */
+    private static boolean isMoreEfficient(final Item a, final Item b) {
+        return a.getPrice().multiply(b.getWeight()).compareTo(b.getPrice().multiply(a.getWeight())) > 0;
+    }
+
     /**
      * A class representing a node in the solution tree
      */
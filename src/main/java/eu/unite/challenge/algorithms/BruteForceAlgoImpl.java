@@ -1,6 +1,7 @@
 package eu.unite.challenge.algorithms;
 
 
+import eu.unite.challenge.dataobjects.FixedPointInstance;
 import eu.unite.challenge.dataobjects.Item;
 import eu.unite.challenge.dataobjects.RecordInstance;
 import net.jcip.annotations.Immutable;
@@ -9,6 +10,8 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 
 /**
  * This class is the simplest extension of {@link AbstractProblemSolver},
@@ -21,15 +24,191 @@ import java.util.TreeSet;
  * The algorithm needs only a few milliseconds (on a laptop) to run.
  * This class is used in unit tests to check the
  * correctness of other algorithms on thousands of random problem instances.
+ * <p>
+ * In {@link Mode#GRAY_CODE} mode, subsets are enumerated in Gray-code order,
+ * where consecutive subsets differ in exactly one item. The running weight
+ * and price are then updated with a single addition or subtraction per
+ * subset, on {@code long} accumulators, and the best subset is kept as a
+ * bitmask which is decoded into labels only once at the end.
+ * In {@link Mode#PARALLEL_GRAY_CODE} mode, the enumeration is split into
+ * chunks which are searched in parallel.
  */
 @Immutable
 public final class BruteForceAlgoImpl extends AbstractProblemSolver {
+
+    /**
+     * The order in which subsets are enumerated.
+     */
+    public enum Mode {
+        // Each subset is rebuilt from scratch, with BigDecimal arithmetic
+        SUBSETS,
+        // Consecutive subsets differ in one item, with long arithmetic
+        GRAY_CODE,
+        // As GRAY_CODE, with chunks of subsets searched in parallel
+        PARALLEL_GRAY_CODE
+    }
+
+    // Each parallel chunk holds 2^CHUNK_BITS subsets
+    static final int CHUNK_BITS = 12;
+
     public BruteForceAlgoImpl(final RecordInstance recordInstance) {
         super(recordInstance);
     }
 
+    /**
+     * @param recordInstance An instance of the problem
+     * @param mode           The order in which subsets are enumerated
+     */
+    public BruteForceAlgoImpl(final RecordInstance recordInstance, final Mode mode) {
+        super(recordInstance, strategy(mode));
+    }
+
+    private static Function<RecordInstance, SortedSet<Integer>> strategy(final Mode mode) {
+        switch (mode) {
+            case GRAY_CODE:
+                return BruteForceAlgoImpl::grayCodeSolve;
+            case PARALLEL_GRAY_CODE:
+                return BruteForceAlgoImpl::parallelGrayCodeSolve;
+            default:
+                return null;
+        }
+    }
+
+    private static SortedSet<Integer> grayCodeSolve(final RecordInstance recordInstance) {
+        final FixedPointInstance instance = new FixedPointInstance(recordInstance);
+        return instance.labelsOf(grayCodeSolve(instance));
+    }
+
+    private static SortedSet<Integer> parallelGrayCodeSolve(final RecordInstance recordInstance) {
+        final FixedPointInstance instance = new FixedPointInstance(recordInstance);
+        return instance.labelsOf(parallelGrayCodeSolve(instance));
+    }
+
+    /**
+     * Enumerates all subsets in Gray-code order.
+     * The winner has the maximum price, then the minimum weight. On a
+     * complete tie, the numerically smaller bitmask wins. This is the
+     * subset which the {@link Mode#SUBSETS} enumeration finds first,
+     * so all modes return exactly the same solution.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A bitmask of the positions of the best items
+     */
+    static long grayCodeSolve(final FixedPointInstance instance) {
+        FixedPointBruteForceAlgoImpl.checkCount(instance.size());
+        return searchRange(instance, 0, 1L << instance.size()).mask;
+    }
+
+    /**
+     * Splits the Gray-code enumeration into chunks of {@code 2^CHUNK_BITS}
+     * subsets, which are searched by a parallel stream. Each chunk keeps
+     * its own best subset, and the chunks are combined by a reduction
+     * which uses the same order as {@link #grayCodeSolve}. That order is
+     * total, so the result does not depend on how chunks are scheduled.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A bitmask of the positions of the best items
+     */
+    static long parallelGrayCodeSolve(final FixedPointInstance instance) {
+        final int count = instance.size();
+        FixedPointBruteForceAlgoImpl.checkCount(count);
+
+        final int chunkBits = Math.min(count, CHUNK_BITS);
+        return LongStream.range(0, 1L << (count - chunkBits))
+                .parallel()
+                .mapToObj(chunk -> searchRange(instance, chunk << chunkBits, (chunk + 1) << chunkBits))
+                .reduce(Subset::better)
+                .orElseThrow()
+                .mask;
+    }
+
+    /**
+     * Searches the subsets with Gray-code indices {@code from, ..., to-1}.
+     * The kth subset is {@code k ^ (k >> 1)}, which differs from the previous
+     * one in bit {@code numberOfTrailingZeros(k)}. So, after the first subset,
+     * the running weight and price are updated with a single addition or
+     * subtraction per subset.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @param from     The first Gray-code index (inclusive)
+     * @param to       The last Gray-code index (exclusive)
+     * @return The best subset in the range; the empty subset if none fits
+     */
+    static Subset searchRange(final FixedPointInstance instance, final long from, final long to) {
+        final long maxWeight = instance.getMaxWeight();
+        long mask = from ^ (from >>> 1);
+        long weight = 0;
+        long price = 0;
+        for (long m = mask; m != 0; m &= m - 1) {
+            weight += instance.weight(Long.numberOfTrailingZeros(m));
+            price += instance.price(Long.numberOfTrailingZeros(m));
+        }
+
+        long bestMask = 0;
+        long bestWeight = 0;
+        long bestPrice = 0;
+        if (weight <= maxWeight) {
+            bestMask = mask;
+            bestWeight = weight;
+            bestPrice = price;
+        }
+
+        for (long k = from + 1; k < to; k++) {
+            final int j = Long.numberOfTrailingZeros(k);
+            final long bit = 1L << j;
+            if ((mask & bit) == 0) {
+                weight += instance.weight(j);
+                price += instance.price(j);
+            } else {
+                weight -= instance.weight(j);
+                price -= instance.price(j);
+            }
+            mask ^= bit;
+
+            if (weight <= maxWeight && (price > bestPrice || (price == bestPrice
+                    && (weight < bestWeight || (weight == bestWeight && mask < bestMask))))) {
+                bestMask = mask;
+                bestWeight = weight;
+                bestPrice = price;
+            }
+        }
+
+        return new Subset(bestMask, bestWeight, bestPrice);
+    }
+
+    /**
+     * The best subset of a range of the enumeration.
+     */
+    @Immutable
+    static final class Subset {
+        final long mask;
+        final long weight;
+        final long price;
+
+        Subset(final long mask, final long weight, final long price) {
+            this.mask = mask;
+            this.weight = weight;
+            this.price = price;
+        }
+
+        /**
+         * Maximum price, then minimum weight, then the smaller bitmask.
+         */
+        static Subset better(final Subset a, final Subset b) {
+            if (a.price != b.price)
+                return a.price > b.price ? a : b;
+            if (a.weight != b.weight)
+                return a.weight < b.weight ? a : b;
+            return a.mask <= b.mask ? a : b;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
     protected SortedSet<Integer> solve(final RecordInstance recordInstance) {
-        final List<Item> items = recordInstance.getItems();
+        final List<Item> items = recordInstance.getPieces();
         final int count = items.size();
 
         SortedSet<Integer> solution = new TreeSet<>();
@@ -0,0 +1,58 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+
+import java.util.SortedSet;
+import java.util.function.Function;
+
+/**
+ * A solver which looks the instance up in a {@link SolutionCache} first,
+ * and only solves it on a miss. Lines which are identical, or differ only
+ * in the order or labels of their items, are solved once per cache.
+ * <p>
+ * The instance is not preprocessed here: The solver of a miss reduces it
+ * (see {@link Preprocessor}), and a hit does not need it at all.
+ */
+@Immutable
+public final class CachedAlgoImpl extends AbstractProblemSolver {
+
+    /**
+     * Solves misses with the solver chosen by {@link SolverSelector}.
+     *
+     * @param recordInstance An instance of the problem
+     * @param cache          The cache, which may be shared by several threads
+     */
+    public CachedAlgoImpl(final RecordInstance recordInstance, final SolutionCache cache) {
+        this(recordInstance, cache, r -> SolverSelector.solve(r).getSolver());
+    }
+
+    /**
+     * @param recordInstance An instance of the problem
+     * @param cache          The cache, which may be shared by several threads
+     * @param solver         Creates the solver for an instance which misses the cache
+     */
+    public CachedAlgoImpl(final RecordInstance recordInstance, final SolutionCache cache,
+                          final Function<RecordInstance, AbstractProblemSolver> solver) {
+        super(recordInstance, r -> cache.solve(r, miss -> solver.apply(miss).getBag().getLabels()),
+                Deadline.none(), false);
+    }
+
+    /**
+     * The solver of a miss checks whether it supports the volume.
+     */
+    @Override
+    boolean supportsVolume() {
+        return true;
+    }
+
+    /**
+     * Solves the instance without a cache.
+     *
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final RecordInstance recordInstance) {
+        return SolverSelector.solve(recordInstance).getSolver().getBag().getLabels();
+    }
+}
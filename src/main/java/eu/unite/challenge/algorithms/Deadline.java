@@ -0,0 +1,68 @@
+package eu.unite.challenge.algorithms;
+
+import net.jcip.annotations.NotThreadSafe;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * The deadline of a single solve. Solvers which support it check
+ * {@link #isExpired()} cooperatively, e.g. once per node or once per row.
+ * When a solver stops early, it returns its incumbent, and reports a
+ * proven upper bound on the optimal price through {@link #interrupt}.
+ */
+@NotThreadSafe
+final class Deadline {
+    // The value of System.nanoTime() at which the deadline expires
+    private final long expiresAt;
+    private final boolean bounded;
+
+    // The upper bound reported by an interrupted solver, or null
+    private BigDecimal upperBound;
+
+    private Deadline(final long expiresAt, final boolean bounded) {
+        this.expiresAt = expiresAt;
+        this.bounded = bounded;
+    }
+
+    /**
+     * @return A deadline which never expires
+     */
+    static Deadline none() {
+        return new Deadline(0, false);
+    }
+
+    /**
+     * @param budget The time which may be spent from now on
+     * @return A deadline which expires after {@code budget}
+     * @throws IllegalArgumentException If {@code budget} is negative.
+     */
+    static Deadline after(final Duration budget) {
+        if (budget.isNegative())
+            throw new IllegalArgumentException("The time budget cannot be negative.");
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    /**
+     * @return {@code true} if the solver should stop
+     */
+    boolean isExpired() {
+        return bounded && System.nanoTime() - expiresAt >= 0;
+    }
+
+    /**
+     * Records that the solver stopped before proving its incumbent optimal.
+     *
+     * @param bound An upper bound on the price of every package
+     */
+    void interrupt(final BigDecimal bound) {
+        upperBound = bound;
+    }
+
+    /**
+     * @return The reported upper bound, or {@code null} if the solver was not interrupted
+     */
+    BigDecimal getUpperBound() {
+        return upperBound;
+    }
+}
@@ -0,0 +1,241 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SortedSet;
+
+/**
+ * A depth-first variant of {@link BranchAndBoundAlgoImpl}, which creates
+ * no garbage per node. Items are sorted by efficiency, and the search
+ * always tries to take the next item before leaving it. Instead of
+ * keeping a queue of nodes, only the current path is kept, as a bitset
+ * over the sorted items; it is copied only when a better solution is found.
+ * <p>
+ * The bound of a node is the same fractional bound as
+ * {@link BranchAndBoundAlgoImpl#computeBound}, but it is computed in
+ * O(log N) from prefix sums of the sorted weights and prices: A binary
+ * search finds the break item, i.e. the first item which does not
+ * fully fit in the remaining weight. Since prices are integers in the
+ * fixed-point view, the bound is rounded down.
+ * <p>
+ * The search starts with the greedy solution as the incumbent, and a
+ * subtree is pruned unless its bound is greater than the incumbent
+ * price, or equal to it while the path so far is lighter than the
+ * incumbent. The winner is the subset with maximum price, and then
+ * minimum weight.
+ */
+@Immutable
+public final class DepthFirstBranchAndBoundAlgoImpl extends AbstractFixedPointSolver {
+
+    public DepthFirstBranchAndBoundAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * Sort the items by their efficiency, then price.
+     */
+    @Override
+    Comparator<Item> order() {
+        return ItemComparators.efficiencyPrice.reversed();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        return instance.labelsOf(dfsSolve(instance));
+    }
+
+    /**
+     * Solves the instance by a depth-first search.
+     *
+     * @param sorted A fixed-point view of the problem instance, sorted
+     *               in decreasing order of efficiency
+     * @return A bitset of the positions of the best items
+     */
+    static long[] dfsSolve(final FixedPointInstance sorted) {
+        final SortedItems items = new SortedItems(sorted);
+        final Incumbent incumbent = items.greedy();
+        search(items, 0, 0, 0, new long[items.words], incumbent);
+        return incumbent.get().getBits();
+    }
+
+    /**
+     * Searches the subtree of a node depth-first. The decisions for items
+     * before {@code rootLevel} are fixed by {@code path}, and are never
+     * revisited. Every solution found on the way is offered to
+     * {@code incumbent}, and subtrees are pruned against its current value.
+     *
+     * @param items     The sorted items
+     * @param rootLevel The index of the first undecided item
+     * @param weight    The weight of the items taken in {@code path}
+     * @param price     The price of the items taken in {@code path}
+     * @param path      The decisions so far; it is used as scratch space
+     * @param incumbent The best solution so far
+     */
+    static void search(final SortedItems items, final int rootLevel, long weight, long price,
+                       final long[] path, final Incumbent incumbent) {
+        final long maxWeight = items.maxWeight;
+        final long[] weights = items.weights;
+        final long[] prices = items.prices;
+        int level = rootLevel;
+
+        while (true) {
+            /*
+             * Move forward: take items while they fit, and leave them otherwise,
+             * as long as the subtree may still contain a better solution.
+             */
+            while (level < items.count && items.isPromising(level, weight, price, incumbent.get())) {
+                if (weights[level] <= maxWeight - weight) {
+                    weight += weights[level];
+                    price += prices[level];
+                    path[level >>> 6] |= 1L << level;
+                    incumbent.offer(price, weight, path);
+                }
+                level++;
+            }
+
+            /*
+             * Backtrack: The deepest taken item is the only one whose
+             * "leave" branch has not been explored yet. Items which were
+             * left on the way down are already fully explored.
+             */
+            final int taken = lastSetBit(path, level - 1);
+            if (taken < rootLevel)
+                break;
+            path[taken >>> 6] &= ~(1L << taken);
+            weight -= weights[taken];
+            price -= prices[taken];
+            level = taken + 1;
+        }
+    }
+
+    /**
+     * Computes the fractional bound of items {@code start, ..., N-1},
+     * rounded down. The break item is found by a binary search over
+     * {@code prefixWeight}.
+     *
+     * @param start           The index of the starting item.
+     * @param remainingWeight The weight which is still available.
+     * @return A bound on the price attainable from the remaining items.
+     */
+    static long computeBound(final int start, final long remainingWeight,
+                             final long[] weights, final long[] prices,
+                             final long[] prefixWeight, final long[] prefixPrice) {
+        final int count = weights.length;
+        final long limit = prefixWeight[start] + remainingWeight;
+        int k = Arrays.binarySearch(prefixWeight, start, count + 1, limit);
+        if (k < 0)
+            k = -k - 2;
+
+        // Items start, ..., k-1 fit completely
+        long bound = prefixPrice[k] - prefixPrice[start];
+        if (k < count)
+            bound += multiplyDivide(prices[k], limit - prefixWeight[k], weights[k]);
+        return bound;
+    }
+
+    /**
+     * @return {@code floor(a * b / c)} for non-negative {@code a, b} and positive {@code c},
+     * without overflowing in the intermediate product.
+     */
+    static long multiplyDivide(final long a, final long b, final long c) {
+        if (Math.multiplyHigh(a, b) == 0) {
+            final long product = a * b;
+            if (product >= 0)
+                return product / c;
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+                .divide(BigInteger.valueOf(c)).longValueExact();
+    }
+
+    /**
+     * The sorted items, together with prefix sums of their weights and prices.
+     * prefixWeight[i] and prefixPrice[i] are the total weight and price of the
+     * first i sorted items. Weights are positive, so prefixWeight is strictly
+     * increasing.
+     */
+    @Immutable
+    static final class SortedItems {
+        final int count;
+        final int words;
+        final long maxWeight;
+        final long[] weights;
+        final long[] prices;
+        final long[] prefixWeight;
+        final long[] prefixPrice;
+
+        SortedItems(final FixedPointInstance sorted) {
+            count = sorted.size();
+            words = (count + Long.SIZE - 1) / Long.SIZE;
+            maxWeight = sorted.getMaxWeight();
+            weights = sorted.getWeights();
+            prices = sorted.getPrices();
+            prefixWeight = new long[count + 1];
+            prefixPrice = new long[count + 1];
+            for (int i = 0; i < count; i++) {
+                prefixWeight[i + 1] = prefixWeight[i] + weights[i];
+                prefixPrice[i + 1] = prefixPrice[i] + prices[i];
+            }
+        }
+
+        /**
+         * @return The greedy solution, which takes the sorted items as long as they fit.
+         */
+        Incumbent greedy() {
+            final long[] bits = new long[words];
+            long weight = 0;
+            long price = 0;
+            for (int i = 0; i < count; i++)
+                if (weight + weights[i] <= maxWeight) {
+                    weight += weights[i];
+                    price += prices[i];
+                    bits[i >>> 6] |= 1L << i;
+                }
+            return new Incumbent(price, weight, bits);
+        }
+
+        /**
+         * Checks whether the subtree of a node may contain a solution which
+         * beats the incumbent. A solution in the subtree is at least as heavy
+         * as the node, so on an equal bound it can only win if the node is
+         * lighter than the incumbent.
+         *
+         * @param level  The index of the first undecided item
+         * @param weight The weight of the node
+         * @param price  The price of the node
+         * @param best   The incumbent
+         * @return {@code true} if the subtree should be explored.
+         */
+        boolean isPromising(final int level, final long weight, final long price, final Incumbent.Solution best) {
+            final long bound = price + computeBound(level, maxWeight - weight, weights, prices, prefixWeight, prefixPrice);
+            return bound > best.price || (bound == best.price && weight < best.weight);
+        }
+    }
+
+    /**
+     * @param bits A bitset
+     * @param from The highest position to look at
+     * @return The highest set position which is at most {@code from}, or -1 if none.
+     */
+    static int lastSetBit(final long[] bits, final int from) {
+        if (from < 0)
+            return -1;
+        int word = from >>> 6;
+        long masked = bits[word] & (-1L >>> (Long.SIZE - 1 - (from & 63)));
+        while (true) {
+            if (masked != 0)
+                return word * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(masked);
+            if (--word < 0)
+                return -1;
+            masked = bits[word];
+        }
+    }
+}
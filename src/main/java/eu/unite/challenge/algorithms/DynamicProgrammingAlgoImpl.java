@@ -1,19 +1,35 @@
 package eu.unite.challenge.algorithms;
 
+import eu.unite.challenge.dataobjects.FixedPointInstance;
 import eu.unite.challenge.dataobjects.Item;
 import eu.unite.challenge.dataobjects.RecordInstance;
 import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
 import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_DP;
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_MAPPED_DP;
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_PACKED_DP;
 
 /**
  * is a pseudo-polynomial algorithm: It is polynomial time
@@ -25,15 +41,76 @@ import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_
  * problem, the parameters are such that the running time
  * of {@code DynamicProgrammingAlgoImpl} is worse than that of {@link BruteForceAlgoImpl},
  * and it even uses much more RAM.
+ * <p>
+ * In {@link Mode#PACKED} mode, only a single row of {@code long} prices
+ * is kept, and the take/leave decisions are stored one bit per cell.
+ * This uses more than an order of magnitude less memory, so that
+ * the bound on W can be raised (see {@code MAX_INT_WEIGHT_FOR_PACKED_DP}).
+ * <p>
+ * In {@link Mode#MAPPED} mode, the row of prices is mapped from a temporary
+ * file, outside the heap, and the rows of decisions are written to the file
+ * through a small window. Neither the heap footprint nor the direct memory
+ * depend on W (see {@code MAX_INT_WEIGHT_FOR_MAPPED_DP}).
+ * <p>
+ * Given a time budget, the {@link Mode#PACKED} table stops after the last
+ * row which completed before the deadline. The best package of the items
+ * so far is returned, and the fractional bound of the remaining items is
+ * added to its price, to give a proven upper bound.
  */
 @Immutable
 public class DynamicProgrammingAlgoImpl extends AbstractProblemSolver {
     private static final Logger logger = LoggerFactory.getLogger(DynamicProgrammingAlgoImpl.class);
 
+    /**
+     * The storage used for the dynamic programming table.
+     */
+    public enum Mode {
+        // A full table of BigDecimal prices, and a full table of booleans
+        TABLE,
+        // A single row of long prices, and a bit-packed table of decisions
+        PACKED,
+        // As PACKED, with the row mapped from a temporary file, and the decisions written to it
+        MAPPED
+    }
+
     public DynamicProgrammingAlgoImpl(final RecordInstance recordInstance) {
         super(recordInstance);
     }
 
+    /**
+     * @param recordInstance An instance of the problem
+     * @param mode           The storage used for the dynamic programming table
+     */
+    public DynamicProgrammingAlgoImpl(final RecordInstance recordInstance, final Mode mode) {
+        super(recordInstance, strategy(mode));
+    }
+
+    /**
+     * Solves in {@link Mode#PACKED} mode, within a time budget.
+     *
+     * @param recordInstance An instance of the problem
+     * @param budget         The time after which no more rows are computed
+     */
+    public DynamicProgrammingAlgoImpl(final RecordInstance recordInstance, final Duration budget) {
+        this(recordInstance, Deadline.after(budget));
+    }
+
+    DynamicProgrammingAlgoImpl(final RecordInstance recordInstance, final Deadline deadline) {
+        super(recordInstance, r -> packedDpSolve(Preprocessor.normalize(
+                new FixedPointInstance(r, ItemComparators.priceWeight.reversed())), deadline), deadline);
+    }
+
+    private static Function<RecordInstance, SortedSet<Integer>> strategy(final Mode mode) {
+        switch (mode) {
+            case PACKED:
+                return DynamicProgrammingAlgoImpl::packedSolve;
+            case MAPPED:
+                return DynamicProgrammingAlgoImpl::mappedSolve;
+            default:
+                return null;
+        }
+    }
+
     /**
      * This method implements the actual dynamic programming code
      *
@@ -46,25 +123,40 @@ public class DynamicProgrammingAlgoImpl extends AbstractProblemSolver {
     static SortedSet<Integer> dpSolve(final BigDecimal maxWeight,
                                       final int maxWeightScale,
                                       final List<Item> items) {
+        return dpSolve(maxWeight, BigDecimal.ONE.movePointLeft(maxWeightScale), items);
+    }
+
+    /**
+     * This method implements the actual dynamic programming code
+     *
+     * @param maxWeight  The maximum weight of items
+     * @param weightUnit A unit in which all item weights are integers
+     *                   (see {@link Preprocessor#weightUnit})
+     * @param items      List of items
+     * @return A sorted set of indices corresponding to the best items
+     */
+    static SortedSet<Integer> dpSolve(final BigDecimal maxWeight,
+                                      final BigDecimal weightUnit,
+                                      final List<Item> items) {
 
         /*
-         * Since weights might be non-integers, we first find a
-         * common "multiplier": A number which, if multiplied
-         * by all weights, turns them into integers.
+         * Since weights might be non-integers, we first express them
+         * in a common unit, in which all weights are integers. The
+         * maximum weight is rounded down.
          *
-         * Example: for weights = {1.3, 8.95, 2}, the multiplier = 100,
-         * as multiplying all weights by 100 results in integers.
+         * Example: for weights = {1.3, 8.95, 2}, the unit = 0.05,
+         * and the weights become {26, 179, 40}.
          */
-        final BigDecimal multiplier = BigDecimal.TEN.pow(maxWeightScale);
-        final int intMaxWeight = toInt(maxWeight, multiplier);
+        final int intMaxWeight = toInt(maxWeight, weightUnit);
 
         // The int value of maximum weight should not exceed some configured bound
         checkMaxWeight(intMaxWeight);
 
         /*
          * Items are first sorted by their price, then weight.
-         * This ensure that if there are multiple subsets with
-         * the same price, the one which is lighter wins.
+         * This favours lighter subsets among those with the same
+         * price, but the table only keeps prices, so the lightest
+         * one is not guaranteed to be the subset recovered.
          */
         final List<Item> sorted = items.stream()
                 .sorted(ItemComparators.priceWeight.reversed())
@@ -91,7 +183,7 @@ public class DynamicProgrammingAlgoImpl extends AbstractProblemSolver {
         for (int i = 0; i < sorted.size(); i++) {
             final Item item = sorted.get(i);
             final BigDecimal price = item.getPrice();
-            final int weight = toInt(item.getWeight(), multiplier);
+            final int weight = toInt(item.getWeight(), weightUnit);
             intWeights[i] = weight;
             for (int j = 0; j <= intMaxWeight; j++) {
                 if (priceMemo[i][j] == null)
@@ -119,27 +211,37 @@ public class DynamicProgrammingAlgoImpl extends AbstractProblemSolver {
      * @param intMaxWeight The integer value of maximum weight.
      * @throws OutOfRangeProblemSizeException If the check fails.
      */
-    private static void checkMaxWeight(int intMaxWeight) {
+    static void checkMaxWeight(final long intMaxWeight) {
+        checkMaxWeight(intMaxWeight, MAX_INT_WEIGHT_FOR_DP);
+    }
+
+    /**
+     * Check if the integer value of maximum weight exceeds the given bound.
+     *
+     * @param intMaxWeight The integer value of maximum weight.
+     * @param bound        The configured bound.
+     * @throws OutOfRangeProblemSizeException If the check fails.
+     */
+    static void checkMaxWeight(final long intMaxWeight, final int bound) {
         final String description = "This means that the dynamic programming approach will use " +
                 "an unacceptable amount of CPU & memory.";
 
-        if (intMaxWeight > MAX_INT_WEIGHT_FOR_DP)
+        if (intMaxWeight > bound)
             throw new OutOfRangeProblemSizeException(String.format("The integer maximum weight %d exceeds the configured amount %d. %s",
-                    intMaxWeight, MAX_INT_WEIGHT_FOR_DP, description));
+                    intMaxWeight, bound, description));
     }
 
     /**
-     * Converts the real number {@code num} to int, by multiplying it
-     * with {@code multiplier}.
+     * Converts the real number {@code num} to int, by counting how
+     * many times {@code unit} fits in it.
      *
-     * @param num        The number to be converted to int.
-     * @param multiplier The multiplying factor.
-     * @return The integer value of {@code num}.
-     * @throws ArithmeticException if {@code num*multiplier} has a nonzero
-     *                             fractional part, or will not fit in an {@code int}.
+     * @param num  The number to be converted to int.
+     * @param unit The unit of the result.
+     * @return The integer value of {@code num / unit}, rounded down.
+     * @throws ArithmeticException if {@code num / unit} will not fit in an {@code int}.
      */
-    static int toInt(final BigDecimal num, final BigDecimal multiplier) {
-        return num.multiply(multiplier).intValueExact();
+    static int toInt(final BigDecimal num, final BigDecimal unit) {
+        return num.divideToIntegralValue(unit).intValueExact();
     }
 
     /**
@@ -169,14 +271,358 @@ public class DynamicProgrammingAlgoImpl extends AbstractProblemSolver {
         return indices;
     }
 
+    /**
+     * The dynamic programming of {@link #dpSolve}, where only a single row
+     * of prices is kept, and {@code keep} is packed into a bitset.
+     * <p>
+     * Row {@code i} of the table only depends on row {@code i-1}. If
+     * the row is updated in place from the largest weight downward,
+     * {@code price[w - w_i]} still holds the value of row {@code i-1}
+     * when it is read, so a single row is enough.
+     * The decision for item {@code i} (1-based) and weight {@code w}
+     * is bit {@code (i-1)*(W+1) + w} of the returned bitset.
+     *
+     * @param sorted A fixed-point view of the items, sorted by their
+     *               price, then weight (see {@link #dpSolve})
+     * @return A sorted set of labels corresponding to the best items
+     */
+    static SortedSet<Integer> packedDpSolve(final FixedPointInstance sorted) {
+        return packedDpSolve(sorted, Deadline.none());
+    }
+
+    /**
+     * The same as {@link #packedDpSolve(FixedPointInstance)}, but the
+     * rows are only computed until {@code deadline} expires. If it does,
+     * the upper bound is reported to {@code deadline}.
+     *
+     * @param sorted   A fixed-point view of the items, sorted by their
+     *                 price, then weight (see {@link #dpSolve})
+     * @param deadline The deadline, checked once per row
+     * @return A sorted set of labels corresponding to the best items
+     * among the rows which were computed
+     */
+    static SortedSet<Integer> packedDpSolve(final FixedPointInstance sorted, final Deadline deadline) {
+        checkMaxWeight(sorted.getMaxWeight(), MAX_INT_WEIGHT_FOR_PACKED_DP);
+        final int intMaxWeight = (int) sorted.getMaxWeight();
+        final int width = intMaxWeight + 1;
+
+        final long[] price = new long[width];
+        final long[] keep = new long[bitsetLength((long) sorted.size() * width)];
+        final int rows = fillPackedTable(sorted, price, keep, deadline);
+        if (rows < sorted.size()) {
+            final long bound = price[intMaxWeight] + fractionalBound(sorted, rows);
+            logger.debug("Stopped after {} of {} rows, upper bound {}", rows, sorted.size(), bound);
+            deadline.interrupt(BigDecimal.valueOf(bound, sorted.getPriceScale()));
+        }
+        return findIncluded(intMaxWeight, width, rows, sorted, keep);
+    }
+
+    /**
+     * Fills the bit-packed table of decisions of {@link #packedDpSolve},
+     * for all weights up to the maximum weight of {@code sorted}. Row
+     * {@code i} does not depend on the maximum weight, so the table can
+     * be traversed from any smaller weight as well.
+     *
+     * @param sorted A fixed-point view of the items, sorted by their
+     *               price, then weight (see {@link #dpSolve}); its maximum
+     *               weight must have been checked
+     * @return The bitset of decisions
+     */
+    static long[] packedTable(final FixedPointInstance sorted) {
+        final int width = (int) sorted.getMaxWeight() + 1;
+        final long[] keep = new long[bitsetLength((long) sorted.size() * width)];
+        fillPackedTable(sorted, new long[width], keep, Deadline.none());
+        return keep;
+    }
+
+    /**
+     * Fills the rows of {@code price} and {@code keep}, until all items
+     * are done, or {@code deadline} expires.
+     *
+     * @return The number of rows which were computed
+     */
+    private static int fillPackedTable(final FixedPointInstance sorted, final long[] price, final long[] keep,
+                                       final Deadline deadline) {
+        final int intMaxWeight = (int) sorted.getMaxWeight();
+        final int width = intMaxWeight + 1;
+
+        for (int i = 0; i < sorted.size(); i++) {
+            if (deadline.isExpired())
+                return i;
+            final long itemPrice = sorted.price(i);
+            final long itemWeight = sorted.weight(i);
+            final long offset = (long) i * width;
+            for (int j = intMaxWeight; j >= itemWeight; j--) {
+                final long take = itemPrice + price[j - (int) itemWeight];
+                if (take > price[j]) {
+                    price[j] = take;
+                    final long bit = offset + j;
+                    keep[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+        }
+
+        return sorted.size();
+    }
+
+    /**
+     * @param instance A fixed-point view of the items
+     * @param from     The position of the first remaining item
+     * @return The fractional bound of items {@code from, ..., N-1}, rounded down
+     */
+    static long fractionalBound(final FixedPointInstance instance, final int from) {
+        final int[] positions = IntStream.range(from, instance.size()).toArray();
+        final FixedPointInstance remaining = new FixedPointInstance(instance.getMaxWeight(),
+                IntStream.of(positions).mapToLong(instance::weight).toArray(),
+                IntStream.of(positions).mapToLong(instance::price).toArray(),
+                IntStream.of(positions).map(instance::label).toArray(),
+                instance.getWeightScale(), instance.getPriceScale());
+        final DepthFirstBranchAndBoundAlgoImpl.SortedItems items = new DepthFirstBranchAndBoundAlgoImpl.SortedItems(
+                remaining.sorted(ItemComparators.efficiencyPrice(remaining).reversed()));
+        return DepthFirstBranchAndBoundAlgoImpl.computeBound(0, items.maxWeight,
+                items.weights, items.prices, items.prefixWeight, items.prefixPrice);
+    }
+
+    /**
+     * The same as {@link #findIncluded(int, List, int[], boolean[][])},
+     * but reading the bit-packed table of {@link #packedDpSolve}.
+     *
+     * @param maxWeight The maximum weight of the package, converted to integer.
+     * @param sorted    The fixed-point view of the items.
+     * @param keep      The bitset generated by the dynamic programming.
+     * @return The labels for the solution subset.
+     */
+    static SortedSet<Integer> findIncluded(final int maxWeight, final FixedPointInstance sorted, final long[] keep) {
+        return findIncluded(maxWeight, maxWeight + 1, sorted, keep);
+    }
+
+    /**
+     * Traverses a bit-packed table of decisions, whose rows may be wider
+     * than the given maximum weight.
+     *
+     * @param maxWeight The maximum weight of the package, converted to integer.
+     * @param width     The number of weights in a row of the table.
+     * @param sorted    The fixed-point view of the items.
+     * @param keep      The bitset generated by the dynamic programming.
+     * @return The labels for the solution subset.
+     */
+    static SortedSet<Integer> findIncluded(final int maxWeight, final int width,
+                                           final FixedPointInstance sorted, final long[] keep) {
+        return findIncluded(maxWeight, width, sorted.size(), sorted, keep);
+    }
+
+    /**
+     * Traverses the first {@code rows} rows of a bit-packed table of decisions.
+     *
+     * @return The labels for the solution subset, among the first {@code rows} items.
+     */
+    private static SortedSet<Integer> findIncluded(final int maxWeight, final int width, final int rows,
+                                                   final FixedPointInstance sorted, final long[] keep) {
+        int remainingWeight = maxWeight;
+        SortedSet<Integer> labels = new TreeSet<>();
+        for (int i = rows; i >= 1; i--) {
+            final long bit = (long) (i - 1) * width + remainingWeight;
+            if ((keep[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                labels.add(sorted.label(i - 1));
+                remainingWeight -= (int) sorted.weight(i - 1);
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * @param bits The number of bits in a bitset
+     * @return The number of longs needed to hold the bitset
+     * @throws OutOfRangeProblemSizeException If the bitset does not fit in an array.
+     */
+    static int bitsetLength(final long bits) {
+        final long length = (bits + Long.SIZE - 1) / Long.SIZE;
+        if (length > Integer.MAX_VALUE - 8)
+            throw new OutOfRangeProblemSizeException(String.format(
+                    "A bitset of %d bits does not fit in an array.", bits));
+        return (int) length;
+    }
+
+    /**
+     * The dynamic programming of {@link #packedDpSolve}, which keeps nothing
+     * of size O(W) on the heap, nor in direct memory. A temporary file holds
+     * a row of W+1 bits per item, followed by the row of prices. The row of
+     * prices is mapped from the file, once, so its pages are backed by the
+     * file rather than by direct memory, and start out as zeros. Since the
+     * row is updated from the largest weight downward, each word of the row
+     * of decisions is complete once the loop passes below it, and it is then
+     * written through a {@link RowWriter}, whose window has a fixed size.
+     * The backtrack of
+     * {@link #findIncluded(int, FixedPointInstance, FileChannel, long)} reads
+     * one byte of the file per item. The file is deleted when the solve ends.
+     * <p>
+     * Since the updates are exactly those of {@link #packedDpSolve}, the
+     * solution is the same.
+     *
+     * @param sorted A fixed-point view of the items, sorted by their
+     *               price, then weight (see {@link #dpSolve})
+     * @return A sorted set of labels corresponding to the best items
+     * @throws UncheckedIOException If the temporary file cannot be written or read.
+     */
+    static SortedSet<Integer> mappedDpSolve(final FixedPointInstance sorted) {
+        checkMaxWeight(sorted.getMaxWeight(), MAX_INT_WEIGHT_FOR_MAPPED_DP);
+        final int intMaxWeight = (int) sorted.getMaxWeight();
+        final int width = intMaxWeight + 1;
+        final long rowBytes = bitsetLength(width) * (long) Long.BYTES;
+        if ((long) width * Long.BYTES > Integer.MAX_VALUE || rowBytes > Integer.MAX_VALUE)
+            throw new OutOfRangeProblemSizeException(String.format(
+                    "A row of %d prices does not fit in a mapped buffer.", width));
+
+        try (FileChannel channel = FileChannel.open(Files.createTempFile("unite-dp-", ".bits"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+            final LongBuffer price = channel.map(FileChannel.MapMode.READ_WRITE,
+                    sorted.size() * rowBytes, (long) width * Long.BYTES).asLongBuffer();
+
+            final RowWriter keep = new RowWriter(channel);
+
+            for (int i = 0; i < sorted.size(); i++) {
+                final long itemPrice = sorted.price(i);
+                final int itemWeight = (int) Math.min(sorted.weight(i), width);
+                if (itemWeight > intMaxWeight)
+                    continue;
+
+                keep.start(i * rowBytes);
+                int current = intMaxWeight >>> 6;
+                long word = 0;
+                for (int j = intMaxWeight; j >= itemWeight; j--) {
+                    if (j >>> 6 != current) {
+                        keep.put(current, word);
+                        current = j >>> 6;
+                        word = 0;
+                    }
+                    final long take = itemPrice + price.get(j - itemWeight);
+                    if (take > price.get(j)) {
+                        price.put(j, take);
+                        word |= 1L << j;
+                    }
+                }
+                keep.put(current, word);
+                keep.flush();
+            }
+
+            return findIncluded(intMaxWeight, sorted, channel, rowBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the words of a row of decisions to a file, from the last word
+     * of the row downward, through a direct buffer of {@code WINDOW_WORDS}
+     * words which is reused for all rows. Words are little-endian, so bit
+     * {@code w} of the row is bit {@code w % 8} of byte {@code w / 8}.
+     */
+    @NotThreadSafe
+    static final class RowWriter {
+        // 64 KiB
+        static final int WINDOW_WORDS = 1 << 13;
+
+        private final FileChannel channel;
+        private final ByteBuffer window = ByteBuffer.allocateDirect(WINDOW_WORDS * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long rowPosition;
+        // The window holds words lowest, ..., highest of the row, at its end
+        private int highest = -1;
+        private int lowest;
+
+        RowWriter(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Starts a row, which may only be called once the previous row is flushed.
+         *
+         * @param rowPosition The position of the row in the file
+         */
+        void start(final long rowPosition) {
+            this.rowPosition = rowPosition;
+        }
+
+        /**
+         * @param index The index of the word in the row, below all previous ones of the row
+         * @param word  The word
+         * @throws IOException If the file cannot be written.
+         */
+        void put(final int index, final long word) throws IOException {
+            if (highest >= 0 && highest - index >= WINDOW_WORDS)
+                flush();
+            if (highest < 0)
+                highest = index;
+            lowest = index;
+            window.putLong((WINDOW_WORDS - 1 - (highest - index)) * Long.BYTES, word);
+        }
+
+        /**
+         * Writes the words put since the last flush.
+         *
+         * @throws IOException If the file cannot be written.
+         */
+        void flush() throws IOException {
+            if (highest < 0)
+                return;
+            window.limit(WINDOW_WORDS * Long.BYTES);
+            window.position((WINDOW_WORDS - 1 - (highest - lowest)) * Long.BYTES);
+            long position = rowPosition + (long) lowest * Long.BYTES;
+            while (window.hasRemaining())
+                position += channel.write(window, position);
+            window.clear();
+            highest = -1;
+        }
+    }
+
+    /**
+     * The same as {@link #findIncluded(int, FixedPointInstance, long[])},
+     * but reading the rows of decisions written by {@link #mappedDpSolve}.
+     * Bit {@code w} of row {@code i} is bit {@code w % 8} of byte {@code w / 8}.
+     *
+     * @param maxWeight The maximum weight of the package, converted to integer.
+     * @param sorted    The fixed-point view of the items.
+     * @param channel   The file holding the rows of decisions.
+     * @param rowBytes  The number of bytes of a row.
+     * @return The labels for the solution subset.
+     * @throws IOException If the file cannot be read.
+     */
+    static SortedSet<Integer> findIncluded(final int maxWeight, final FixedPointInstance sorted,
+                                           final FileChannel channel, final long rowBytes) throws IOException {
+        final ByteBuffer window = ByteBuffer.allocateDirect(1);
+        int remainingWeight = maxWeight;
+        SortedSet<Integer> labels = new TreeSet<>();
+        for (int i = sorted.size(); i >= 1; i--) {
+            window.clear();
+            final long position = (i - 1) * rowBytes + (remainingWeight >>> 3);
+            while (window.hasRemaining())
+                if (channel.read(window, position) < 0)
+                    throw new EOFException("The table of decisions is truncated.");
+            if ((window.get(0) & (1 << (remainingWeight & 7))) != 0) {
+                labels.add(sorted.label(i - 1));
+                remainingWeight -= (int) sorted.weight(i - 1);
+            }
+        }
+        return labels;
+    }
+
+    private static SortedSet<Integer> mappedSolve(final RecordInstance recordInstance) {
+        return mappedDpSolve(Preprocessor.normalize(
+                new FixedPointInstance(recordInstance, ItemComparators.priceWeight.reversed())));
+    }
+
+    private static SortedSet<Integer> packedSolve(final RecordInstance recordInstance) {
+        return packedDpSolve(Preprocessor.normalize(
+                new FixedPointInstance(recordInstance, ItemComparators.priceWeight.reversed())));
+    }
+
     /**
      * @inheritDoc
      */
     @Override
     protected SortedSet<Integer> solve(final RecordInstance recordInstance) {
-        final int maxWeightScale = recordInstance.getMaxWeightScale();
-        final List<Item> items = recordInstance.getItems();
-        return dpSolve(recordInstance.getMaxWeight(), maxWeightScale, items);
+        final List<Item> items = recordInstance.getPieces();
+        return dpSolve(recordInstance.getMaxWeight(), Preprocessor.weightUnit(recordInstance), items);
     }
 
 }
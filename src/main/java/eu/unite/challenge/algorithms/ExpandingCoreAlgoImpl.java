@@ -0,0 +1,191 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SortedSet;
+
+/**
+ * An exact solver in the style of Pisinger's expanding-core algorithms,
+ * for instances with many items.
+ * <p>
+ * Items are sorted by efficiency, and the <i>break item</i> is the first
+ * item which does not fit, when items are greedily taken in that order
+ * (see {@link GreedyApproximationAlgoImpl}). In an optimal solution, items
+ * much more efficient than the break item are almost always taken, and items
+ * much less efficient are almost always left. So only a small <i>core</i> of
+ * items around the break item is solved exactly, by
+ * {@link DepthFirstBranchAndBoundAlgoImpl}, while the items before the core
+ * are fixed as taken, and the items after it as left.
+ * <p>
+ * The core solution is then verified: For every item outside the core,
+ * the fractional bound of the instance where that item takes the opposite
+ * value is computed. If each such bound is less than the core price, no
+ * solution which is at least as expensive can differ from the core solution
+ * outside the core, so the core solution is optimal. Otherwise, the core is
+ * doubled, until it is verified or covers all items. The winner is the subset
+ * with maximum price, and then minimum weight.
+ */
+@Immutable
+public final class ExpandingCoreAlgoImpl extends AbstractFixedPointSolver {
+    private static final Logger logger = LoggerFactory.getLogger(ExpandingCoreAlgoImpl.class);
+
+    // The number of items on each side of the break item in the first core
+    static final int INITIAL_CORE_HALF_WIDTH = 8;
+
+    public ExpandingCoreAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * Sort the items by their efficiency, then price.
+     */
+    @Override
+    Comparator<Item> order() {
+        return ItemComparators.efficiencyPrice.reversed();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        return instance.labelsOf(coreSolve(instance));
+    }
+
+    /**
+     * Solves the instance by expanding a core around the break item.
+     *
+     * @param sorted A fixed-point view of the problem instance, sorted
+     *               in decreasing order of efficiency
+     * @return A bitset of the positions of the best items
+     */
+    static long[] coreSolve(final FixedPointInstance sorted) {
+        final DepthFirstBranchAndBoundAlgoImpl.SortedItems items = new DepthFirstBranchAndBoundAlgoImpl.SortedItems(sorted);
+        final int count = items.count;
+        final long maxWeight = items.maxWeight;
+
+        // The first item which does not fit; count if all items fit
+        int breakItem = Arrays.binarySearch(items.prefixWeight, maxWeight);
+        breakItem = breakItem >= 0 ? breakItem : -breakItem - 2;
+        if (breakItem == count) {
+            final long[] bits = new long[items.words];
+            setRange(bits, 0, count);
+            return bits;
+        }
+
+        for (int halfWidth = INITIAL_CORE_HALF_WIDTH; ; halfWidth *= 2) {
+            final int coreStart = Math.max(0, breakItem - halfWidth);
+            final int coreEnd = (int) Math.min(count, (long) breakItem + halfWidth);
+
+            final long[] bits = new long[items.words];
+            final long price = solveCore(sorted, items, coreStart, coreEnd, bits);
+            logger.trace("Core [{}, {}) of {} items: price {}", coreStart, coreEnd, count, price);
+
+            if ((coreStart == 0 && coreEnd == count) || isOptimal(items, coreStart, coreEnd, price))
+                return bits;
+        }
+    }
+
+    /**
+     * Takes all items before the core, leaves all items after it, and solves
+     * the core exactly in the remaining weight.
+     *
+     * @param sorted    The sorted instance
+     * @param items     The sorted items, with their prefix sums
+     * @param coreStart The first item of the core (inclusive)
+     * @param coreEnd   The last item of the core (exclusive)
+     * @param bits      The bitset which receives the solution
+     * @return The price of the solution
+     */
+    private static long solveCore(final FixedPointInstance sorted, final DepthFirstBranchAndBoundAlgoImpl.SortedItems items,
+                                  final int coreStart, final int coreEnd, final long[] bits) {
+        setRange(bits, 0, coreStart);
+        final FixedPointInstance core = new FixedPointInstance(
+                items.maxWeight - items.prefixWeight[coreStart],
+                Arrays.copyOfRange(items.weights, coreStart, coreEnd),
+                Arrays.copyOfRange(items.prices, coreStart, coreEnd),
+                new int[coreEnd - coreStart],
+                sorted.getWeightScale(), sorted.getPriceScale());
+
+        final long[] coreBits = DepthFirstBranchAndBoundAlgoImpl.dfsSolve(core);
+        long price = items.prefixPrice[coreStart];
+        for (int i = 0; i < coreEnd - coreStart; i++)
+            if ((coreBits[i >>> 6] & (1L << i)) != 0) {
+                final int position = coreStart + i;
+                bits[position >>> 6] |= 1L << position;
+                price += items.prices[position];
+            }
+        return price;
+    }
+
+    /**
+     * Checks that every item outside the core keeps its fixed value in all
+     * solutions whose price is at least {@code price}.
+     *
+     * @return {@code true} if the core solution is optimal.
+     */
+    static boolean isOptimal(final DepthFirstBranchAndBoundAlgoImpl.SortedItems items,
+                             final int coreStart, final int coreEnd, final long price) {
+        for (int j = 0; j < coreStart; j++)
+            if (boundWithout(items, j, items.maxWeight) >= price)
+                return false;
+        for (int j = coreEnd; j < items.count; j++)
+            if (items.weights[j] <= items.maxWeight
+                    && items.prices[j] + boundWithout(items, j, items.maxWeight - items.weights[j]) >= price)
+                return false;
+        return true;
+    }
+
+    /**
+     * Computes the fractional bound of all items except {@code excluded},
+     * in the given weight, rounded down. As in
+     * {@link DepthFirstBranchAndBoundAlgoImpl#computeBound}, the break
+     * item is found by a binary search over the prefix sums, which are
+     * adjusted for the excluded item.
+     *
+     * @param items     The sorted items, with their prefix sums
+     * @param excluded  The position of the item which is left out
+     * @param capacity  The available weight
+     * @return A bound on the price attainable without {@code excluded}.
+     */
+    static long boundWithout(final DepthFirstBranchAndBoundAlgoImpl.SortedItems items, final int excluded,
+                             final long capacity) {
+        // The largest k, such that items 0, ..., k-1 except excluded fit
+        int low = 0;
+        int high = items.count;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (prefixWithout(items.prefixWeight, items.weights, excluded, mid) <= capacity)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+
+        /*
+         * Without the excluded item, the prefixes up to excluded and up to
+         * excluded + 1 have the same weight, so k is never the excluded item.
+         */
+        final int k = low;
+        long bound = prefixWithout(items.prefixPrice, items.prices, excluded, k);
+        if (k < items.count)
+            bound += DepthFirstBranchAndBoundAlgoImpl.multiplyDivide(items.prices[k],
+                    capacity - prefixWithout(items.prefixWeight, items.weights, excluded, k), items.weights[k]);
+        return bound;
+    }
+
+    private static long prefixWithout(final long[] prefix, final long[] values, final int excluded, final int k) {
+        return excluded < k ? prefix[k] - values[excluded] : prefix[k];
+    }
+
+    private static void setRange(final long[] bits, final int from, final int to) {
+        for (int i = from; i < to; i++)
+            bits[i >>> 6] |= 1L << i;
+    }
+}
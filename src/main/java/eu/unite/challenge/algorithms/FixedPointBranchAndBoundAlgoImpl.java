@@ -0,0 +1,223 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import net.jcip.annotations.Immutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.SortedSet;
+
+import static eu.unite.challenge.validations.ConstraintRules.SCALE;
+
+/**
+ * The fixed-point counterpart of the plain best-first search of
+ * {@link BranchAndBoundAlgoImpl}: Each node keeps its weight, price and
+ * bound as {@code long} values, and the labels on the path to the root
+ * as a {@code long} bitmask over the positions of the sorted items, so
+ * at most 63 items can be solved (see {@code FixedPointBruteForceAlgoImpl.MAX_ITEMS}).
+ * <p>
+ * Unlike {@link BranchAndBoundAlgoImpl}, it has no greedy incumbent, no
+ * reduction phase fixing items, and no U2 bound: Nodes are bounded by the
+ * fractional bound only, so the nodes traversed differ. Both return a
+ * package of the maximum price, and of the minimum weight among those.
+ * <p>
+ * The bound is kept with {@code SCALE} extra digits, and the fraction
+ * of the break item is rounded up, so that the bound is never too small.
+ */
+@Immutable
+public final class FixedPointBranchAndBoundAlgoImpl extends AbstractFixedPointSolver {
+
+    // 10^SCALE, used to keep the fractional part of bounds
+    static final long BOUND_MULTIPLIER = pow10(SCALE);
+
+    private FixedPointInstance sorted;
+    private long maxWeight;
+    private Queue<Node> queue;
+    private long bestPrice;
+    private long bestWeight;
+    private long bestLabels;
+
+    public FixedPointBranchAndBoundAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * Sort the items by their efficiency, then price.
+     */
+    @Override
+    Comparator<Item> order() {
+        return ItemComparators.efficiencyPrice.reversed();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        FixedPointBruteForceAlgoImpl.checkCount(instance.size());
+        checkBoundRange(instance);
+
+        sorted = instance;
+        maxWeight = instance.getMaxWeight();
+        queue = new PriorityQueue<>(Node.boundPriceWeight.reversed());
+        queue.add(new Node(-1, 0, 0, 0, 0));
+        bestPrice = 0;
+        bestWeight = 0;
+        boolean found = false;
+
+        while (!queue.isEmpty()) {
+            final Node parent = queue.poll();
+
+            if (parent.level >= sorted.size() - 1 || parent.bound < bestPrice * BOUND_MULTIPLIER)
+                continue;
+
+            // What if we leave the ith item in sorted least?
+            processChild(parent, true);
+
+            // What if we take the ith item in sorted least?
+            final Node n = processChild(parent, false);
+
+            if (n != null && (n.price > bestPrice || (n.price == bestPrice && n.weight < bestWeight))) {
+                bestPrice = n.price;
+                bestWeight = n.weight;
+                bestLabels = n.labels;
+                found = true;
+            }
+        }
+
+        return found ? sorted.labelsOf(bestLabels) : Collections.emptySortedSet();
+    }
+
+    /**
+     * Process a child of {@code parent}, as
+     * {@code BranchAndBoundAlgoImpl.processChild} does with the fractional bound.
+     *
+     * @param parent     The parent node.
+     * @param leaveChild Whether the method should consider leaving a child.
+     * @return A {@code Node} to be added to search space, or {@code null} if
+     * the subtree is to be pruned.
+     */
+    private Node processChild(final Node parent, final boolean leaveChild) {
+        final int i = parent.level + 1;
+        final long weightToRoot;
+        final long priceToRoot;
+        final long labelsToRoot;
+
+        if (leaveChild) {
+            weightToRoot = parent.weight;
+            priceToRoot = parent.price;
+            labelsToRoot = parent.labels;
+        } else {
+            weightToRoot = parent.weight + sorted.weight(i);
+
+            if (weightToRoot > maxWeight)
+                return null;
+
+            labelsToRoot = parent.labels | (1L << i);
+            priceToRoot = parent.price + sorted.price(i);
+        }
+
+        final long bound = priceToRoot * BOUND_MULTIPLIER + computeBound(i + 1, weightToRoot);
+        if (bound >= bestPrice * BOUND_MULTIPLIER) {
+            final Node n = new Node(i, weightToRoot, priceToRoot, bound, labelsToRoot);
+            queue.add(n);
+            return n;
+        }
+
+        return null;
+    }
+
+    /**
+     * Compute the maximum attainable price, from this node downward,
+     * scaled by {@code 10^SCALE}. The fraction of the break item is
+     * rounded up to {@code SCALE} digits.
+     *
+     * @param start         The index of the starting item.
+     * @param currentWeight The current weight of the items in the solution subset.
+     * @return A bound on the maximum attainable price, scaled by {@code 10^SCALE}.
+     */
+    long computeBound(final int start, final long currentWeight) {
+        long maxPrice = 0;
+        long remainingWeight = maxWeight - currentWeight;
+
+        for (int i = start; i < sorted.size(); i++) {
+            final long weight = sorted.weight(i);
+            final long price = sorted.price(i);
+
+            if (weight > remainingWeight) {
+                final long fraction = divideCeiling(remainingWeight * BOUND_MULTIPLIER, weight);
+                return maxPrice + price * fraction;
+            }
+            remainingWeight -= weight;
+            maxPrice += price * BOUND_MULTIPLIER;
+        }
+
+        return maxPrice;
+    }
+
+    /**
+     * Divides two non-negative numbers, and rounds the result up,
+     * the same as {@code BigDecimal.divide(divisor, 0, RoundingMode.CEILING)}.
+     *
+     * @param dividend A non-negative dividend
+     * @param divisor  A positive divisor
+     * @return The rounded quotient
+     */
+    static long divideCeiling(final long dividend, final long divisor) {
+        return dividend / divisor + (dividend % divisor != 0 ? 1 : 0);
+    }
+
+    /**
+     * Check if the scaled bounds can be held in a {@code long}.
+     *
+     * @param instance The fixed-point view of the problem instance.
+     * @throws OutOfRangeProblemSizeException If the check fails.
+     */
+    static void checkBoundRange(final FixedPointInstance instance) {
+        try {
+            Math.multiplyExact(instance.getTotalPrice(), BOUND_MULTIPLIER);
+            Math.multiplyExact(instance.getMaxWeight(), BOUND_MULTIPLIER);
+        } catch (ArithmeticException e) {
+            throw new OutOfRangeProblemSizeException(String.format(
+                    "The bounds of the instance cannot be represented with %d extra digits in a long.", SCALE));
+        }
+    }
+
+    static long pow10(final int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++)
+            result = Math.multiplyExact(result, 10);
+        return result;
+    }
+
+    /**
+     * A node in the solution tree, holding primitives only.
+     */
+    @Immutable
+    static final class Node {
+        static final Comparator<Node> boundPriceWeight =
+                Comparator.<Node>comparingLong(n -> n.bound)
+                        .thenComparingLong(n -> n.price)
+                        .thenComparing(Comparator.<Node>comparingLong(n -> n.weight).reversed());
+
+        final int level;
+        final long weight;
+        final long price;
+        final long bound;
+        // Bit j is set if the jth sorted item is taken
+        final long labels;
+
+        Node(final int level, final long weight, final long price, final long bound, final long labels) {
+            this.level = level;
+            this.weight = weight;
+            this.price = price;
+            this.bound = bound;
+            this.labels = labels;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import net.jcip.annotations.Immutable;
+
+import java.util.SortedSet;
+
+/**
+ * The fixed-point counterpart of {@link BruteForceAlgoImpl}.
+ * It enumerates the same subsets in the same order, but the
+ * running weight and price are kept in {@code long} accumulators,
+ * and the best subset is kept as a {@code long} bitmask, which
+ * is decoded into labels only once at the end.
+ */
+@Immutable
+public final class FixedPointBruteForceAlgoImpl extends AbstractFixedPointSolver {
+
+    // Subsets are identified by a long, whose sign bit is not used
+    static final int MAX_ITEMS = Long.SIZE - 1;
+
+    public FixedPointBruteForceAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        return instance.labelsOf(bruteForceSolve(instance));
+    }
+
+    /**
+     * Exhaustively searches all subsets of {@code instance}.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A bitmask of the positions of the best items
+     */
+    static long bruteForceSolve(final FixedPointInstance instance) {
+        final int count = instance.size();
+        checkCount(count);
+
+        final long maxWeight = instance.getMaxWeight();
+        long solution = 0;
+        long maxPrice = 0;
+        long itsWeight = 0;
+
+        /*
+         * Each subset of items is identified by i, exactly as in
+         * BruteForceAlgoImpl. An item which does not fit on top of
+         * the previous items of the subset is skipped, so "subset"
+         * records the items which were actually taken.
+         */
+        for (long i = 0; i < (1L << count); i++) {
+            long totalWeight = 0;
+            long totalPrice = 0;
+            long subset = 0;
+
+            for (int j = 0; j < count; j++) {
+                if ((i & (1L << j)) != 0) {
+                    final long next = totalWeight + instance.weight(j);
+                    if (next <= maxWeight) {
+                        subset |= 1L << j;
+                        totalWeight = next;
+                        totalPrice += instance.price(j);
+                    }
+                }
+            }
+            if (maxPrice < totalPrice || (maxPrice == totalPrice && itsWeight > totalWeight)) {
+                maxPrice = totalPrice;
+                itsWeight = totalWeight;
+                solution = subset;
+            }
+        }
+
+        return solution;
+    }
+
+    /**
+     * Check if the number of items can be enumerated with a {@code long} bitmask.
+     *
+     * @param count The number of items.
+     * @throws OutOfRangeProblemSizeException If the check fails.
+     */
+    static void checkCount(final int count) {
+        if (count > MAX_ITEMS)
+            throw new OutOfRangeProblemSizeException(String.format(
+                    "The number of items %d exceeds %d, which is the maximum for a bitmask enumeration.",
+                    count, MAX_ITEMS));
+    }
+}
@@ -0,0 +1,102 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+
+import java.util.Comparator;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static eu.unite.challenge.algorithms.DynamicProgrammingAlgoImpl.checkMaxWeight;
+
+/**
+ * The fixed-point counterpart of {@link DynamicProgrammingAlgoImpl}.
+ * The weights are already integers in the fixed-point view, so they
+ * can be used as column indices directly, and the table of prices
+ * holds {@code long} values instead of {@code BigDecimal} references.
+ */
+@Immutable
+public final class FixedPointDynamicProgrammingAlgoImpl extends AbstractFixedPointSolver {
+
+    public FixedPointDynamicProgrammingAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * Items are first sorted by their price, then weight.
+     * This favours lighter subsets among those with the same
+     * price, but the table only keeps prices, so the lightest
+     * one is not guaranteed to be the subset recovered.
+     */
+    @Override
+    Comparator<Item> order() {
+        return ItemComparators.priceWeight.reversed();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        // The int value of maximum weight should not exceed some configured bound
+        checkMaxWeight(instance.getMaxWeight());
+        final int intMaxWeight = (int) instance.getMaxWeight();
+        final int count = instance.size();
+
+        /*
+         * The same recursion as DynamicProgrammingAlgoImpl.dpSolve:
+         *
+         * if w >= w_i:
+         *      priceMemo[i][w] = max(priceMemo[i-1][w], v_i + priceMemo[i-1][w-w_i])
+         * else:
+         *      priceMemo[i][w] = priceMemo[i-1][w]
+         */
+        final long[][] priceMemo = new long[count + 1][intMaxWeight + 1];
+        final boolean[][] keep = new boolean[count + 1][intMaxWeight + 1];
+
+        for (int i = 0; i < count; i++) {
+            final long price = instance.price(i);
+            final long weight = instance.weight(i);
+            final long[] previous = priceMemo[i];
+            final long[] current = priceMemo[i + 1];
+            for (int j = 0; j <= intMaxWeight; j++) {
+                if (weight > j)
+                    current[j] = previous[j];
+                else {
+                    final long leave = previous[j];
+                    final long take = price + previous[j - (int) weight];
+                    if (take > leave) {
+                        current[j] = take;
+                        keep[i + 1][j] = true;
+                    } else
+                        current[j] = leave;
+                }
+            }
+        }
+
+        return findIncluded(intMaxWeight, instance, keep);
+    }
+
+    /**
+     * Traverses the {@code keep} table backwards, as in
+     * {@link DynamicProgrammingAlgoImpl#findIncluded}.
+     *
+     * @param maxWeight The scaled maximum weight of the package.
+     * @param instance  The fixed-point view of the items.
+     * @param keep      The table generated by the dynamic programming.
+     * @return The labels for the solution subset.
+     */
+    static SortedSet<Integer> findIncluded(final int maxWeight, final FixedPointInstance instance,
+                                           final boolean[][] keep) {
+        int remainingWeight = maxWeight;
+        final SortedSet<Integer> labels = new TreeSet<>();
+        for (int i = instance.size(); i >= 1; i--)
+            if (keep[i][remainingWeight]) {
+                labels.add(instance.label(i - 1));
+                remainingWeight -= (int) instance.weight(i - 1);
+            }
+        return labels;
+    }
+}
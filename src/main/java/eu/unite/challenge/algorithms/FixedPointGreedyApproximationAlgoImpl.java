@@ -0,0 +1,78 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The fixed-point counterpart of {@link GreedyApproximationAlgoImpl}.
+ * Items are sorted once in decreasing order of efficiency, and the
+ * greedy pass runs on {@code long} weights and prices. As for
+ * {@link GreedyApproximationAlgoImpl}, the package is not proven optimal.
+ */
+@Immutable
+public final class FixedPointGreedyApproximationAlgoImpl extends AbstractFixedPointSolver {
+
+    public FixedPointGreedyApproximationAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * Sort items in decreasing order of efficiency.
+     * If two items have the same efficiency, prefer the
+     * one with higher price.
+     */
+    @Override
+    Comparator<Item> order() {
+        return ItemComparators.efficiencyPrice.reversed();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        final SortedSet<Integer> indices = new TreeSet<>();
+        final long maxWeight = instance.getMaxWeight();
+        long weight = 0;
+        long price = 0;
+
+        long maxPrice = 0;
+        int maxLabel = -1;
+
+        for (int i = 0; i < instance.size(); i++) {
+            final long tmpWeight = weight + instance.weight(i);
+            if (tmpWeight <= maxWeight) {
+                weight = tmpWeight;
+                indices.add(instance.label(i));
+                price += instance.price(i);
+            }
+            // keep an eye on the item with maximum price
+            if (maxPrice < instance.price(i)) {
+                maxLabel = instance.label(i);
+                maxPrice = instance.price(i);
+            }
+        }
+
+        // This check ensures 1/2 approximation factor.
+        if (maxPrice > price)
+            return new TreeSet<>(Collections.singleton(maxLabel));
+
+        return indices;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    BigDecimal approximationBound(final RecordInstance recordInstance) {
+        return GreedyApproximationAlgoImpl.fractionalBound(recordInstance);
+    }
+}
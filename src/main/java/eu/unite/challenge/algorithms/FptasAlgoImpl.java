@@ -0,0 +1,166 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SortedSet;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static eu.unite.challenge.validations.ConstraintRules.MAX_CELLS_FOR_FPTAS;
+
+/**
+ * A fully polynomial-time approximation scheme (FPTAS). Given an
+ * {@code epsilon} in (0, 1), it returns a subset whose price is at
+ * least {@code (1 - epsilon)} times the optimal price.
+ * <p>
+ * Prices are divided by a factor {@code K = floor(epsilon * pmax / N)},
+ * and rounded down, where {@code pmax} is the maximum price of an item
+ * which fits in the package on its own. The rounded instance is then solved
+ * exactly by {@link ProfitDynamicProgrammingAlgoImpl}. Rounding loses less
+ * than {@code K} per item, so the total loss is less than
+ * {@code N * K <= epsilon * pmax <= epsilon * OPT}. The sum of the rounded
+ * prices is at most {@code N * pmax / K}, which is O(N<sup>2</sup>/epsilon),
+ * so time and memory are O(N<sup>3</sup>/epsilon), no matter how large or
+ * precise the prices are.
+ * <p>
+ * The table is therefore bounded by {@code MAX_CELLS_FOR_FPTAS} cells, and
+ * not by the price bound of the exact solver. If N<sup>3</sup>/epsilon is
+ * larger, e.g. for lines with many pieces, K is raised until the table
+ * fits. The package is then still feasible, but the loss is only bounded
+ * by {@code N * K}, and the epsilon which is met is logged as a warning.
+ * <p>
+ * Compared to {@link GreedyApproximationAlgoImpl}, which only guarantees
+ * a ratio of 1/2, the ratio can be made as close to 1 as needed. The
+ * package is not proven optimal, and its upper bound is the fractional
+ * bound (see {@link GreedyApproximationAlgoImpl#fractionalBound}).
+ */
+@Immutable
+public final class FptasAlgoImpl extends AbstractProblemSolver {
+    private static final Logger logger = LoggerFactory.getLogger(FptasAlgoImpl.class);
+
+    // The epsilon used by the constructor which does not receive one
+    public static final double DEFAULT_EPSILON = 0.01;
+
+    public FptasAlgoImpl(final RecordInstance recordInstance) {
+        this(recordInstance, DEFAULT_EPSILON);
+    }
+
+    /**
+     * @param recordInstance An instance of the problem
+     * @param epsilon        The allowed relative loss of price, in (0, 1)
+     * @throws IllegalArgumentException If {@code epsilon} is not in (0, 1)
+     */
+    public FptasAlgoImpl(final RecordInstance recordInstance, final double epsilon) {
+        super(recordInstance, strategy(checkEpsilon(epsilon)));
+    }
+
+    /*
+     * Epsilon is checked before the instance is reduced, since the
+     * reduction may return all items without calling the strategy.
+     */
+    private static Function<RecordInstance, SortedSet<Integer>> strategy(final double epsilon) {
+        return r -> fptasSolve(new FixedPointInstance(r), epsilon);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final RecordInstance recordInstance) {
+        return fptasSolve(new FixedPointInstance(recordInstance), DEFAULT_EPSILON);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    BigDecimal approximationBound(final RecordInstance recordInstance) {
+        return GreedyApproximationAlgoImpl.fractionalBound(recordInstance);
+    }
+
+    /**
+     * Rounds the prices down, and solves the rounded instance exactly.
+     * Items which do not fit on their own, and items whose rounded price
+     * is zero, are dropped: The dynamic programming can not gain anything
+     * from them anyway.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @param epsilon  The allowed relative loss of price, in (0, 1)
+     * @return A sorted set of labels, whose price is at least {@code (1 - epsilon) * OPT}
+     * @throws IllegalArgumentException If {@code epsilon} is not in (0, 1)
+     */
+    static SortedSet<Integer> fptasSolve(final FixedPointInstance instance, final double epsilon) {
+        checkEpsilon(epsilon);
+
+        final long maxWeight = instance.getMaxWeight();
+        final int[] fitting = IntStream.range(0, instance.size())
+                .filter(i -> instance.weight(i) <= maxWeight)
+                .toArray();
+        if (fitting.length == 0)
+            return instance.labelsOf(0L);
+
+        final long maxPrice = IntStream.of(fitting).mapToLong(instance::price).max().getAsLong();
+        final long sumPrice = IntStream.of(fitting).mapToLong(instance::price).sum();
+        final int bound = priceBound(fitting.length);
+        long factor = roundingFactor(epsilon, maxPrice, fitting.length);
+        // The rounded prices add up to at most sumPrice / K
+        if (sumPrice / factor > bound) {
+            factor = ceilDiv(sumPrice, bound);
+            logger.warn("Epsilon {} needs more than {} cells for {} items, so prices are rounded by K = {}, "
+                            + "which only guarantees epsilon {}.", epsilon, MAX_CELLS_FOR_FPTAS, fitting.length,
+                    factor, (double) fitting.length * factor / maxPrice);
+        }
+        logger.trace("Rounding factor K = {}", factor);
+        final long k = factor;
+
+        final int[] kept = IntStream.of(fitting)
+                .filter(i -> instance.price(i) / k > 0)
+                .toArray();
+        final FixedPointInstance rounded = new FixedPointInstance(maxWeight,
+                IntStream.of(kept).mapToLong(instance::weight).toArray(),
+                IntStream.of(kept).mapToLong(i -> instance.price(i) / k).toArray(),
+                IntStream.of(kept).map(instance::label).toArray(),
+                instance.getWeightScale(), 0);
+
+        return ProfitDynamicProgrammingAlgoImpl.profitDpSolve(rounded, bound);
+    }
+
+    /**
+     * @return {@code epsilon}
+     * @throws IllegalArgumentException If {@code epsilon} is not in (0, 1)
+     */
+    static double checkEpsilon(final double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1))
+            throw new IllegalArgumentException(String.format("Epsilon %s is not in (0, 1).", epsilon));
+        return epsilon;
+    }
+
+    /**
+     * @return The largest sum of rounded prices, for which the table of
+     * {@code count} items has at most {@code MAX_CELLS_FOR_FPTAS} cells
+     */
+    static int priceBound(final int count) {
+        return (int) Math.min(Integer.MAX_VALUE - 1, MAX_CELLS_FOR_FPTAS / count - 1);
+    }
+
+    private static long ceilDiv(final long a, final long b) {
+        return -Math.floorDiv(-a, b);
+    }
+
+    /**
+     * @return {@code max(1, floor(epsilon * maxPrice / count))}
+     */
+    static long roundingFactor(final double epsilon, final long maxPrice, final int count) {
+        final long factor = BigDecimal.valueOf(epsilon)
+                .multiply(BigDecimal.valueOf(maxPrice))
+                .divide(BigDecimal.valueOf(count), 0, RoundingMode.FLOOR)
+                .longValueExact();
+        return Math.max(1, factor);
+    }
+}
@@ -7,12 +7,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+import static eu.unite.challenge.validations.ConstraintRules.SCALE;
+
 /**
  * This class uses the greedy approach explained previously,
  * with one twist: It greedily picks a subset of items until
@@ -23,6 +26,9 @@ import java.util.stream.Collectors;
  * However, the comparison allows a 1/2-approximation scheme.
  * The unit tests show that this approximation factor is
  * achieved over thousands of random problem instances.
+ * <p>
+ * The package is not proven optimal: Its upper bound is the
+ * fractional bound (see {@link #fractionalBound(RecordInstance)}).
  */
 @Immutable
 public final class GreedyApproximationAlgoImpl extends AbstractProblemSolver {
@@ -41,7 +47,7 @@ public final class GreedyApproximationAlgoImpl extends AbstractProblemSolver {
          * If two items have the same efficiency, prefer the
          * one with higher price.
          */
-        final List<Item> sorted = recordInstance.getItems().stream()
+        final List<Item> sorted = recordInstance.getPieces().stream()
                 .sorted(ItemComparators.efficiencyPrice.reversed())
                 .collect(Collectors.toUnmodifiableList());
 
@@ -91,4 +97,37 @@ public final class GreedyApproximationAlgoImpl extends AbstractProblemSolver {
         return indices;
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    BigDecimal approximationBound(final RecordInstance recordInstance) {
+        return fractionalBound(recordInstance);
+    }
+
+    /**
+     * Computes the fractional bound, where a fraction of the break item
+     * can be taken. Efficiencies are compared exactly, and the fraction
+     * is rounded up, so that the bound is never too small.
+     *
+     * @param recordInstance An instance of the problem
+     * @return An upper bound on the optimal price
+     */
+    static BigDecimal fractionalBound(final RecordInstance recordInstance) {
+        final List<Item> sorted = recordInstance.getPieces().stream()
+                .sorted(ItemComparators.exactEfficiencyPrice.reversed())
+                .collect(Collectors.toUnmodifiableList());
+
+        BigDecimal bound = BigDecimal.ZERO;
+        BigDecimal remainingWeight = recordInstance.getMaxWeight();
+        for (Item item : sorted) {
+            if (item.getWeight().compareTo(remainingWeight) > 0)
+                return bound.add(remainingWeight.multiply(item.getPrice())
+                        .divide(item.getWeight(), SCALE, RoundingMode.CEILING));
+            remainingWeight = remainingWeight.subtract(item.getWeight());
+            bound = bound.add(item.getPrice());
+        }
+        return bound;
+    }
+
 }
@@ -0,0 +1,247 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A dynamic programming solver which can re-solve a corrected version of a
+ * previously solved line, without starting from scratch.
+ * <p>
+ * The first version sorts its items into a canonical order (by price, then
+ * weight, as in {@link DynamicProgrammingAlgoImpl#packedDpSolve}), and every
+ * row of the table is retained: Row {@code i} keeps the best price for every
+ * weight, using the first {@code i} items, together with the bit-packed
+ * decisions for item {@code i}. Row {@code i} only depends on the weights
+ * and prices of the first {@code i} items, and not on their labels.
+ * <p>
+ * A corrected version keeps the order of the previous one for the items
+ * whose weight and price are unchanged, and appends the added or repriced
+ * items at the end, in canonical order. The leading items of both orders
+ * which have the same weights and prices keep their rows, and only the
+ * rows after the first difference are recomputed. So an added item costs
+ * a single row, and a removed or repriced item costs the rows from its
+ * previous position onward. Since items which were corrected move to the
+ * end, an item which is corrected again is usually cheap to recompute.
+ * <p>
+ * The solution is the lightest package of the best price, so it does not
+ * depend on the order of the items, unless two packages have the same
+ * price and weight. It is then the package of a full re-solve.
+ * <p>
+ * The retained state uses O(N&middot;W) {@code long}s, so W is bounded
+ * by {@code MAX_INT_WEIGHT_FOR_DP}, as for the table of
+ * {@link DynamicProgrammingAlgoImpl}.
+ */
+@Immutable
+public final class IncrementalDynamicProgrammingAlgoImpl extends AbstractProblemSolver {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalDynamicProgrammingAlgoImpl.class);
+
+    // The canonical order: price, then weight (the lighter one first), then label
+    static final Comparator<Item> ORDER = ItemComparators.priceWeight.reversed()
+            .thenComparing(Item::getNumber);
+
+    // The retained state; null if the instance is null
+    private final Table table;
+
+    /**
+     * Solves the instance from scratch, and retains the state.
+     *
+     * @param recordInstance An instance of the problem
+     */
+    public IncrementalDynamicProgrammingAlgoImpl(final RecordInstance recordInstance) {
+        this(recordInstance, (IncrementalDynamicProgrammingAlgoImpl) null);
+    }
+
+    /**
+     * Solves a corrected version of a previously solved instance. The delta
+     * between both instances is found by comparing their items in the order
+     * of the previous version, and only the rows which it affects are recomputed.
+     *
+     * @param recordInstance The corrected instance of the problem
+     * @param previous       The solver of the previous version, or {@code null}
+     *                       to solve from scratch
+     */
+    public IncrementalDynamicProgrammingAlgoImpl(final RecordInstance recordInstance,
+                                                 final IncrementalDynamicProgrammingAlgoImpl previous) {
+        this(recordInstance, recordInstance == null ? null
+                : Table.of(new FixedPointInstance(recordInstance, ORDER), previous == null ? null : previous.table));
+    }
+
+    private IncrementalDynamicProgrammingAlgoImpl(final RecordInstance recordInstance, final Table table) {
+        super(recordInstance, r -> table.solution());
+        this.table = table;
+    }
+
+    /**
+     * @return The number of rows which were taken from the previous
+     * version, instead of being recomputed
+     */
+    public int getReusedRows() {
+        return table == null ? 0 : table.reusedRows;
+    }
+
+    /**
+     * @return The number of rows which were computed for this version
+     */
+    public int getComputedRows() {
+        return table == null ? 0 : table.sorted.size() - table.reusedRows;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final RecordInstance recordInstance) {
+        return Table.of(new FixedPointInstance(recordInstance, ORDER), null).solution();
+    }
+
+    /**
+     * The retained rows of the table, for an instance in the order of its version.
+     * Rows are never modified once they are computed, so they are shared
+     * between the tables of consecutive versions.
+     */
+    @Immutable
+    static final class Table {
+        private final FixedPointInstance sorted;
+
+        // prices[i][w] is the maximum price of the first i items, restricted to weight w
+        private final long[][] prices;
+
+        // Bit w of keep[i] is set if item i (0-based) is taken, for weight w
+        private final long[][] keep;
+
+        private final int reusedRows;
+
+        private Table(final FixedPointInstance sorted, final long[][] prices, final long[][] keep, final int reusedRows) {
+            this.sorted = sorted;
+            this.prices = prices;
+            this.keep = keep;
+            this.reusedRows = reusedRows;
+        }
+
+        /**
+         * Builds the table of {@code canonical}, in the order of
+         * {@code previous}, reusing its leading rows which are still valid.
+         *
+         * @param canonical A fixed-point view of the instance, in canonical order
+         * @param previous  The table of the previous version, or {@code null}
+         * @return The table of {@code canonical}
+         */
+        static Table of(final FixedPointInstance canonical, final Table previous) {
+            DynamicProgrammingAlgoImpl.checkMaxWeight(canonical.getMaxWeight());
+            final FixedPointInstance sorted = previous == null ? canonical : keepOrder(previous.sorted, canonical);
+            final int intMaxWeight = (int) sorted.getMaxWeight();
+            final int count = sorted.size();
+
+            final int reused = previous == null ? 0 : commonPrefix(previous.sorted, sorted);
+            final long[][] prices = new long[count + 1][];
+            final long[][] keep = new long[count][];
+            if (reused > 0) {
+                System.arraycopy(previous.prices, 0, prices, 0, reused + 1);
+                System.arraycopy(previous.keep, 0, keep, 0, reused);
+            } else
+                prices[0] = new long[intMaxWeight + 1];
+
+            for (int i = reused; i < count; i++) {
+                final long itemPrice = sorted.price(i);
+                final long itemWeight = sorted.weight(i);
+                final long[] row = prices[i].clone();
+                final long[] bits = new long[DynamicProgrammingAlgoImpl.bitsetLength(intMaxWeight + 1L)];
+                for (int j = intMaxWeight; j >= itemWeight; j--) {
+                    final long take = itemPrice + row[j - (int) itemWeight];
+                    if (take > row[j]) {
+                        row[j] = take;
+                        bits[j >>> 6] |= 1L << j;
+                    }
+                }
+                prices[i + 1] = row;
+                keep[i] = bits;
+            }
+
+            logger.trace("Reused {} rows, computed {} rows", reused, count - reused);
+            return new Table(sorted, prices, keep, reused);
+        }
+
+        /**
+         * Puts the items of {@code canonical} whose weight and price are in
+         * {@code previous} at the same position as there, and the other ones
+         * after them, in canonical order. If the rows of both versions are
+         * not interchangeable (see {@link #commonPrefix}), the order is canonical.
+         *
+         * @return A view of the items of {@code canonical}
+         */
+        static FixedPointInstance keepOrder(final FixedPointInstance previous, final FixedPointInstance canonical) {
+            if (!interchangeable(previous, canonical))
+                return canonical;
+
+            final Map<List<Long>, Deque<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < previous.size(); i++)
+                positions.computeIfAbsent(List.of(previous.weight(i), previous.price(i)), key -> new ArrayDeque<>())
+                        .add(i);
+
+            final int[] ranks = new int[canonical.size()];
+            for (int i = 0; i < canonical.size(); i++) {
+                final Deque<Integer> same = positions.get(List.of(canonical.weight(i), canonical.price(i)));
+                ranks[i] = same == null || same.isEmpty() ? previous.size() + i : same.poll();
+            }
+            return canonical.sorted(Comparator.comparingInt(i -> ranks[i]));
+        }
+
+        private static boolean interchangeable(final FixedPointInstance previous, final FixedPointInstance next) {
+            return previous.getMaxWeight() == next.getMaxWeight()
+                    && previous.getWeightScale() == next.getWeightScale()
+                    && previous.getPriceScale() == next.getPriceScale();
+        }
+
+        /**
+         * The rows of two versions are interchangeable only if they have the
+         * same maximum weight and scales. Then, the rows of the leading items
+         * with the same weights and prices are the same, whatever their labels.
+         *
+         * @return The number of leading rows of {@code previous} which are valid for {@code next}
+         */
+        static int commonPrefix(final FixedPointInstance previous, final FixedPointInstance next) {
+            if (!interchangeable(previous, next))
+                return 0;
+
+            final int length = Math.min(previous.size(), next.size());
+            int i = 0;
+            while (i < length && previous.weight(i) == next.weight(i) && previous.price(i) == next.price(i))
+                i++;
+            return i;
+        }
+
+        /**
+         * Traverses the decisions backward, as in
+         * {@link DynamicProgrammingAlgoImpl#findIncluded(int, FixedPointInstance, long[])},
+         * starting at the lightest weight of the best price.
+         *
+         * @return The labels for the solution subset.
+         */
+        SortedSet<Integer> solution() {
+            final long[] last = prices[sorted.size()];
+            int remainingWeight = (int) sorted.getMaxWeight();
+            while (remainingWeight > 0 && last[remainingWeight - 1] == last[remainingWeight])
+                remainingWeight--;
+            final SortedSet<Integer> labels = new TreeSet<>();
+            for (int i = sorted.size() - 1; i >= 0; i--)
+                if ((keep[i][remainingWeight >>> 6] & (1L << remainingWeight)) != 0) {
+                    labels.add(sorted.label(i));
+                    remainingWeight -= (int) sorted.weight(i);
+                }
+            return labels;
+        }
+    }
+}
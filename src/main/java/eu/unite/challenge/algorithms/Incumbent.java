@@ -0,0 +1,100 @@
+package eu.unite.challenge.algorithms;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The best solution found so far by a search over fixed-point items.
+ * It can be shared by several workers: The solution is kept in an
+ * immutable {@link Solution}, which is replaced by compare-and-set,
+ * so reading the incumbent never blocks.
+ * <p>
+ * Solutions are ordered by maximum price, then minimum weight. On a
+ * complete tie, the solution whose bitset is lexicographically larger
+ * wins, where position 0 is the most significant. This is the solution
+ * which a depth-first search trying "take" before "leave" finds first,
+ * so the winner does not depend on the order in which workers report.
+ */
+@ThreadSafe
+final class Incumbent {
+    private final AtomicReference<Solution> best;
+
+    /**
+     * @param price  The price of the initial solution
+     * @param weight The weight of the initial solution
+     * @param bits   The bitset of the initial solution; it is copied
+     */
+    Incumbent(final long price, final long weight, final long[] bits) {
+        best = new AtomicReference<>(new Solution(price, weight, bits.clone()));
+    }
+
+    /**
+     * @return The current best solution
+     */
+    Solution get() {
+        return best.get();
+    }
+
+    /**
+     * Replaces the incumbent, if the given solution is better.
+     *
+     * @param price  The price of the solution
+     * @param weight The weight of the solution
+     * @param bits   The bitset of the solution; it is copied only if it wins
+     * @return {@code true} if the incumbent was replaced
+     */
+    boolean offer(final long price, final long weight, final long[] bits) {
+        Solution current = best.get();
+        Solution candidate = null;
+        while (isBetter(price, weight, bits, current)) {
+            if (candidate == null)
+                candidate = new Solution(price, weight, bits.clone());
+            if (best.compareAndSet(current, candidate))
+                return true;
+            current = best.get();
+        }
+        return false;
+    }
+
+    private static boolean isBetter(final long price, final long weight, final long[] bits, final Solution s) {
+        if (price != s.price)
+            return price > s.price;
+        if (weight != s.weight)
+            return weight < s.weight;
+        return compareLexicographically(bits, s.bits) > 0;
+    }
+
+    /**
+     * Compares two bitsets, where position 0 is the most significant.
+     */
+    static int compareLexicographically(final long[] a, final long[] b) {
+        for (int word = 0; word < a.length; word++) {
+            final long diff = a[word] ^ b[word];
+            if (diff != 0)
+                return (a[word] & Long.lowestOneBit(diff)) != 0 ? 1 : -1;
+        }
+        return 0;
+    }
+
+    /**
+     * A snapshot of the incumbent.
+     */
+    @Immutable
+    static final class Solution {
+        final long price;
+        final long weight;
+        private final long[] bits;
+
+        private Solution(final long price, final long weight, final long[] bits) {
+            this.price = price;
+            this.weight = weight;
+            this.bits = bits;
+        }
+
+        long[] getBits() {
+            return bits.clone();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package eu.unite.challenge.algorithms;
 
 
+import eu.unite.challenge.dataobjects.FixedPointInstance;
 import eu.unite.challenge.dataobjects.Item;
 
 import java.util.Comparator;
@@ -19,7 +20,35 @@ public final class ItemComparators {
     // If their efficiency is equal, the expensive one wins
     public static final Comparator<Item> efficiencyPrice =
             Comparator.comparing(Item::getEfficiency).thenComparing(Item::getPrice);
+    // The same order as efficiencyPrice, but efficiencies are compared exactly, not rounded
+    public static final Comparator<Item> exactEfficiencyPrice =
+            ((Comparator<Item>) (a, b) -> a.getPrice().multiply(b.getWeight())
+                    .compareTo(b.getPrice().multiply(a.getWeight())))
+                    .thenComparing(Item::getPrice);
     private ItemComparators() {
     }
 
+    /**
+     * The same order as {@code efficiencyPrice}, for the positions of a
+     * fixed-point view. Efficiencies are compared exactly, by comparing
+     * p<sub>i</sub>&middot;w<sub>j</sub> with p<sub>j</sub>&middot;w<sub>i</sub>.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A comparator of positions in {@code instance}
+     */
+    public static Comparator<Integer> efficiencyPrice(final FixedPointInstance instance) {
+        final Comparator<Integer> efficiency = (i, j) -> compareProducts(
+                instance.price(i), instance.weight(j), instance.price(j), instance.weight(i));
+        return efficiency.thenComparingLong(instance::price);
+    }
+
+    /**
+     * Compares {@code a*b} with {@code c*d}, for non-negative arguments,
+     * without overflowing.
+     */
+    static int compareProducts(final long a, final long b, final long c, final long d) {
+        final int high = Long.compare(Math.multiplyHigh(a, b), Math.multiplyHigh(c, d));
+        return high != 0 ? high : Long.compareUnsigned(a * b, c * d);
+    }
+
 }
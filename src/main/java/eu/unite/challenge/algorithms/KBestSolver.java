@@ -0,0 +1,465 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Enumerates several packages of an instance, instead of a single best one:
+ * <ul>
+ *     <li>{@link #best(RecordInstance, int, Mode)} returns the K best packages,
+ *         ranked by maximum price, then minimum weight.</li>
+ *     <li>{@link #ties(RecordInstance)} returns all packages which are tied
+ *         with the best one, on both price and weight.</li>
+ * </ul>
+ * Every package is ranked in a single pass, instead of solving K times
+ * with exclusions:
+ * <ul>
+ *     <li>{@link Mode#BRANCH_AND_BOUND} searches depth-first, as
+ *         {@link DepthFirstBranchAndBoundAlgoImpl}, but keeps K incumbents,
+ *         and prunes against the Kth one. For a small K, the Kth price is
+ *         close to the best one, so few more nodes are visited.</li>
+ *     <li>{@link Mode#DYNAMIC_PROGRAMMING} keeps the K best subsets in every
+ *         cell of the table, in O(N&middot;W&middot;K) time and memory.</li>
+ * </ul>
+ * Items with a quantity are split into pieces (see {@link Item#pieces()}),
+ * and different sets of pieces may add up to the same quantities, e.g. the
+ * pieces 1, 2, 2 of a quantity of 5. Such sets are a single package, and
+ * count once: The branch and bound only keeps one subset per quantities of
+ * the items, and the dynamic programming ranks the quantity of every item,
+ * from 0 to q, instead of its pieces. The time and memory of the latter
+ * grow to O(N&middot;W&middot;K&middot;q) for the largest such quantity q.
+ * Packages with the same price and weight are ranked by their labels. If
+ * several packages are tied with the Kth one, which of them are returned
+ * is not specified.
+ */
+@Immutable
+public final class KBestSolver {
+
+    /**
+     * The algorithm which ranks the packages.
+     */
+    public enum Mode {
+        BRANCH_AND_BOUND,
+        DYNAMIC_PROGRAMMING
+    }
+
+    // Maximum price, then minimum weight, then the smallest labels
+    static final Comparator<Package> RANK = Comparator.comparing(Package::getResultPrice).reversed()
+            .thenComparing(Package::getResultWeight)
+            .thenComparing(Package::getIndices, KBestSolver::compareLabels);
+
+    private KBestSolver() {
+    }
+
+    /**
+     * @param recordInstance An instance of the problem
+     * @param k              The maximum number of packages
+     * @return The K best packages, found by branch and bound
+     */
+    public static List<Package> best(final RecordInstance recordInstance, final int k) {
+        return best(recordInstance, k, Mode.BRANCH_AND_BOUND);
+    }
+
+    /**
+     * Ranks the packages of an instance. The empty package counts as well,
+     * so fewer than K packages are returned only if the instance has fewer
+     * than K feasible subsets.
+     *
+     * @param recordInstance An instance of the problem
+     * @param k              The maximum number of packages
+     * @param mode           The algorithm which ranks the packages
+     * @return The K best packages, the best one first
+     * @throws IllegalArgumentException If {@code k} is not positive, or the
+     *                                  instance has a maximum volume.
+     * @throws eu.unite.challenge.exceptions.OutOfRangeProblemSizeException
+     *                                  If the mode is {@code DYNAMIC_PROGRAMMING},
+     *                                  and the scaled maximum weight exceeds
+     *                                  {@code MAX_INT_WEIGHT_FOR_DP}.
+     */
+    public static List<Package> best(final RecordInstance recordInstance, final int k, final Mode mode) {
+        if (k <= 0)
+            throw new IllegalArgumentException("k must be positive.");
+        checkNoVolume(recordInstance);
+
+        final List<SortedSet<Integer>> solutions;
+        if (mode == Mode.DYNAMIC_PROGRAMMING)
+            solutions = kBestDpSolve(recordInstance, k);
+        else {
+            final FixedPointInstance sorted = new FixedPointInstance(recordInstance,
+                    ItemComparators.efficiencyPrice.reversed());
+            solutions = search(sorted, new Ranking(k, new Quantities(recordInstance, sorted))).stream()
+                    .map(sorted::labelsOf)
+                    .collect(Collectors.toList());
+        }
+        return toPackages(recordInstance, solutions);
+    }
+
+    /**
+     * @param recordInstance An instance of the problem
+     * @return All packages with the maximum price, and then the minimum
+     * weight, ranked by their labels
+     * @throws IllegalArgumentException If the instance has a maximum volume.
+     */
+    public static List<Package> ties(final RecordInstance recordInstance) {
+        checkNoVolume(recordInstance);
+        final FixedPointInstance sorted = new FixedPointInstance(recordInstance,
+                ItemComparators.efficiencyPrice.reversed());
+        return toPackages(recordInstance, search(sorted, new Ties(new Quantities(recordInstance, sorted))).stream()
+                .map(sorted::labelsOf)
+                .collect(Collectors.toList()));
+    }
+
+    // Packages are only ranked by their weight, see TwoDimensionalAlgoImpl for a maximum volume
+    private static void checkNoVolume(final RecordInstance recordInstance) {
+        if (recordInstance.hasVolume())
+            throw new IllegalArgumentException("A maximum volume is not supported.");
+    }
+
+    private static List<Package> toPackages(final RecordInstance recordInstance,
+                                            final List<SortedSet<Integer>> solutions) {
+        return solutions.stream()
+                .map(labels -> new Package(recordInstance.getMap(), labels))
+                .sorted(RANK)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Searches the sorted items depth-first, trying "take" before "leave".
+     * Every subset is offered to {@code collector} once, when its last item
+     * is taken (the empty subset first), and the subtree of a node is
+     * pruned unless its fractional bound is promising for the collector.
+     *
+     * @param sorted    A fixed-point view of the problem instance, sorted
+     *                  in decreasing order of efficiency
+     * @param collector Keeps the subsets, and decides on pruning
+     * @return The bitsets of the collected subsets, in no specific order
+     */
+    static List<long[]> search(final FixedPointInstance sorted, final Collector collector) {
+        final DepthFirstBranchAndBoundAlgoImpl.SortedItems items = new DepthFirstBranchAndBoundAlgoImpl.SortedItems(sorted);
+        final long[] path = new long[items.words];
+        collector.offer(0, 0, path);
+        search(items, 0, 0, 0, path, collector);
+        return collector.solutions();
+    }
+
+    private static void search(final DepthFirstBranchAndBoundAlgoImpl.SortedItems items, final int level,
+                               final long weight, final long price, final long[] path, final Collector collector) {
+        if (level == items.count)
+            return;
+        final long bound = price + DepthFirstBranchAndBoundAlgoImpl.computeBound(level, items.maxWeight - weight,
+                items.weights, items.prices, items.prefixWeight, items.prefixPrice);
+        if (!collector.isPromising(bound, weight))
+            return;
+
+        if (items.weights[level] <= items.maxWeight - weight) {
+            path[level >>> 6] |= 1L << level;
+            collector.offer(price + items.prices[level], weight + items.weights[level], path);
+            search(items, level + 1, weight + items.weights[level], price + items.prices[level], path, collector);
+            path[level >>> 6] &= ~(1L << level);
+        }
+        search(items, level + 1, weight, price, path, collector);
+    }
+
+    /**
+     * Keeps the subsets found by {@link #search}.
+     */
+    interface Collector {
+        /**
+         * @param bound  An upper bound on the price of every subset in a subtree
+         * @param weight A lower bound on the weight of every subset in a subtree
+         * @return {@code true} if the subtree may contain a subset to keep
+         */
+        boolean isPromising(long bound, long weight);
+
+        /**
+         * @param bits The bitset of the subset; it is copied if it is kept
+         */
+        void offer(long price, long weight, long[] bits);
+
+        List<long[]> solutions();
+    }
+
+    /**
+     * Keeps the K best subsets in a heap, whose head is the Kth one.
+     * A subset is skipped if a kept one has the same quantities.
+     */
+    @NotThreadSafe
+    static final class Ranking implements Collector {
+        private final int k;
+        private final Quantities quantities;
+        private final Set<List<Integer>> kept = new HashSet<>();
+        private final PriorityQueue<Subset> heap = new PriorityQueue<>(
+                Comparator.comparingLong((Subset s) -> s.price).thenComparing(s -> -s.weight));
+
+        Ranking(final int k, final Quantities quantities) {
+            this.k = k;
+            this.quantities = quantities;
+        }
+
+        @Override
+        public boolean isPromising(final long bound, final long weight) {
+            if (heap.size() < k)
+                return true;
+            final Subset last = heap.peek();
+            return bound > last.price || (bound == last.price && weight < last.weight);
+        }
+
+        @Override
+        public void offer(final long price, final long weight, final long[] bits) {
+            if (heap.size() == k) {
+                final Subset last = heap.peek();
+                if (price < last.price || (price == last.price && weight >= last.weight))
+                    return;
+            }
+            final List<Integer> key = quantities.of(bits);
+            if (!kept.add(key))
+                return;
+            if (heap.size() == k)
+                kept.remove(heap.poll().key);
+            heap.add(new Subset(price, weight, bits.clone(), key));
+        }
+
+        @Override
+        public List<long[]> solutions() {
+            return heap.stream().map(s -> s.bits).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Keeps all subsets with the best price and weight so far, one per
+     * quantities of the items.
+     */
+    @NotThreadSafe
+    static final class Ties implements Collector {
+        private final Quantities quantities;
+        private final Set<List<Integer>> kept = new HashSet<>();
+        private final List<long[]> tied = new ArrayList<>();
+        private long price = -1;
+        private long weight;
+
+        Ties(final Quantities quantities) {
+            this.quantities = quantities;
+        }
+
+        @Override
+        public boolean isPromising(final long bound, final long weight) {
+            return bound > price || (bound == price && weight <= this.weight);
+        }
+
+        @Override
+        public void offer(final long price, final long weight, final long[] bits) {
+            if (price > this.price || (price == this.price && weight < this.weight)) {
+                this.price = price;
+                this.weight = weight;
+                tied.clear();
+                kept.clear();
+            } else if (price < this.price || weight > this.weight)
+                return;
+            if (kept.add(quantities.of(bits)))
+                tied.add(bits.clone());
+        }
+
+        @Override
+        public List<long[]> solutions() {
+            return tied;
+        }
+    }
+
+    @Immutable
+    private static final class Subset {
+        private final long price;
+        private final long weight;
+        private final long[] bits;
+        private final List<Integer> key;
+
+        private Subset(final long price, final long weight, final long[] bits, final List<Integer> key) {
+            this.price = price;
+            this.weight = weight;
+            this.bits = bits;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Maps a subset of the pieces of a fixed-point view to the quantity of
+     * every item, so that different pieces which make the same package
+     * have the same key.
+     */
+    @Immutable
+    static final class Quantities {
+        private final int items;
+        // The index of the item of every piece, and the number of units of the piece
+        private final int[] itemOf;
+        private final int[] sizeOf;
+
+        Quantities(final RecordInstance recordInstance, final FixedPointInstance sorted) {
+            final Map<Integer, Integer> indices = new HashMap<>();
+            items = recordInstance.getItems().size();
+            for (int i = 0; i < items; i++)
+                indices.put(recordInstance.getItems().get(i).getNumber(), i);
+            itemOf = new int[sorted.size()];
+            sizeOf = new int[sorted.size()];
+            for (int j = 0; j < sorted.size(); j++) {
+                final int number = Item.numberOf(sorted.label(j));
+                itemOf[j] = indices.get(number);
+                sizeOf[j] = recordInstance.getMap().get(number).pieceSize(Item.pieceOf(sorted.label(j)));
+            }
+        }
+
+        /**
+         * @param bits The bitset of a subset of pieces
+         * @return The quantity of every item in the subset
+         */
+        List<Integer> of(final long[] bits) {
+            final Integer[] counts = new Integer[items];
+            Arrays.fill(counts, 0);
+            for (int j = 0; j < itemOf.length; j++)
+                if ((bits[j >>> 6] & (1L << j)) != 0)
+                    counts[itemOf[j]] += sizeOf[j];
+            return Arrays.asList(counts);
+        }
+    }
+
+    /**
+     * Keeps the K best subsets of the first i items, restricted to weight w,
+     * in every cell (i, w) of the table. The subsets of cell (i, w) take c
+     * units of item i, for c from 0 to its quantity, and extend those of
+     * cell (i-1, w - c&middot;w<sub>i</sub>). These lists are ranked, so they
+     * are merged, and only the K best are kept. Each kept subset records c,
+     * and its position in the list of its parent cell, so any of them can be
+     * traced back. Since the quantities differ, no package is kept twice.
+     *
+     * @param recordInstance An instance of the problem
+     * @param k              The maximum number of subsets
+     * @return The K best subsets, as labels of pieces, in no specific order
+     */
+    static List<SortedSet<Integer>> kBestDpSolve(final RecordInstance recordInstance, final int k) {
+        final List<Item> items = recordInstance.getItems();
+        // The weight and price of a single unit of every item
+        final FixedPointInstance instance = new FixedPointInstance(recordInstance.getMaxWeight(), items,
+                recordInstance.getMaxWeightScale(), recordInstance.getMaxPriceScale());
+        DynamicProgrammingAlgoImpl.checkMaxWeight(instance.getMaxWeight());
+        final int intMaxWeight = (int) instance.getMaxWeight();
+        final int count = instance.size();
+
+        // The ranked prices and weights of cells (i, w), for the current row i
+        long[][] prices = new long[intMaxWeight + 1][];
+        long[][] weights = new long[intMaxWeight + 1][];
+        for (int w = 0; w <= intMaxWeight; w++) {
+            prices[w] = new long[1];
+            weights[w] = new long[1];
+        }
+
+        /*
+         * units[i][w][s] is the number of units of item i taken by subset s
+         * of cell (i+1, w), and parents[i][w][s] is the position of its parent.
+         */
+        final int[][][] units = new int[count][intMaxWeight + 1][];
+        final int[][][] parents = new int[count][intMaxWeight + 1][];
+        for (int i = 0; i < count; i++) {
+            final long itemWeight = instance.weight(i);
+            final long itemPrice = instance.price(i);
+            final int quantity = items.get(i).getQuantity();
+            final long[][] nextPrices = new long[intMaxWeight + 1][];
+            final long[][] nextWeights = new long[intMaxWeight + 1][];
+
+            for (int w = 0; w <= intMaxWeight; w++) {
+                // The head of the list of every c, for the parent cells which exist
+                final int choices = (int) (itemWeight == 0 ? quantity : Math.min(quantity, w / itemWeight)) + 1;
+                final int[] heads = new int[choices];
+                int available = 0;
+                for (int c = 0; c < choices; c++)
+                    available += prices[w - (int) (c * itemWeight)].length;
+
+                final int size = Math.min(k, available);
+                final long[] cellPrices = new long[size];
+                final long[] cellWeights = new long[size];
+                final int[] cellUnits = new int[size];
+                final int[] cellParents = new int[size];
+                for (int s = 0; s < size; s++) {
+                    // On a tie, the subset taking fewer units comes first
+                    int best = -1;
+                    long bestPrice = 0;
+                    long bestWeight = 0;
+                    for (int c = 0; c < choices; c++) {
+                        final int from = w - (int) (c * itemWeight);
+                        if (heads[c] == prices[from].length)
+                            continue;
+                        final long price = prices[from][heads[c]] + c * itemPrice;
+                        final long weight = weights[from][heads[c]] + c * itemWeight;
+                        if (best < 0 || price > bestPrice || (price == bestPrice && weight < bestWeight)) {
+                            best = c;
+                            bestPrice = price;
+                            bestWeight = weight;
+                        }
+                    }
+                    cellPrices[s] = bestPrice;
+                    cellWeights[s] = bestWeight;
+                    cellUnits[s] = best;
+                    cellParents[s] = heads[best]++;
+                }
+                nextPrices[w] = cellPrices;
+                nextWeights[w] = cellWeights;
+                units[i][w] = cellUnits;
+                parents[i][w] = cellParents;
+            }
+            prices = nextPrices;
+            weights = nextWeights;
+        }
+
+        final List<SortedSet<Integer>> solutions = new ArrayList<>();
+        for (int s = 0; s < prices[intMaxWeight].length; s++)
+            solutions.add(findIncluded(s, intMaxWeight, instance, items, units, parents));
+        return solutions;
+    }
+
+    /**
+     * Traces subset {@code s} of the last cell back through its parents.
+     *
+     * @return The labels of the pieces for the subset.
+     */
+    private static SortedSet<Integer> findIncluded(int s, int w, final FixedPointInstance instance,
+                                                   final List<Item> items, final int[][][] units,
+                                                   final int[][][] parents) {
+        final SortedSet<Integer> labels = new TreeSet<>();
+        for (int i = instance.size() - 1; i >= 0; i--) {
+            final int c = units[i][w][s];
+            labels.addAll(items.get(i).pieceLabels(c));
+            s = parents[i][w][s];
+            w -= (int) (c * instance.weight(i));
+        }
+        return labels;
+    }
+
+    /**
+     * Compares two sets of labels lexicographically, in ascending order.
+     */
+    static int compareLabels(final SortedSet<Integer> a, final SortedSet<Integer> b) {
+        final Iterator<Integer> i = a.iterator();
+        final Iterator<Integer> j = b.iterator();
+        while (i.hasNext() && j.hasNext()) {
+            final int c = Integer.compare(i.next(), j.next());
+            if (c != 0)
+                return c;
+        }
+        return Boolean.compare(i.hasNext(), j.hasNext());
+    }
+}
@@ -0,0 +1,223 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+
+import java.util.Arrays;
+import java.util.SortedSet;
+
+/**
+ * An exact solver in the style of Horowitz and Sahni, for item counts
+ * beyond the horizon of {@link BruteForceAlgoImpl}.
+ * The items are split into two halves. The subsets of each half are
+ * enumerated into a list which is sorted by weight, and from which
+ * dominated subsets are removed: A subset is dominated if another subset
+ * is not heavier, and not cheaper. In the remaining list, both weights
+ * and prices are strictly increasing.
+ * <p>
+ * For each subset of the first half, the best matching subset of the
+ * second half is the heaviest one which still fits, since it is also the
+ * most expensive one. As the first list is swept upward in weight, the
+ * matching position in the second list only moves downward, so the two
+ * lists are combined by a two-pointer sweep.
+ * <p>
+ * The running time is O(2<sup>N/2</sup>), instead of O(2<sup>N</sup>), and
+ * the winner is the subset with maximum price, and then minimum weight.
+ */
+@Immutable
+public final class MeetInTheMiddleAlgoImpl extends AbstractFixedPointSolver {
+
+    public MeetInTheMiddleAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        return instance.labelsOf(mitmSolve(instance));
+    }
+
+    /**
+     * Solves the instance by combining the two halves.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A bitmask of the positions of the best items
+     */
+    static long mitmSolve(final FixedPointInstance instance) {
+        final int count = instance.size();
+        FixedPointBruteForceAlgoImpl.checkCount(count);
+
+        final long maxWeight = instance.getMaxWeight();
+        final ParetoList first = ParetoList.of(instance, 0, count / 2);
+        final ParetoList second = ParetoList.of(instance, count / 2, count);
+
+        long bestPrice = -1;
+        long bestWeight = 0;
+        long bestMask = 0;
+
+        int j = second.size() - 1;
+        for (int i = 0; i < first.size(); i++) {
+            final long weight = first.weights[i];
+            while (weight + second.weights[j] > maxWeight)
+                j--;
+            final long totalWeight = weight + second.weights[j];
+            final long totalPrice = first.prices[i] + second.prices[j];
+            if (totalPrice > bestPrice || (totalPrice == bestPrice && totalWeight < bestWeight)) {
+                bestPrice = totalPrice;
+                bestWeight = totalWeight;
+                bestMask = first.masks[i] | second.masks[j];
+            }
+        }
+
+        return bestMask;
+    }
+
+    /**
+     * A list of non-dominated subsets of a range of items, sorted by
+     * weight. Both weights and prices are strictly increasing, and the
+     * first element is always the empty subset. Subsets heavier than
+     * the maximum weight are never kept.
+     */
+    @Immutable
+    static final class ParetoList {
+        final long[] weights;
+        final long[] prices;
+        // Bit j is set if the item at position j of the instance is in the subset
+        final long[] masks;
+
+        private ParetoList(final long[] weights, final long[] prices, final long[] masks) {
+            this.weights = weights;
+            this.prices = prices;
+            this.masks = masks;
+        }
+
+        int size() {
+            return weights.length;
+        }
+
+        /**
+         * Builds the list for items {@code from, ..., to-1}.
+         * Items are added one at a time: The list of the next step is the
+         * merge of the current list, and the current list shifted by the
+         * weight and price of the new item. Dominated subsets are removed
+         * while merging. Dominance is preserved when the same item is added
+         * to two subsets, so a removed subset never becomes useful again.
+         *
+         * @param instance A fixed-point view of the problem instance
+         * @param from     The first position (inclusive)
+         * @param to       The last position (exclusive)
+         * @return The list of non-dominated subsets
+         */
+        static ParetoList of(final FixedPointInstance instance, final int from, final int to) {
+            final long maxWeight = instance.getMaxWeight();
+            long[] weights = {0};
+            long[] prices = {0};
+            long[] masks = {0};
+            int size = 1;
+
+            for (int k = from; k < to; k++) {
+                final long itemBit = 1L << k;
+                final Step step = Step.merge(weights, prices, size, instance.weight(k), instance.price(k), maxWeight);
+                final long[] nextMasks = new long[step.size];
+                for (int s = 0; s < step.size; s++) {
+                    final int origin = step.origins[s];
+                    nextMasks[s] = origin < 0 ? masks[-origin - 1] | itemBit : masks[origin];
+                }
+
+                weights = step.weights;
+                prices = step.prices;
+                masks = nextMasks;
+                size = step.size;
+            }
+
+            return new ParetoList(trim(weights, size), trim(prices, size), trim(masks, size));
+        }
+
+        private static long[] trim(final long[] array, final int size) {
+            return array.length == size ? array : Arrays.copyOf(array, size);
+        }
+
+        /**
+         * The list of the next step, when one item is added to a list: It is
+         * the merge of the current list, and the current list shifted by the
+         * weight and price of the item. Both {@link ParetoList#of} and
+         * {@link ParetoFrontierAlgoImpl} add items by this merge, so they
+         * break ties in the same way.
+         */
+        @Immutable
+        static final class Step {
+            // Only the first size elements of the arrays are used
+            final long[] weights;
+            final long[] prices;
+            /*
+             * The position in the current list of the origin of every state. It
+             * is negative, as -(position + 1), if the state takes the item.
+             */
+            final int[] origins;
+            final int size;
+
+            private Step(final long[] weights, final long[] prices, final int[] origins, final int size) {
+                this.weights = weights;
+                this.prices = prices;
+                this.origins = origins;
+                this.size = size;
+            }
+
+            /**
+             * @param weights    The weights of the current list
+             * @param prices     The prices of the current list
+             * @param size       The size of the current list
+             * @param itemWeight The weight of the added item
+             * @param itemPrice  The price of the added item
+             * @param maxWeight  The maximum weight of the package
+             * @return The list of the next step
+             */
+            static Step merge(final long[] weights, final long[] prices, final int size,
+                              final long itemWeight, final long itemPrice, final long maxWeight) {
+                final long[] nextWeights = new long[2 * size];
+                final long[] nextPrices = new long[2 * size];
+                final int[] origins = new int[2 * size];
+                int next = 0;
+                int a = 0;
+                int b = 0;
+
+                /*
+                 * a walks the current list (leaving the item), and b walks the
+                 * shifted list (taking the item). On equal weights, the more
+                 * expensive state is visited first, and on a complete tie
+                 * the one leaving the item is kept.
+                 */
+                while (a < size || (b < size && weights[b] + itemWeight <= maxWeight)) {
+                    final boolean shiftedFits = b < size && weights[b] + itemWeight <= maxWeight;
+                    final long w;
+                    final long p;
+                    final int origin;
+                    if (!shiftedFits || (a < size && (weights[a] < weights[b] + itemWeight
+                            || (weights[a] == weights[b] + itemWeight && prices[a] >= prices[b] + itemPrice)))) {
+                        w = weights[a];
+                        p = prices[a];
+                        origin = a;
+                        a++;
+                    } else {
+                        w = weights[b] + itemWeight;
+                        p = prices[b] + itemPrice;
+                        origin = -(b + 1);
+                        b++;
+                    }
+                    // Keep the state only if it is strictly more expensive than all lighter ones
+                    if (next == 0 || p > nextPrices[next - 1]) {
+                        nextWeights[next] = w;
+                        nextPrices[next] = p;
+                        origins[next] = origin;
+                        next++;
+                    }
+                }
+
+                return new Step(nextWeights, nextPrices, origins, next);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.Package;
+import net.jcip.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_PACKED_DP;
+
+/**
+ * Answers the same list of items under several maximum weights, with a
+ * single pass of dynamic programming.
+ * <p>
+ * In the table of {@link DynamicProgrammingAlgoImpl#packedDpSolve}, the
+ * entry for weight {@code w} is the best price within weight {@code w},
+ * whatever the maximum weight of the package. So the table is filled once,
+ * up to the largest maximum weight, and traversed backward once per maximum
+ * weight. The cost is O(N&middot;W) for the largest W, plus O(N) per
+ * query, and every package is the same as the one of a separate solve.
+ */
+@Immutable
+public final class MultiCapacitySolver {
+
+    private MultiCapacitySolver() {
+    }
+
+    /**
+     * Solves the items for every given maximum weight.
+     *
+     * @param items      List of items, with distinct labels
+     * @param maxWeights The maximum weights of the packages. Equal values,
+     *                   such as 10 and 10.0, denote the same query.
+     * @return A package for every maximum weight, sorted by maximum weight
+     * @throws IllegalArgumentException       If a maximum weight is negative.
+     * @throws eu.unite.challenge.exceptions.OutOfRangeProblemSizeException
+     *                                        If the largest scaled maximum weight
+     *                                        exceeds {@code MAX_INT_WEIGHT_FOR_PACKED_DP}.
+     */
+    public static SortedMap<BigDecimal, Package> solve(final List<Item> items,
+                                                       final Collection<BigDecimal> maxWeights) {
+        final SortedMap<BigDecimal, Package> packages = new TreeMap<>();
+        if (maxWeights.isEmpty())
+            return packages;
+
+        final BigDecimal largest = Collections.max(maxWeights);
+        if (Collections.min(maxWeights).signum() < 0)
+            throw new IllegalArgumentException("Maximum weights cannot be negative.");
+
+        // A scale which represents every weight, and every maximum weight, exactly
+        int weightScale = 0;
+        int priceScale = 0;
+        for (BigDecimal maxWeight : maxWeights)
+            weightScale = Math.max(weightScale, maxWeight.scale());
+        for (Item item : items) {
+            weightScale = Math.max(weightScale, item.getWeight().scale());
+            priceScale = Math.max(priceScale, item.getPrice().scale());
+        }
+
+        final FixedPointInstance sorted = new FixedPointInstance(largest,
+                items.stream()
+                        .flatMap(item -> item.pieces().stream())
+                        .sorted(ItemComparators.priceWeight.reversed())
+                        .collect(Collectors.toUnmodifiableList()),
+                weightScale, priceScale);
+        DynamicProgrammingAlgoImpl.checkMaxWeight(sorted.getMaxWeight(), MAX_INT_WEIGHT_FOR_PACKED_DP);
+        final int width = (int) sorted.getMaxWeight() + 1;
+        final long[] keep = DynamicProgrammingAlgoImpl.packedTable(sorted);
+
+        final Map<Integer, Item> map = items.stream()
+                .collect(Collectors.toMap(Item::getNumber, Function.identity()));
+        for (BigDecimal maxWeight : maxWeights) {
+            final int intMaxWeight = (int) FixedPointInstance.toLong(maxWeight, weightScale);
+            packages.putIfAbsent(maxWeight, new Package(map,
+                    DynamicProgrammingAlgoImpl.findIncluded(intMaxWeight, width, sorted, keep)));
+        }
+        return packages;
+    }
+}
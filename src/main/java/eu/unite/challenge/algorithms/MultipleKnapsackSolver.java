@@ -0,0 +1,385 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.Package;
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static eu.unite.challenge.validations.ConstraintRules.MAX_ITEMS_FOR_EXACT_MKP;
+
+/**
+ * Packs one pool of items into several packages, each with its own maximum
+ * weight. Every item goes to at most one package, and the total price of all
+ * packages is maximal. Solving the packages one after the other, and removing
+ * the used items in between, may miss this optimum.
+ * <p>
+ * Two modes are available:
+ * <ul>
+ *     <li>{@link Mode#EXACT}: A depth-first branch and bound, which assigns
+ *     the items in decreasing order of efficiency to each package, and then
+ *     leaves them out. Its bound is the surrogate relaxation: a single package
+ *     whose maximum weight is the sum of the remaining weights of all packages,
+ *     bounded by {@link DepthFirstBranchAndBoundAlgoImpl#computeBound}. Packages
+ *     with equal remaining weight are interchangeable, so only the first of
+ *     them is tried. The search starts with the solution of the greedy mode,
+ *     and stops as soon as its bound meets the incumbent.</li>
+ *     <li>{@link Mode#GREEDY}: Puts each item, in decreasing order of efficiency,
+ *     into the fullest package in which it fits. Then, it repairs the solution
+ *     until no move increases the total price: an unassigned item is inserted,
+ *     or replaces a cheaper item, or two items of different packages are
+ *     swapped to make room for an unassigned one.</li>
+ * </ul>
+ */
+@Immutable
+public final class MultipleKnapsackSolver {
+
+    public enum Mode {
+        EXACT,
+        GREEDY
+    }
+
+    private MultipleKnapsackSolver() {
+    }
+
+    /**
+     * Solves the items exactly, if they have at most {@code MAX_ITEMS_FOR_EXACT_MKP}
+     * pieces (see {@link Item#pieces()}), and with the greedy mode otherwise.
+     *
+     * @see #solve(List, List, Mode)
+     */
+    public static List<Package> solve(final List<Item> items, final List<BigDecimal> maxWeights) {
+        final int pieces = items.stream().mapToInt(item -> item.pieces().size()).sum();
+        return solve(items, maxWeights, pieces <= MAX_ITEMS_FOR_EXACT_MKP ? Mode.EXACT : Mode.GREEDY);
+    }
+
+    /**
+     * Assigns the items to packages.
+     *
+     * @param items      List of items, with distinct labels
+     * @param maxWeights The maximum weights of the packages
+     * @param mode       The algorithm
+     * @return A package for every maximum weight, in the order of {@code maxWeights}
+     * @throws IllegalArgumentException If a maximum weight is negative.
+     */
+    public static List<Package> solve(final List<Item> items, final List<BigDecimal> maxWeights,
+                                      final Mode mode) {
+        if (maxWeights.isEmpty())
+            return List.of();
+
+        // A scale which represents every weight, and every maximum weight, exactly
+        int weightScale = 0;
+        int priceScale = 0;
+        for (BigDecimal maxWeight : maxWeights)
+            weightScale = Math.max(weightScale, maxWeight.scale());
+        for (Item item : items) {
+            weightScale = Math.max(weightScale, item.getWeight().scale());
+            priceScale = Math.max(priceScale, item.getPrice().scale());
+        }
+
+        final FixedPointInstance instance = new FixedPointInstance(Collections.max(maxWeights),
+                items.stream()
+                        .flatMap(item -> item.pieces().stream())
+                        .collect(Collectors.toUnmodifiableList()),
+                weightScale, priceScale);
+        final long[] capacities = new long[maxWeights.size()];
+        for (int k = 0; k < capacities.length; k++)
+            capacities[k] = FixedPointInstance.toLong(maxWeights.get(k), weightScale);
+
+        final Map<Integer, Item> map = items.stream()
+                .collect(Collectors.toMap(Item::getNumber, Function.identity()));
+        return assign(instance, capacities, mode).stream()
+                .map(labels -> new Package(map, labels))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Assigns the items exactly, if there are at most {@code MAX_ITEMS_FOR_EXACT_MKP}
+     * of them, and with the greedy mode otherwise.
+     *
+     * @see #assign(FixedPointInstance, long[], Mode)
+     */
+    public static List<SortedSet<Integer>> assign(final FixedPointInstance instance, final long[] capacities) {
+        return assign(instance, capacities, instance.size() <= MAX_ITEMS_FOR_EXACT_MKP ? Mode.EXACT : Mode.GREEDY);
+    }
+
+    /**
+     * Assigns the items of a fixed-point view to packages. This allows pools
+     * which are larger than what a single line of the input file may hold.
+     *
+     * @param instance   A fixed-point view of the items; its maximum weight is ignored
+     * @param capacities The scaled maximum weights of the packages
+     * @param mode       The algorithm
+     * @return The labels of the items in every package, in the order of {@code capacities}
+     * @throws IllegalArgumentException If a maximum weight is negative.
+     */
+    public static List<SortedSet<Integer>> assign(final FixedPointInstance instance, final long[] capacities,
+                                                  final Mode mode) {
+        for (long capacity : capacities)
+            if (capacity < 0)
+                throw new IllegalArgumentException("Maximum weights cannot be negative.");
+
+        final FixedPointInstance sorted = instance.sorted(ItemComparators.efficiencyPrice(instance).reversed());
+        final int[] assignment = (mode == Mode.EXACT) ? exactSolve(sorted, capacities) : greedySolve(sorted, capacities);
+
+        final List<SortedSet<Integer>> labels = new ArrayList<>(capacities.length);
+        for (int k = 0; k < capacities.length; k++)
+            labels.add(new TreeSet<>());
+        for (int i = 0; i < assignment.length; i++)
+            if (assignment[i] >= 0)
+                labels.get(assignment[i]).add(sorted.label(i));
+        return labels;
+    }
+
+    /**
+     * Solves the instance by the greedy mode.
+     *
+     * @param sorted     A fixed-point view of the items, sorted in decreasing
+     *                   order of efficiency
+     * @param capacities The scaled maximum weights of the packages
+     * @return The package of every sorted item, or -1 if it is left out
+     */
+    static int[] greedySolve(final FixedPointInstance sorted, final long[] capacities) {
+        final Assignment assignment = new Assignment(sorted, capacities);
+        for (int i = 0; i < sorted.size(); i++)
+            assignment.insert(i);
+        assignment.repair();
+        return assignment.packageOf;
+    }
+
+    /**
+     * Solves the instance by the exact mode.
+     *
+     * @param sorted     A fixed-point view of the items, sorted in decreasing
+     *                   order of efficiency
+     * @param capacities The scaled maximum weights of the packages
+     * @return The package of every sorted item, or -1 if it is left out
+     */
+    static int[] exactSolve(final FixedPointInstance sorted, final long[] capacities) {
+        final Search search = new Search(sorted, capacities, greedySolve(sorted, capacities));
+        search.search(0, 0);
+        return search.best;
+    }
+
+    /**
+     * A feasible assignment of items to packages, which the greedy mode
+     * improves in place.
+     */
+    @NotThreadSafe
+    private static final class Assignment {
+        private final long[] weights;
+        private final long[] prices;
+        private final long[] remaining;
+        private final int[] packageOf;
+
+        Assignment(final FixedPointInstance sorted, final long[] capacities) {
+            weights = sorted.getWeights();
+            prices = sorted.getPrices();
+            remaining = capacities.clone();
+            packageOf = new int[sorted.size()];
+            Arrays.fill(packageOf, -1);
+        }
+
+        /**
+         * @return The fullest package with room for {@code weight}, or -1 if none.
+         */
+        private int bestFit(final long weight) {
+            int best = -1;
+            for (int k = 0; k < remaining.length; k++)
+                if (weight <= remaining[k] && (best < 0 || remaining[k] < remaining[best]))
+                    best = k;
+            return best;
+        }
+
+        private void move(final int i, final int k) {
+            if (packageOf[i] >= 0)
+                remaining[packageOf[i]] += weights[i];
+            if (k >= 0)
+                remaining[k] -= weights[i];
+            packageOf[i] = k;
+        }
+
+        /**
+         * Puts the unassigned item {@code i} into the fullest package with room for it.
+         *
+         * @return {@code true} if the item was assigned
+         */
+        boolean insert(final int i) {
+            final int k = bestFit(weights[i]);
+            if (k >= 0)
+                move(i, k);
+            return k >= 0;
+        }
+
+        /**
+         * Applies moves which increase the total price, until none is left.
+         * Since every move increases the price, this terminates.
+         */
+        void repair() {
+            boolean improved = true;
+            while (improved)
+                improved = insertAll() || exchange() || swap();
+        }
+
+        private boolean insertAll() {
+            boolean inserted = false;
+            for (int u = 0; u < packageOf.length; u++)
+                if (packageOf[u] < 0)
+                    inserted |= insert(u);
+            return inserted;
+        }
+
+        /**
+         * Replaces an assigned item by a more expensive unassigned one, if the
+         * latter fits in its place. The replaced item goes elsewhere if it fits.
+         */
+        private boolean exchange() {
+            for (int u = 0; u < packageOf.length; u++) {
+                if (packageOf[u] >= 0)
+                    continue;
+                for (int i = 0; i < packageOf.length; i++) {
+                    final int k = packageOf[i];
+                    if (k >= 0 && prices[i] < prices[u] && weights[u] <= remaining[k] + weights[i]) {
+                        move(i, -1);
+                        move(u, k);
+                        insert(i);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Swaps a heavier item of a package with a lighter one of another
+         * package, if the weight freed in the first package makes room for
+         * an unassigned item. The most expensive such item is inserted.
+         */
+        private boolean swap() {
+            long lightest = Long.MAX_VALUE;
+            for (int u = 0; u < packageOf.length; u++)
+                if (packageOf[u] < 0)
+                    lightest = Math.min(lightest, weights[u]);
+            if (lightest == Long.MAX_VALUE)
+                return false;
+
+            for (int i = 0; i < packageOf.length; i++) {
+                final int a = packageOf[i];
+                if (a < 0)
+                    continue;
+                for (int j = 0; j < packageOf.length; j++) {
+                    final int b = packageOf[j];
+                    if (b < 0 || b == a || weights[j] >= weights[i] || weights[i] > remaining[b] + weights[j])
+                        continue;
+                    final long freed = remaining[a] + weights[i] - weights[j];
+                    if (freed < lightest)
+                        continue;
+                    int best = -1;
+                    for (int u = 0; u < packageOf.length; u++)
+                        if (packageOf[u] < 0 && weights[u] <= freed && (best < 0 || prices[u] > prices[best]))
+                            best = u;
+                    move(i, -1);
+                    move(j, a);
+                    move(i, b);
+                    move(best, a);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The state of the depth-first search of the exact mode.
+     */
+    @NotThreadSafe
+    private static final class Search {
+        private final DepthFirstBranchAndBoundAlgoImpl.SortedItems items;
+        private final long[] remaining;
+        private final int[] packageOf;
+
+        // minWeight[i] is the lightest weight among items i, ..., N-1
+        private final long[] minWeight;
+
+        private int[] best;
+        private long bestPrice;
+
+        Search(final FixedPointInstance sorted, final long[] capacities, final int[] incumbent) {
+            items = new DepthFirstBranchAndBoundAlgoImpl.SortedItems(sorted);
+            remaining = new long[capacities.length];
+            for (int k = 0; k < capacities.length; k++)
+                remaining[k] = Math.min(capacities[k], sorted.getTotalWeight());
+            packageOf = new int[items.count];
+            Arrays.fill(packageOf, -1);
+            minWeight = new long[items.count + 1];
+            minWeight[items.count] = Long.MAX_VALUE;
+            for (int i = items.count - 1; i >= 0; i--)
+                minWeight[i] = Math.min(items.weights[i], minWeight[i + 1]);
+
+            best = incumbent;
+            for (int i = 0; i < incumbent.length; i++)
+                if (incumbent[i] >= 0)
+                    bestPrice += items.prices[i];
+        }
+
+        /**
+         * @return The sum of the remaining weights of the packages, which may
+         * still hold an item from {@code level} on, capped by the weight of
+         * these items
+         */
+        private long surrogateWeight(final int level) {
+            final long cap = items.prefixWeight[items.count] - items.prefixWeight[level];
+            long sum = 0;
+            for (long r : remaining)
+                if (r >= minWeight[level])
+                    sum = (r >= cap - sum) ? cap : sum + r;
+            return sum;
+        }
+
+        void search(final int level, final long price) {
+            if (price > bestPrice) {
+                // Items from level on are undecided, i.e. left out
+                bestPrice = price;
+                best = packageOf.clone();
+                Arrays.fill(best, level, best.length, -1);
+            }
+            if (level == items.count)
+                return;
+            final long bound = price + DepthFirstBranchAndBoundAlgoImpl.computeBound(level, surrogateWeight(level),
+                    items.weights, items.prices, items.prefixWeight, items.prefixPrice);
+            if (bound <= bestPrice)
+                return;
+
+            final long weight = items.weights[level];
+            for (int k = 0; k < remaining.length; k++) {
+                if (weight > remaining[k] || isTried(k))
+                    continue;
+                remaining[k] -= weight;
+                packageOf[level] = k;
+                search(level + 1, price + items.prices[level]);
+                remaining[k] += weight;
+            }
+            packageOf[level] = -1;
+            search(level + 1, price);
+        }
+
+        // Whether an earlier package has the same remaining weight as package k
+        private boolean isTried(final int k) {
+            for (int j = 0; j < k; j++)
+                if (remaining[j] == remaining[k])
+                    return true;
+            return false;
+        }
+    }
+}
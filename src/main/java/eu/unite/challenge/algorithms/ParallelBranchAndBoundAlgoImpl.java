@@ -0,0 +1,141 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.algorithms.DepthFirstBranchAndBoundAlgoImpl.SortedItems;
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+
+import java.util.SortedSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A parallel variant of {@link DepthFirstBranchAndBoundAlgoImpl}.
+ * The top levels of the search tree are split into {@link RecursiveAction}s,
+ * which are run by a {@link ForkJoinPool}, so that idle workers steal
+ * subtrees from busy ones. Below the split level, each task searches its
+ * subtree depth-first, exactly like the sequential solver.
+ * <p>
+ * All workers share a single {@link Incumbent}, which is updated without
+ * locks, so every worker prunes against the global best. Since the
+ * incumbent breaks complete ties deterministically, and no solution which
+ * may win is ever pruned, the result is identical to the sequential solver,
+ * no matter which worker finds it first.
+ */
+@Immutable
+public final class ParallelBranchAndBoundAlgoImpl extends AbstractProblemSolver {
+
+    // Number of extra levels to split, so that there are enough tasks to steal
+    static final int EXTRA_SPLIT_LEVELS = 4;
+
+    /**
+     * Uses the parallelism of the common pool.
+     *
+     * @param recordInstance An instance of the problem
+     */
+    public ParallelBranchAndBoundAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * @param recordInstance An instance of the problem
+     * @param parallelism    The number of worker threads
+     */
+    public ParallelBranchAndBoundAlgoImpl(final RecordInstance recordInstance, final int parallelism) {
+        super(recordInstance, r -> parallelSolve(r, parallelism));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final RecordInstance recordInstance) {
+        return parallelSolve(recordInstance, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    private static SortedSet<Integer> parallelSolve(final RecordInstance recordInstance, final int parallelism) {
+        final FixedPointInstance sorted = new FixedPointInstance(recordInstance,
+                ItemComparators.efficiencyPrice.reversed());
+        return sorted.labelsOf(parallelSolve(sorted, parallelism));
+    }
+
+    /**
+     * Solves the instance in parallel.
+     *
+     * @param sorted      A fixed-point view of the problem instance, sorted
+     *                    in decreasing order of efficiency
+     * @param parallelism The number of worker threads
+     * @return A bitset of the positions of the best items
+     * @throws IllegalArgumentException If {@code parallelism} is not positive
+     */
+    static long[] parallelSolve(final FixedPointInstance sorted, final int parallelism) {
+        final SortedItems items = new SortedItems(sorted);
+        final Incumbent incumbent = items.greedy();
+
+        // About 2^EXTRA_SPLIT_LEVELS tasks per worker
+        final int splitLevel = Math.min(items.count,
+                Integer.SIZE - Integer.numberOfLeadingZeros(parallelism) + EXTRA_SPLIT_LEVELS);
+
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SubtreeTask(items, splitLevel, incumbent, 0, 0, 0, new long[items.words]));
+        } finally {
+            pool.shutdown();
+        }
+        return incumbent.get().getBits();
+    }
+
+    /**
+     * A task searching the subtree of a node. Above the split level, it
+     * forks a task for each child; below it, it searches sequentially.
+     */
+    static final class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = -2981563140398251806L;
+
+        private final transient SortedItems items;
+        private final transient Incumbent incumbent;
+        private final int splitLevel;
+        private final int level;
+        private final long weight;
+        private final long price;
+        private final long[] path;
+
+        SubtreeTask(final SortedItems items, final int splitLevel, final Incumbent incumbent,
+                    final int level, final long weight, final long price, final long[] path) {
+            this.items = items;
+            this.splitLevel = splitLevel;
+            this.incumbent = incumbent;
+            this.level = level;
+            this.weight = weight;
+            this.price = price;
+            this.path = path;
+        }
+
+        @Override
+        protected void compute() {
+            if (level >= splitLevel) {
+                DepthFirstBranchAndBoundAlgoImpl.search(items, level, weight, price, path, incumbent);
+                return;
+            }
+            if (!items.isPromising(level, weight, price, incumbent.get()))
+                return;
+
+            final SubtreeTask leave = new SubtreeTask(items, splitLevel, incumbent,
+                    level + 1, weight, price, path.clone());
+
+            if (items.weights[level] > items.maxWeight - weight) {
+                leave.compute();
+                return;
+            }
+
+            final long[] takePath = path.clone();
+            takePath[level >>> 6] |= 1L << level;
+            final long takeWeight = weight + items.weights[level];
+            final long takePrice = price + items.prices[level];
+            incumbent.offer(takePrice, takeWeight, takePath);
+
+            invokeAll(new SubtreeTask(items, splitLevel, incumbent, level + 1, takeWeight, takePrice, takePath),
+                    leave);
+        }
+    }
+}
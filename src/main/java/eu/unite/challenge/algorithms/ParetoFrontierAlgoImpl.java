@@ -0,0 +1,94 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A sparse dynamic programming solver in the style of Nemhauser and Ullmann.
+ * Instead of a dense table over all weights 0, ..., W, it keeps, for every
+ * prefix of the items, only the list of non-dominated (weight, price) states:
+ * A state is dominated if another state is not heavier, and not cheaper.
+ * The list of the next prefix is the merge of the current list, and the
+ * current list shifted by the weight and price of the next item, by the
+ * same merge as {@link MeetInTheMiddleAlgoImpl.ParetoList}.
+ * <p>
+ * The cost is the total length of the lists, which does not depend on
+ * {@code getMaxWeightScale()}: Weights with many decimal places only make
+ * the {@code long} values larger, not the lists longer. It is never more
+ * than N&middot;(W+1), so it is at most as large as the dense table.
+ * <p>
+ * In the final list, both weights and prices are strictly increasing, and
+ * every price is kept with its lightest weight. So the last state is the
+ * subset with maximum price, and then minimum weight. Instead of a bitmask
+ * per state, each state keeps the position of its parent in the previous
+ * list, so any number of items can be solved.
+ */
+@Immutable
+public final class ParetoFrontierAlgoImpl extends AbstractFixedPointSolver {
+    private static final Logger logger = LoggerFactory.getLogger(ParetoFrontierAlgoImpl.class);
+
+    public ParetoFrontierAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        return paretoSolve(instance);
+    }
+
+    /**
+     * Builds the Pareto lists item by item, and traces the best state back
+     * through its parents.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A sorted set of labels corresponding to the best items
+     */
+    static SortedSet<Integer> paretoSolve(final FixedPointInstance instance) {
+        final int count = instance.size();
+        final long maxWeight = instance.getMaxWeight();
+
+        /*
+         * parents[k][s] is the position in list k of the parent of state s of
+         * list k+1. It is negative, as -(position + 1), if state s takes item k.
+         */
+        final int[][] parents = new int[count][];
+        long[] weights = {0};
+        long[] prices = {0};
+        int size = 1;
+        long totalSize = 1;
+
+        for (int k = 0; k < count; k++) {
+            final MeetInTheMiddleAlgoImpl.ParetoList.Step step = MeetInTheMiddleAlgoImpl.ParetoList.Step.merge(
+                    weights, prices, size, instance.weight(k), instance.price(k), maxWeight);
+            weights = step.weights;
+            prices = step.prices;
+            parents[k] = Arrays.copyOf(step.origins, step.size);
+            size = step.size;
+            totalSize += size;
+        }
+
+        logger.trace("{} items, {} states in total, {} in the final list", count, totalSize, size);
+
+        final SortedSet<Integer> labels = new TreeSet<>();
+        int state = size - 1;
+        for (int k = count - 1; k >= 0; k--) {
+            final int parent = parents[k][state];
+            if (parent < 0) {
+                labels.add(instance.label(k));
+                state = -parent - 1;
+            } else
+                state = parent;
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,203 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import lombok.Getter;
+import net.jcip.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces a problem instance before it is searched. Every
+ * {@link AbstractProblemSolver} runs its instance through
+ * {@link #reduce(RecordInstance)}, which
+ * <ol>
+ *     <li>Drops dominated items. An item is dominated by another one which
+ *     is not heavier, and not cheaper, and differs in weight or price.
+ *     Replacing an item by one which dominates it gives a strictly better
+ *     package, so an item can be dropped if it does not fit together with
+ *     all of its dominating items: Then, every package containing it misses
+ *     one of them, and is not optimal. On a line with a maximum volume, the
+ *     dominating item must not be larger either, and the items must fit in
+ *     both dimensions.</li>
+ *     <li>Returns all items at once, if they all fit.</li>
+ * </ol>
+ * Solvers which scale weights to integers also call
+ * {@link #normalize(FixedPointInstance)}, or {@link #weightUnit(RecordInstance)}:
+ * Weights are divided by their greatest common divisor, and the maximum
+ * weight is rounded down. For instance, the weights {0.25, 0.5, 1.75} have
+ * the unit 0.25, and the maximum weight 10.3 becomes 41, instead of 1030
+ * for the unit 10<sup>-2</sup>. This shrinks the width of the dynamic
+ * programming tables.
+ */
+@Immutable
+public final class Preprocessor {
+    private static final Logger logger = LoggerFactory.getLogger(Preprocessor.class);
+
+    private Preprocessor() {
+    }
+
+    /**
+     * Drops dominated items, and checks whether all remaining items fit.
+     *
+     * @param recordInstance An instance of the problem
+     * @return The reduced instance, and how much it was reduced
+     */
+    public static Reduction reduce(final RecordInstance recordInstance) {
+        final List<Item> items = recordInstance.getItems();
+        final List<Item> kept = new ArrayList<>(items.size());
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        BigDecimal totalVolume = BigDecimal.ZERO;
+        for (Item item : items)
+            if (!isDominated(item, items, recordInstance))
+                kept.add(item);
+        for (Item item : kept) {
+            totalWeight = totalWeight.add(units(item, Item::getWeight));
+            totalVolume = totalVolume.add(units(item, Item::getVolume));
+        }
+
+        final RecordInstance reduced = kept.size() == items.size() ? recordInstance : recordInstance.withItems(kept);
+        final Reduction reduction = new Reduction(reduced, items.size() - kept.size(),
+                fits(recordInstance, totalWeight, totalVolume), weightUnit(reduced),
+                BigDecimal.ONE.movePointLeft(recordInstance.getMaxWeightScale()));
+        logger.trace("{}", reduction);
+        return reduction;
+    }
+
+    /**
+     * @return {@code true} if the weight of {@code item}, together with all
+     * items which dominate it, exceeds the maximum weight, or their volume
+     * exceeds the maximum volume. Dominating items count with their whole
+     * quantity.
+     */
+    static boolean isDominated(final Item item, final List<Item> items, final RecordInstance recordInstance) {
+        BigDecimal weight = item.getWeight();
+        BigDecimal volume = item.getVolume();
+        for (Item other : items) {
+            final int lighter = other.getWeight().compareTo(item.getWeight());
+            final int cheaper = other.getPrice().compareTo(item.getPrice());
+            final int smaller = other.getVolume().compareTo(item.getVolume());
+            if (lighter <= 0 && cheaper >= 0 && smaller <= 0 && (lighter < 0 || cheaper > 0)) {
+                weight = weight.add(units(other, Item::getWeight));
+                volume = volume.add(units(other, Item::getVolume));
+                if (!fits(recordInstance, weight, volume))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    // The weight, or the volume, of all units of an item
+    private static BigDecimal units(final Item item, final Function<Item, BigDecimal> dimension) {
+        return dimension.apply(item).multiply(BigDecimal.valueOf(item.getQuantity()));
+    }
+
+    // Whether a weight and a volume are within the limits of the instance
+    private static boolean fits(final RecordInstance recordInstance, final BigDecimal weight,
+                                final BigDecimal volume) {
+        return weight.compareTo(recordInstance.getMaxWeight()) <= 0
+                && (!recordInstance.hasVolume() || volume.compareTo(recordInstance.getMaxVolume()) <= 0);
+    }
+
+    /**
+     * @param recordInstance An instance of the problem
+     * @return The greatest common divisor of the item weights, i.e. the
+     * largest unit in which all weights are integers; 1 if there are no items
+     */
+    public static BigDecimal weightUnit(final RecordInstance recordInstance) {
+        final int scale = recordInstance.getMaxWeightScale();
+        BigInteger gcd = BigInteger.ZERO;
+        for (Item item : recordInstance.getItems())
+            gcd = gcd.gcd(item.getWeight().movePointRight(scale).toBigIntegerExact());
+        return gcd.signum() == 0 ? BigDecimal.ONE : new BigDecimal(gcd, scale);
+    }
+
+    /**
+     * Divides the weights of a fixed-point view by their greatest common
+     * divisor g, and rounds the maximum weight down. Weights of the result
+     * are in units of g&middot;10<sup>-weightScale</sup>, and its subsets
+     * fit exactly when they fit in {@code instance}.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return The normalized view, with the same order and labels, or
+     * {@code instance} itself if g is 1
+     */
+    public static FixedPointInstance normalize(final FixedPointInstance instance) {
+        long gcd = 0;
+        for (int i = 0; i < instance.size() && gcd != 1; i++)
+            gcd = BigInteger.valueOf(gcd).gcd(BigInteger.valueOf(instance.weight(i))).longValue();
+        if (gcd <= 1)
+            return instance;
+
+        final long[] weights = instance.getWeights();
+        for (int i = 0; i < weights.length; i++)
+            weights[i] /= gcd;
+        final int[] labels = new int[instance.size()];
+        for (int i = 0; i < labels.length; i++)
+            labels[i] = instance.label(i);
+        return new FixedPointInstance(instance.getMaxWeight() / gcd, weights, instance.getPrices(), labels,
+                instance.getWeightScale(), instance.getPriceScale());
+    }
+
+    /**
+     * The result of {@link #reduce(RecordInstance)}.
+     */
+    @Immutable
+    @Getter
+    public static final class Reduction {
+        // The instance without the dominated items
+        private final RecordInstance instance;
+
+        // The number of dominated items which were dropped
+        private final int dominatedItems;
+
+        // Whether all remaining items fit, so that no search is needed
+        private final boolean allFit;
+
+        // The unit of weights after normalization, and before it
+        private final BigDecimal weightUnit;
+        private final BigDecimal decimalUnit;
+
+        Reduction(final RecordInstance instance, final int dominatedItems, final boolean allFit,
+                  final BigDecimal weightUnit, final BigDecimal decimalUnit) {
+            this.instance = instance;
+            this.dominatedItems = dominatedItems;
+            this.allFit = allFit;
+            this.weightUnit = weightUnit;
+            this.decimalUnit = decimalUnit;
+        }
+
+        /**
+         * @return The factor by which normalization shrinks the integer
+         * maximum weight, i.e. the width of a dynamic programming table
+         */
+        public BigDecimal getWidthReduction() {
+            return weightUnit.divide(decimalUnit).stripTrailingZeros();
+        }
+
+        /**
+         * @return The labels of all remaining items, or of all their pieces
+         */
+        SortedSet<Integer> allLabels() {
+            return instance.getPieces().stream()
+                    .map(Item::getNumber)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d dominated items dropped, all items fit: %b, weight unit %s (width / %s)",
+                    dominatedItems, allFit, weightUnit.toPlainString(), getWidthReduction().toPlainString());
+        }
+    }
+}
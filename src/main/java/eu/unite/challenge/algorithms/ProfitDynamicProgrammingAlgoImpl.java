@@ -0,0 +1,161 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import net.jcip.annotations.Immutable;
+
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_PRICE_FOR_DP;
+
+/**
+ * A dynamic programming solver which is indexed by price, instead of weight.
+ * The table keeps the minimum weight attainable for every total price, so
+ * its size is O(N*P), where P is the sum of the scaled prices. It does not
+ * depend on the number of digits of the weights at all.
+ * <p>
+ * This is the dual of {@link DynamicProgrammingAlgoImpl}: Prices are mostly
+ * whole numbers, while a single weight such as 12.3456 multiplies W by 10000,
+ * so instances which are out of range for that solver are usually small
+ * here. The solution is the largest price whose minimum weight still fits,
+ * so the winner is the subset with maximum price, and then minimum weight.
+ */
+@Immutable
+public final class ProfitDynamicProgrammingAlgoImpl extends AbstractFixedPointSolver {
+
+    // The weight of a price which is not attainable
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    public ProfitDynamicProgrammingAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final FixedPointInstance instance) {
+        return profitDpSolve(instance);
+    }
+
+    /**
+     * The table minWeight[i][p] keeps the minimum weight of a subset of items
+     * 1,...,i whose price is exactly p, or infinity if there is none.
+     * Initially, minWeight[0][0] = 0, and all other prices are infinite.
+     * Each element is computed by the following recursion:
+     * <pre>
+     * if p >= p_i:
+     *      minWeight[i][p] = min(minWeight[i-1][p], w_i + minWeight[i-1][p-p_i])
+     * else:
+     *      minWeight[i][p] = minWeight[i-1][p]
+     * </pre>
+     * As in {@link DynamicProgrammingAlgoImpl#packedDpSolve}, a single row is
+     * updated in place from the largest price downward, and the decisions are
+     * kept in a bitset, where the decision for item {@code i} (1-based) and
+     * price {@code p} is bit {@code (i-1)*(P+1) + p}. Weights above the
+     * maximum weight are never stored, so they cannot overflow.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @return A sorted set of labels corresponding to the best items
+     * @throws OutOfRangeProblemSizeException If P exceeds {@code MAX_INT_PRICE_FOR_DP}.
+     */
+    static SortedSet<Integer> profitDpSolve(final FixedPointInstance instance) {
+        return profitDpSolve(instance, MAX_INT_PRICE_FOR_DP);
+    }
+
+    /**
+     * See {@link #profitDpSolve(FixedPointInstance)}.
+     *
+     * @param instance A fixed-point view of the problem instance
+     * @param bound    The upper bound for P
+     * @return A sorted set of labels corresponding to the best items
+     * @throws OutOfRangeProblemSizeException If P exceeds {@code bound}.
+     */
+    static SortedSet<Integer> profitDpSolve(final FixedPointInstance instance, final int bound) {
+        final long maxWeight = instance.getMaxWeight();
+        final int count = instance.size();
+
+        // Items which do not fit on their own can never contribute to the price
+        long reachablePrice = 0;
+        for (int i = 0; i < count; i++)
+            if (instance.weight(i) <= maxWeight)
+                reachablePrice += instance.price(i);
+
+        checkMaxPrice(reachablePrice, bound);
+        final int intMaxPrice = (int) reachablePrice;
+        final int width = intMaxPrice + 1;
+
+        final long[] minWeight = new long[width];
+        Arrays.fill(minWeight, 1, width, UNREACHABLE);
+        final long[] keep = new long[DynamicProgrammingAlgoImpl.bitsetLength((long) count * width)];
+
+        for (int i = 0; i < count; i++) {
+            final long itemWeight = instance.weight(i);
+            if (itemWeight > maxWeight)
+                continue;
+            final int itemPrice = (int) instance.price(i);
+            final long offset = (long) i * width;
+            for (int p = intMaxPrice; p >= itemPrice; p--) {
+                final long previous = minWeight[p - itemPrice];
+                if (previous > maxWeight - itemWeight)
+                    continue;
+                final long take = previous + itemWeight;
+                if (take < minWeight[p]) {
+                    minWeight[p] = take;
+                    final long bit = offset + p;
+                    keep[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+        }
+
+        // The empty subset always fits, so price 0 is the last resort
+        int bestPrice = intMaxPrice;
+        while (minWeight[bestPrice] > maxWeight)
+            bestPrice--;
+
+        return findIncluded(bestPrice, width, instance, keep);
+    }
+
+    /**
+     * Check if the integer value of the total price exceeds the given bound.
+     *
+     * @param intMaxPrice The integer value of the total price.
+     * @param bound       The configured bound.
+     * @throws OutOfRangeProblemSizeException If the check fails.
+     */
+    static void checkMaxPrice(final long intMaxPrice, final int bound) {
+        final String description = "This means that the dynamic programming approach will use " +
+                "an unacceptable amount of CPU & memory.";
+
+        if (intMaxPrice > bound)
+            throw new OutOfRangeProblemSizeException(String.format("The integer total price %d exceeds the configured amount %d. %s",
+                    intMaxPrice, bound, description));
+    }
+
+    /**
+     * Traverses the bitset generated by {@link #profitDpSolve} backward,
+     * starting at the last item and the best price.
+     *
+     * @param price    The price of the solution, converted to integer.
+     * @param width    The number of prices in a row of the table.
+     * @param instance The fixed-point view of the items.
+     * @param keep     The bitset generated by the dynamic programming.
+     * @return The labels for the solution subset.
+     */
+    static SortedSet<Integer> findIncluded(final int price, final int width,
+                                           final FixedPointInstance instance, final long[] keep) {
+        int remainingPrice = price;
+        SortedSet<Integer> labels = new TreeSet<>();
+        for (int i = instance.size(); i >= 1; i--) {
+            final long bit = (long) (i - 1) * width + remainingPrice;
+            if ((keep[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                labels.add(instance.label(i - 1));
+                remainingPrice -= (int) instance.price(i - 1);
+            }
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,184 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A bounded cache of solutions, which is shared by all solvers of a file.
+ * <p>
+ * Two lines have the same solution if they have the same maximum weight,
+ * and the same multiset of (weight, price) pairs, whatever the order and
+ * the labels of their items. So the items of a line are first sorted into
+ * a canonical order, by weight and then price, and the key of the line is a
+ * fingerprint of the maximum weight and the canonical (weight, price) pairs.
+ * Quantities, and the volumes of a line with a maximum volume, are part of
+ * the fingerprint as well.
+ * Numbers are compared by value, so {@code 1.5} and {@code 1.50} are equal.
+ * A solution is stored as positions in the canonical order, and it is
+ * mapped back to the labels of the caller on every call. On a miss, the
+ * solver receives the items in canonical order, numbered by position, so
+ * the solution does not depend on which of the equivalent lines is solved
+ * first, even where the solver breaks ties by the order of the items.
+ * <p>
+ * When the cache is full, the least recently used entry is evicted. All
+ * methods may be called concurrently, e.g. from a parallel stream. Two
+ * threads which miss the same key at the same time both solve the line,
+ * and the cache keeps either solution.
+ */
+@ThreadSafe
+public final class SolutionCache {
+    private static final Logger logger = LoggerFactory.getLogger(SolutionCache.class);
+
+    // Items with the same weight, price, volume and quantity are equivalent, so the label only makes the order total
+    private static final Comparator<Item> CANONICAL_ORDER = Comparator.comparing(Item::getWeight)
+            .thenComparing(Item::getPrice)
+            .thenComparing(Item::getVolume)
+            .thenComparing(Item::getQuantity)
+            .thenComparing(Item::getNumber);
+
+    private final int capacity;
+
+    @GuardedBy("this")
+    private final Map<String, int[]> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param capacity The maximum number of cached solutions
+     * @throws IllegalArgumentException If {@code capacity} is not positive
+     */
+    public SolutionCache(final int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException(String.format("Capacity %d is not positive.", capacity));
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 6085237926853460216L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, int[]> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached solution of the instance, or solves it and caches
+     * the solution.
+     *
+     * @param recordInstance An instance of the problem
+     * @param solver         The function solving the instance on a miss
+     * @return A sorted set containing the labels of the items in the solution
+     */
+    public SortedSet<Integer> solve(final RecordInstance recordInstance,
+                                    final Function<RecordInstance, SortedSet<Integer>> solver) {
+        final List<Item> canonical = recordInstance.getItems().stream()
+                .sorted(CANONICAL_ORDER)
+                .collect(Collectors.toUnmodifiableList());
+        final String key = fingerprint(recordInstance, canonical);
+
+        final int[] cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+
+        if (cached != null) {
+            hits.incrementAndGet();
+            return labelsOf(cached, canonical);
+        }
+
+        misses.incrementAndGet();
+        final List<Item> relabelled = IntStream.range(0, canonical.size())
+                .mapToObj(i -> canonical.get(i).withNumber(i + 1))
+                .collect(Collectors.toList());
+        final int[] positions = solver.apply(recordInstance.withItems(relabelled)).stream()
+                .mapToInt(label -> Item.pieceLabel(Item.numberOf(label) - 1, Item.pieceOf(label)))
+                .toArray();
+
+        synchronized (this) {
+            entries.put(key, positions);
+        }
+        final SortedSet<Integer> labels = labelsOf(positions, canonical);
+        logger.trace("Cached {} -> {}", key, labels);
+        return labels;
+    }
+
+    /*
+     * Labels of pieces (see Item#pieces()) are kept as pieces of positions,
+     * i.e. with the position in place of the item number.
+     */
+    private static SortedSet<Integer> labelsOf(final int[] positions, final List<Item> canonical) {
+        final SortedSet<Integer> labels = new TreeSet<>();
+        for (int position : positions)
+            labels.add(Item.pieceLabel(canonical.get(Item.numberOf(position)).getNumber(), Item.pieceOf(position)));
+        return labels;
+    }
+
+    /**
+     * @return A key which is equal for lines with the same maximum weight
+     * and the same canonical (weight, price) pairs, and quantities. On a line
+     * with a maximum volume, the maximum volume and the volumes are added.
+     */
+    static String fingerprint(final RecordInstance recordInstance, final List<Item> canonical) {
+        final StringBuilder sb = new StringBuilder(plain(recordInstance.getMaxWeight()));
+        if (recordInstance.hasVolume())
+            sb.append(',').append(plain(recordInstance.getMaxVolume()));
+        sb.append(':');
+        for (Item item : canonical) {
+            sb.append('(').append(plain(item.getWeight())).append(',').append(plain(item.getPrice()));
+            if (recordInstance.hasVolume())
+                sb.append(',').append(plain(item.getVolume()));
+            if (item.getQuantity() > 1)
+                sb.append(',').append(item.getQuantity());
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    private static String plain(final BigDecimal num) {
+        return num.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * @return The number of calls which were answered from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of calls which had to solve the instance
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of cached solutions
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SolutionCache(size=%d, capacity=%d, hits=%d, misses=%d)",
+                size(), capacity, getHits(), getMisses());
+    }
+}
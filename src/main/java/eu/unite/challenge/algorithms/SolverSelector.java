@@ -0,0 +1,242 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import lombok.Getter;
+import net.jcip.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_PRICE_FOR_DP;
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_MAPPED_DP;
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_PACKED_DP;
+
+/**
+ * Dispatches each problem instance to the exact solver which is expected
+ * to be the cheapest. The cost of every {@link Strategy} is estimated from
+ * the number of items N, the scaled maximum weight W (which grows with
+ * {@code getMaxWeightScale()}), the sum of the scaled prices P, and the
+ * spread of item efficiencies:
+ * <ul>
+ *     <li>Brute force visits 2<sup>N</sup> subsets.</li>
+ *     <li>Meet in the middle builds two lists of up to 2<sup>N/2</sup> subsets.</li>
+ *     <li>The dynamic programming solvers fill N&middot;W, or N&middot;P cells.</li>
+ *     <li>The Pareto frontier solver keeps, after k items, at most
+ *         min(2<sup>k</sup>, W+1, P+1) states.</li>
+ *     <li>Branch and bound sorts N items, and visits about
+ *         N&middot;2<sup>N/(1 + log<sub>2</sub> spread)</sup> nodes, where spread
+ *         is the ratio of the largest to the smallest efficiency: The more alike
+ *         the efficiencies, the weaker the fractional bound.</li>
+ * </ul>
+ * Estimates are in abstract operations, and only their relative order
+ * matters. Each {@link Decision} exposes the estimates together with the
+ * measured running time, so the model can be tuned against real traffic.
+ * <p>
+ * Strategies which are out of range for an instance are not considered.
+ * If the chosen solver still throws an {@link OutOfRangeProblemSizeException},
+ * the next cheapest one is tried. The {@code BigDecimal}
+ * {@link BranchAndBoundAlgoImpl} accepts every instance, so it is the last resort.
+ * <p>
+ * Lines with a maximum volume are only solved by {@link TwoDimensionalAlgoImpl},
+ * since all other strategies only check the weight.
+ */
+@Immutable
+public final class SolverSelector {
+    private static final Logger logger = LoggerFactory.getLogger(SolverSelector.class);
+
+    // The largest N for which enumerating 2^N subsets is considered at all
+    static final int MAX_ITEMS_FOR_BRUTE_FORCE = 30;
+
+    // How much slower BigDecimal arithmetic is than long arithmetic, per operation
+    static final double BIG_DECIMAL_FACTOR = 20;
+
+    // How much slower direct buffers and a temporary file are than heap arrays, per cell
+    static final double MAPPED_FACTOR = 4;
+
+    /**
+     * The exact solvers which can be selected.
+     */
+    public enum Strategy {
+        BRUTE_FORCE(r -> new BruteForceAlgoImpl(r, BruteForceAlgoImpl.Mode.GRAY_CODE)),
+        MEET_IN_THE_MIDDLE(MeetInTheMiddleAlgoImpl::new),
+        DYNAMIC_PROGRAMMING(r -> new DynamicProgrammingAlgoImpl(r, DynamicProgrammingAlgoImpl.Mode.PACKED)),
+        MAPPED_DYNAMIC_PROGRAMMING(r -> new DynamicProgrammingAlgoImpl(r, DynamicProgrammingAlgoImpl.Mode.MAPPED)),
+        PROFIT_DYNAMIC_PROGRAMMING(ProfitDynamicProgrammingAlgoImpl::new),
+        PARETO_FRONTIER(ParetoFrontierAlgoImpl::new),
+        DEPTH_FIRST_BRANCH_AND_BOUND(DepthFirstBranchAndBoundAlgoImpl::new),
+        BRANCH_AND_BOUND(BranchAndBoundAlgoImpl::new),
+        TWO_DIMENSIONAL(TwoDimensionalAlgoImpl::new);
+
+        private final Function<RecordInstance, AbstractProblemSolver> factory;
+
+        Strategy(final Function<RecordInstance, AbstractProblemSolver> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * @param recordInstance An instance of the problem
+         * @return The solver of this strategy, which has solved the instance
+         */
+        public AbstractProblemSolver solve(final RecordInstance recordInstance) {
+            return factory.apply(recordInstance);
+        }
+    }
+
+    private SolverSelector() {
+    }
+
+    /**
+     * Estimates the cost of every strategy which can solve the instance.
+     *
+     * @param recordInstance An instance of the problem
+     * @return The estimated cost of each strategy, in abstract operations.
+     * Strategies which are out of range are missing.
+     */
+    public static Map<Strategy, Double> estimate(final RecordInstance recordInstance) {
+        final Map<Strategy, Double> estimates = new EnumMap<>(Strategy.class);
+        final int count = recordInstance.getPieces().size();
+        final double sortCost = count * log2(count + 1.0);
+        final double bnbCost;
+
+        // The only strategy which checks the volume; its cost is that of brute force, in the worst case
+        if (recordInstance.hasVolume()) {
+            estimates.put(Strategy.TWO_DIMENSIONAL, Math.pow(2, count));
+            return estimates;
+        }
+
+        FixedPointInstance instance = null;
+        try {
+            instance = Preprocessor.normalize(new FixedPointInstance(recordInstance));
+        } catch (OutOfRangeProblemSizeException | ArithmeticException e) {
+            logger.debug("No fixed-point view: {}", e.getMessage());
+        }
+
+        if (instance == null) {
+            // Only the BigDecimal solver remains, and its cost does not matter
+            bnbCost = count * Math.pow(2, count);
+        } else {
+            final long maxWeight = instance.getMaxWeight();
+            double minEfficiency = Double.POSITIVE_INFINITY;
+            double maxEfficiency = 0;
+            long reachablePrice = 0;
+            for (int i = 0; i < count; i++) {
+                if (instance.weight(i) > maxWeight)
+                    continue;
+                final double efficiency = (double) instance.price(i) / instance.weight(i);
+                minEfficiency = Math.min(minEfficiency, efficiency);
+                maxEfficiency = Math.max(maxEfficiency, efficiency);
+                reachablePrice += instance.price(i);
+            }
+            final double spread = maxEfficiency > 0 ? maxEfficiency / minEfficiency : 1;
+            bnbCost = sortCost + count * Math.pow(2, count / (1 + log2(spread)));
+
+            if (count <= MAX_ITEMS_FOR_BRUTE_FORCE)
+                estimates.put(Strategy.BRUTE_FORCE, Math.pow(2, count));
+            if (count <= FixedPointBruteForceAlgoImpl.MAX_ITEMS)
+                estimates.put(Strategy.MEET_IN_THE_MIDDLE, count * Math.pow(2, count / 2.0));
+            if (maxWeight <= MAX_INT_WEIGHT_FOR_PACKED_DP)
+                estimates.put(Strategy.DYNAMIC_PROGRAMMING, sortCost + count * (maxWeight + 1.0));
+            if (maxWeight <= MAX_INT_WEIGHT_FOR_MAPPED_DP)
+                estimates.put(Strategy.MAPPED_DYNAMIC_PROGRAMMING, sortCost + MAPPED_FACTOR * count * (maxWeight + 1.0));
+            if (reachablePrice <= MAX_INT_PRICE_FOR_DP)
+                estimates.put(Strategy.PROFIT_DYNAMIC_PROGRAMMING, count * (reachablePrice + 1.0));
+            estimates.put(Strategy.PARETO_FRONTIER, paretoCost(count, maxWeight, reachablePrice));
+            estimates.put(Strategy.DEPTH_FIRST_BRANCH_AND_BOUND, bnbCost);
+        }
+        estimates.put(Strategy.BRANCH_AND_BOUND, BIG_DECIMAL_FACTOR * bnbCost);
+        return estimates;
+    }
+
+    /**
+     * Solves the instance with the cheapest strategy.
+     *
+     * @param recordInstance An instance of the problem
+     * @return The decision, which holds the solver and its costs
+     */
+    public static Decision solve(final RecordInstance recordInstance) {
+        final Map<Strategy, Double> estimates = estimate(recordInstance);
+        OutOfRangeProblemSizeException failure = null;
+
+        final List<Strategy> cheapestFirst = estimates.keySet().stream()
+                .sorted(Comparator.comparing(estimates::get))
+                .collect(Collectors.toUnmodifiableList());
+
+        for (Strategy strategy : cheapestFirst) {
+            try {
+                final long start = System.nanoTime();
+                final AbstractProblemSolver solver = strategy.solve(recordInstance);
+                final Decision decision = new Decision(strategy, estimates, solver, System.nanoTime() - start);
+                logger.debug("{}", decision);
+                return decision;
+            } catch (OutOfRangeProblemSizeException e) {
+                logger.debug("{} is out of range: {}", strategy, e.getMessage());
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * @return The sum over all items k of min(2<sup>k+1</sup>, W+1, P+1), i.e.
+     * an upper bound on the number of states of {@link ParetoFrontierAlgoImpl}.
+     */
+    static double paretoCost(final int count, final long maxWeight, final long reachablePrice) {
+        final double limit = Math.min(maxWeight, reachablePrice) + 1.0;
+        double cost = 0;
+        for (int k = 0; k < count; k++)
+            cost += Math.min(Math.pow(2, k + 1), limit);
+        return cost;
+    }
+
+    private static double log2(final double x) {
+        return Math.log(x) / Math.log(2);
+    }
+
+    /**
+     * The strategy chosen for an instance, together with its estimated
+     * and actual cost.
+     */
+    @Immutable
+    @Getter
+    public static final class Decision {
+        private final Strategy strategy;
+
+        // The estimated cost of every strategy which was considered
+        private final Map<Strategy, Double> estimates;
+
+        private final AbstractProblemSolver solver;
+
+        // The measured running time of the chosen solver, in nanoseconds
+        private final long actualNanos;
+
+        Decision(final Strategy strategy, final Map<Strategy, Double> estimates,
+                 final AbstractProblemSolver solver, final long actualNanos) {
+            this.strategy = strategy;
+            this.estimates = Collections.unmodifiableMap(new EnumMap<>(estimates));
+            this.solver = solver;
+            this.actualNanos = actualNanos;
+        }
+
+        /**
+         * @return The estimated cost of the chosen strategy, in abstract operations
+         */
+        public double getEstimatedCost() {
+            return estimates.get(strategy);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (estimated %.0f, actual %d ns): %s",
+                    strategy, getEstimatedCost(), actualNanos, solver);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import net.jcip.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static eu.unite.challenge.validations.ConstraintRules.MAX_ITEMS_FOR_2D_PARETO;
+import static eu.unite.challenge.validations.ConstraintRules.SCALE;
+
+/**
+ * An exact solver for lines with a maximum volume (see
+ * {@link RecordInstance#hasVolume()}), where a package must fit in both the
+ * maximum weight W and the maximum volume V. The winner is the subset with
+ * maximum price, then minimum weight, then minimum volume. Lines without a
+ * maximum volume are solved as well, as if V were unlimited.
+ * <p>
+ * Its {@link Mode#PARETO} mode is a sparse dynamic programming, as in
+ * {@link ParetoFrontierAlgoImpl}: For every prefix of the items, only the
+ * (weight, volume, price) states which are not dominated by another state,
+ * i.e. one which is not heavier, not larger, and not cheaper, are kept.
+ * <p>
+ * Its {@link Mode#BRANCH_AND_BOUND} mode searches depth-first, and bounds
+ * each node by a surrogate relaxation: For multipliers a, b &ge; 0, every
+ * package which fits satisfies a&middot;w + b&middot;v &le; a&middot;W +
+ * b&middot;V, so the fractional bound of this single constraint is a bound
+ * of the node. The bound is the least of the multipliers (1, 0), (0, 1),
+ * and (V, W), which weighs both dimensions relative to their limits.
+ * <p>
+ * Without a mode, instances with up to {@code MAX_ITEMS_FOR_2D_PARETO}
+ * pieces are solved by {@link Mode#PARETO}, and larger ones by
+ * {@link Mode#BRANCH_AND_BOUND}.
+ */
+@Immutable
+public final class TwoDimensionalAlgoImpl extends AbstractProblemSolver {
+    private static final Logger logger = LoggerFactory.getLogger(TwoDimensionalAlgoImpl.class);
+
+    /**
+     * The algorithm used for the instance.
+     */
+    public enum Mode {
+        // The sparse dynamic programming over non-dominated states
+        PARETO,
+        // The depth-first branch and bound with the surrogate bound
+        BRANCH_AND_BOUND
+    }
+
+    public TwoDimensionalAlgoImpl(final RecordInstance recordInstance) {
+        super(recordInstance);
+    }
+
+    /**
+     * @param recordInstance An instance of the problem
+     * @param mode           The algorithm used for the instance
+     */
+    public TwoDimensionalAlgoImpl(final RecordInstance recordInstance, final Mode mode) {
+        super(recordInstance, mode == Mode.PARETO
+                ? TwoDimensionalAlgoImpl::paretoSolve
+                : TwoDimensionalAlgoImpl::branchAndBoundSolve);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected SortedSet<Integer> solve(final RecordInstance recordInstance) {
+        return recordInstance.getPieces().size() <= MAX_ITEMS_FOR_2D_PARETO
+                ? paretoSolve(recordInstance)
+                : branchAndBoundSolve(recordInstance);
+    }
+
+    /**
+     * This solver checks the volume of every package.
+     */
+    @Override
+    boolean supportsVolume() {
+        return true;
+    }
+
+    /**
+     * Solves the instance by the sparse dynamic programming.
+     *
+     * @param recordInstance An instance of the problem
+     * @return A sorted set of labels corresponding to the best items
+     */
+    static SortedSet<Integer> paretoSolve(final RecordInstance recordInstance) {
+        final List<Item> pieces = recordInstance.getPieces();
+        final BigDecimal maxWeight = recordInstance.getMaxWeight();
+        final BigDecimal maxVolume = maxVolume(recordInstance);
+
+        List<State> states = List.of(new State());
+        for (Item piece : pieces) {
+            final List<State> merged = new ArrayList<>(states);
+            for (State state : states) {
+                final BigDecimal weight = state.weight.add(piece.getWeight());
+                final BigDecimal volume = state.volume.add(piece.getVolume());
+                if (weight.compareTo(maxWeight) <= 0 && volume.compareTo(maxVolume) <= 0)
+                    merged.add(new State(weight, volume, state.price.add(piece.getPrice()), piece, state));
+            }
+            states = nonDominated(merged);
+        }
+        logger.trace("{} pieces: {} non-dominated states", pieces.size(), states.size());
+
+        final State best = states.stream().max(State.priceWeightVolume).orElseThrow();
+        final SortedSet<Integer> labels = new TreeSet<>();
+        for (State state = best; state.piece != null; state = state.parent)
+            labels.add(state.piece.getNumber());
+        return labels;
+    }
+
+    /**
+     * Drops the states which are dominated by another one. States are visited
+     * by weight, then volume, then decreasing price, so the states which
+     * dominate a state come before it. The kept states are tracked as a
+     * staircase of volumes, whose prices increase with the volume: A state
+     * is dominated if a kept state with at most its volume is not cheaper.
+     * Of equal states, the first one is kept.
+     */
+    static List<State> nonDominated(final List<State> states) {
+        final List<State> sorted = states.stream()
+                .sorted(Comparator.<State, BigDecimal>comparing(s -> s.weight)
+                        .thenComparing(s -> s.volume)
+                        .thenComparing(s -> s.price, Comparator.reverseOrder()))
+                .collect(Collectors.toList());
+
+        final TreeMap<BigDecimal, BigDecimal> staircase = new TreeMap<>();
+        final List<State> kept = new ArrayList<>();
+        for (State state : sorted) {
+            final Map.Entry<BigDecimal, BigDecimal> below = staircase.floorEntry(state.volume);
+            if (below != null && below.getValue().compareTo(state.price) >= 0)
+                continue;
+            kept.add(state);
+            staircase.put(state.volume, state.price);
+            for (Map.Entry<BigDecimal, BigDecimal> above = staircase.higherEntry(state.volume);
+                 above != null && above.getValue().compareTo(state.price) <= 0;
+                 above = staircase.higherEntry(state.volume))
+                staircase.remove(above.getKey());
+        }
+        return kept;
+    }
+
+    /**
+     * Solves the instance by the depth-first branch and bound.
+     *
+     * @param recordInstance An instance of the problem
+     * @return A sorted set of labels corresponding to the best items
+     */
+    static SortedSet<Integer> branchAndBoundSolve(final RecordInstance recordInstance) {
+        final Search search = new Search(recordInstance);
+        search.search(0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        logger.trace("{} pieces: {} nodes", search.pieces.size(), search.nodes);
+        return search.bestLabels;
+    }
+
+    // The maximum volume of an instance; zero if it has none, since all volumes are zero then
+    private static BigDecimal maxVolume(final RecordInstance recordInstance) {
+        return recordInstance.hasVolume() ? recordInstance.getMaxVolume() : BigDecimal.ZERO;
+    }
+
+    /**
+     * A state of the dynamic programming, which points to its parent state,
+     * and to the piece which was added to it.
+     */
+    @Immutable
+    static final class State {
+        static final Comparator<State> priceWeightVolume =
+                Comparator.<State, BigDecimal>comparing(s -> s.price)
+                        .thenComparing(s -> s.weight, Comparator.reverseOrder())
+                        .thenComparing(s -> s.volume, Comparator.reverseOrder());
+
+        final BigDecimal weight;
+        final BigDecimal volume;
+        final BigDecimal price;
+        final Item piece;
+        final State parent;
+
+        State() {
+            this(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, null, null);
+        }
+
+        State(final BigDecimal weight, final BigDecimal volume, final BigDecimal price,
+              final Item piece, final State parent) {
+            this.weight = weight;
+            this.volume = volume;
+            this.price = price;
+            this.piece = piece;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * The depth-first search of {@link Mode#BRANCH_AND_BOUND}. Pieces are
+     * branched on in decreasing efficiency for the multipliers (V, W), and
+     * taking a piece is tried before leaving it.
+     */
+    static final class Search {
+        private final BigDecimal maxWeight;
+        private final BigDecimal maxVolume;
+        private final List<Item> pieces;
+        private final boolean[] taken;
+
+        // The multipliers (a, b) of weight and volume, and per multiplier, the
+        // surrogate weights of the pieces, and their positions sorted by efficiency
+        private final List<BigDecimal[]> multipliers = new ArrayList<>();
+        private final List<BigDecimal[]> surrogates = new ArrayList<>();
+        private final List<int[]> orders = new ArrayList<>();
+
+        private BigDecimal bestPrice = BigDecimal.ZERO;
+        private BigDecimal bestWeight = BigDecimal.ZERO;
+        private BigDecimal bestVolume = BigDecimal.ZERO;
+        private SortedSet<Integer> bestLabels = new TreeSet<>();
+
+        // The number of nodes visited
+        private long nodes;
+
+        Search(final RecordInstance recordInstance) {
+            maxWeight = recordInstance.getMaxWeight();
+            maxVolume = maxVolume(recordInstance);
+
+            // A line without a maximum volume only has the multiplier (1, 0)
+            if (recordInstance.hasVolume()) {
+                multipliers.add(new BigDecimal[]{maxVolume, maxWeight});
+                multipliers.add(new BigDecimal[]{BigDecimal.ONE, BigDecimal.ZERO});
+                multipliers.add(new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ONE});
+            } else
+                multipliers.add(new BigDecimal[]{BigDecimal.ONE, BigDecimal.ZERO});
+
+            /*
+             * All pieces fit on their own, so they have positive weights and
+             * volumes, and positive surrogate weights for every multiplier.
+             */
+            final List<Item> all = recordInstance.getPieces();
+            final int[] branchOrder = order(all, surrogates(all, multipliers.get(0)));
+            pieces = IntStream.of(branchOrder)
+                    .mapToObj(all::get)
+                    .collect(Collectors.toUnmodifiableList());
+            taken = new boolean[pieces.size()];
+
+            for (BigDecimal[] multiplier : multipliers) {
+                final BigDecimal[] weights = surrogates(pieces, multiplier);
+                surrogates.add(weights);
+                orders.add(order(pieces, weights));
+            }
+        }
+
+        /**
+         * Visits the node, whose pieces before {@code level} are decided.
+         */
+        void search(final int level, final BigDecimal weight, final BigDecimal volume, final BigDecimal price) {
+            nodes++;
+            final int cmp = price.compareTo(bestPrice);
+            if (cmp > 0 || (cmp == 0 && (weight.compareTo(bestWeight) < 0
+                    || (weight.compareTo(bestWeight) == 0 && volume.compareTo(bestVolume) < 0)))) {
+                bestPrice = price;
+                bestWeight = weight;
+                bestVolume = volume;
+                bestLabels = IntStream.range(0, level)
+                        .filter(i -> taken[i])
+                        .mapToObj(i -> pieces.get(i).getNumber())
+                        .collect(Collectors.toCollection(TreeSet::new));
+            }
+            if (level == pieces.size())
+                return;
+
+            /*
+             * Every piece has a positive weight, so a package below this node
+             * which has the best price, but is no heavier, is this node itself.
+             */
+            final int bound = price.add(bound(level, maxWeight.subtract(weight), maxVolume.subtract(volume)))
+                    .compareTo(bestPrice);
+            if (bound < 0 || (bound == 0 && weight.compareTo(bestWeight) >= 0))
+                return;
+
+            final Item piece = pieces.get(level);
+            final BigDecimal takenWeight = weight.add(piece.getWeight());
+            final BigDecimal takenVolume = volume.add(piece.getVolume());
+            if (takenWeight.compareTo(maxWeight) <= 0 && takenVolume.compareTo(maxVolume) <= 0) {
+                taken[level] = true;
+                search(level + 1, takenWeight, takenVolume, price.add(piece.getPrice()));
+                taken[level] = false;
+            }
+            search(level + 1, weight, volume, price);
+        }
+
+        /**
+         * @return The least surrogate bound of the pieces from {@code level} on,
+         * in the remaining weight and volume
+         */
+        BigDecimal bound(final int level, final BigDecimal remainingWeight, final BigDecimal remainingVolume) {
+            BigDecimal bound = null;
+            for (int k = 0; k < multipliers.size(); k++) {
+                final BigDecimal value = fractionalBound(level, surrogates.get(k), orders.get(k),
+                        surrogate(multipliers.get(k), remainingWeight, remainingVolume));
+                if (bound == null || value.compareTo(bound) < 0)
+                    bound = value;
+            }
+            return bound;
+        }
+
+        /**
+         * The fractional bound of a single constraint, with the given
+         * surrogate weights and capacity. The fraction of the break piece
+         * is rounded up, so that the bound is never too small.
+         */
+        private BigDecimal fractionalBound(final int level, final BigDecimal[] weights, final int[] order,
+                                           final BigDecimal capacity) {
+            BigDecimal bound = BigDecimal.ZERO;
+            BigDecimal left = capacity;
+            for (int i : order) {
+                if (i < level)
+                    continue;
+                if (weights[i].compareTo(left) > 0)
+                    return bound.add(pieces.get(i).getPrice().multiply(left)
+                            .divide(weights[i], SCALE, RoundingMode.CEILING));
+                left = left.subtract(weights[i]);
+                bound = bound.add(pieces.get(i).getPrice());
+            }
+            return bound;
+        }
+
+        // a * weight + b * volume
+        private static BigDecimal surrogate(final BigDecimal[] multiplier, final BigDecimal weight,
+                                            final BigDecimal volume) {
+            return multiplier[0].multiply(weight).add(multiplier[1].multiply(volume));
+        }
+
+        private static BigDecimal[] surrogates(final List<Item> pieces, final BigDecimal[] multiplier) {
+            return pieces.stream()
+                    .map(piece -> surrogate(multiplier, piece.getWeight(), piece.getVolume()))
+                    .toArray(BigDecimal[]::new);
+        }
+
+        /**
+         * @return The positions of {@code pieces} in decreasing efficiency for the
+         * surrogate {@code weights}, comparing p<sub>i</sub>&middot;s<sub>j</sub>
+         * with p<sub>j</sub>&middot;s<sub>i</sub>, and then decreasing price
+         */
+        private static int[] order(final List<Item> pieces, final BigDecimal[] weights) {
+            final Comparator<Integer> efficiency = (i, j) -> pieces.get(i).getPrice().multiply(weights[j])
+                    .compareTo(pieces.get(j).getPrice().multiply(weights[i]));
+            return IntStream.range(0, pieces.size()).boxed()
+                    .sorted(efficiency.thenComparing(i -> pieces.get(i).getPrice()).reversed())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+}
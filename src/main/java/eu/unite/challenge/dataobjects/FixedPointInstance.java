@@ -0,0 +1,309 @@
+package eu.unite.challenge.dataobjects;
+
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import lombok.Getter;
+import net.jcip.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A fixed-point view of a problem instance. All weights are multiplied
+ * by 10<sup>weightScale</sup>, and all prices by 10<sup>priceScale</sup>,
+ * so that they become exact {@code long} values. Comparing and adding the
+ * scaled values gives exactly the same results as comparing and adding
+ * the original {@code BigDecimal} values, but without any allocation.
+ * <p>
+ * Example: for weights = {1.3, 8.95, 2}, weightScale = 2, and the scaled
+ * weights are {130, 895, 200}.
+ * <p>
+ * Items are kept in the order given to the constructor. Solvers which
+ * need a specific order (e.g. by efficiency) should pass a comparator,
+ * so that sorting happens once on {@link Item}s, and hot loops run on
+ * primitives only. Item {@code i} of the view is addressed by its
+ * position, and its label is given by {@link #label(int)}.
+ */
+@Immutable
+public final class FixedPointInstance {
+
+    @Getter
+    private final int weightScale;
+
+    @Getter
+    private final int priceScale;
+
+    // The maximum weight of the package, scaled by 10^weightScale
+    @Getter
+    private final long maxWeight;
+
+    // The sum of all scaled weights, and the sum of all scaled prices
+    @Getter
+    private final long totalWeight;
+    @Getter
+    private final long totalPrice;
+
+    private final long[] weights;
+    private final long[] prices;
+    private final int[] labels;
+
+    /**
+     * Creates a fixed-point view of the given problem instance, keeping
+     * the items in their original order. The scales are taken from
+     * {@link RecordInstance#getMaxWeightScale()} and
+     * {@link RecordInstance#getMaxPriceScale()}.
+     *
+     * @param recordInstance An instance of the problem
+     * @throws OutOfRangeProblemSizeException If the scaled values do not fit in a {@code long}.
+     */
+    public FixedPointInstance(final RecordInstance recordInstance) {
+        this(recordInstance, null);
+    }
+
+    /**
+     * Creates a fixed-point view of the given problem instance, where
+     * the items are sorted using {@code order}. Sorting is stable,
+     * so items which are equal w.r.t. {@code order} keep their
+     * original relative order. Items with a quantity are represented
+     * by their pieces (see {@link RecordInstance#getPieces()}).
+     *
+     * @param recordInstance An instance of the problem
+     * @param order          The order of items in the view, or {@code null}
+     *                       to keep the original order.
+     * @throws OutOfRangeProblemSizeException If the scaled values do not fit in a {@code long}.
+     */
+    public FixedPointInstance(final RecordInstance recordInstance, final Comparator<Item> order) {
+        this(recordInstance.getMaxWeight(), sort(recordInstance.getPieces(), order),
+                recordInstance.getMaxWeightScale(), recordInstance.getMaxPriceScale());
+    }
+
+    /**
+     * Creates a fixed-point view of the given items.
+     *
+     * @param maxWeight   The maximum weight of the package
+     * @param items       List of items
+     * @param weightScale Number of digits after the decimal point, which are
+     *                    kept for weights. Must be at least the scale of
+     *                    {@code maxWeight} and of every item weight.
+     * @param priceScale  Number of digits after the decimal point, which are
+     *                    kept for prices. Must be at least the scale of
+     *                    every item price.
+     * @throws OutOfRangeProblemSizeException If the scaled values do not fit in a {@code long}.
+     * @throws ArithmeticException            If a scale is too small to represent a value exactly.
+     */
+    public FixedPointInstance(final BigDecimal maxWeight, final List<Item> items,
+                              final int weightScale, final int priceScale) {
+        this.weightScale = weightScale;
+        this.priceScale = priceScale;
+        this.maxWeight = toLong(maxWeight, weightScale);
+
+        final int count = items.size();
+        weights = new long[count];
+        prices = new long[count];
+        labels = new int[count];
+
+        long sumWeight = 0;
+        long sumPrice = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                final Item item = items.get(i);
+                weights[i] = toLong(item.getWeight(), weightScale);
+                prices[i] = toLong(item.getPrice(), priceScale);
+                labels[i] = item.getNumber();
+                sumWeight = Math.addExact(sumWeight, weights[i]);
+                sumPrice = Math.addExact(sumPrice, prices[i]);
+            }
+        } catch (ArithmeticException e) {
+            throw new OutOfRangeProblemSizeException(String.format(
+                    "The scaled weights (scale %d) or prices (scale %d) do not fit in a long.",
+                    weightScale, priceScale));
+        }
+        totalWeight = sumWeight;
+        totalPrice = sumPrice;
+    }
+
+    /**
+     * Creates a fixed-point view from values which are already scaled.
+     * This allows instances which are larger than what a single line
+     * of the input file may hold.
+     *
+     * @param maxWeight   The scaled maximum weight of the package
+     * @param weights     The scaled weights of the items
+     * @param prices      The scaled prices of the items
+     * @param labels      The labels of the items
+     * @param weightScale Number of digits after the decimal point, kept for weights
+     * @param priceScale  Number of digits after the decimal point, kept for prices
+     * @throws IllegalArgumentException       If the arrays have different lengths,
+     *                                        or a weight or price is not positive.
+     * @throws OutOfRangeProblemSizeException If the sums do not fit in a {@code long}.
+     */
+    public FixedPointInstance(final long maxWeight, final long[] weights, final long[] prices, final int[] labels,
+                              final int weightScale, final int priceScale) {
+        if (weights.length != prices.length || weights.length != labels.length)
+            throw new IllegalArgumentException("Weights, prices and labels must have the same length.");
+
+        this.weightScale = weightScale;
+        this.priceScale = priceScale;
+        this.maxWeight = maxWeight;
+        this.weights = weights.clone();
+        this.prices = prices.clone();
+        this.labels = labels.clone();
+
+        long sumWeight = 0;
+        long sumPrice = 0;
+        try {
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] <= 0 || prices[i] <= 0)
+                    throw new IllegalArgumentException("Weights and prices must be positive.");
+                sumWeight = Math.addExact(sumWeight, weights[i]);
+                sumPrice = Math.addExact(sumPrice, prices[i]);
+            }
+        } catch (ArithmeticException e) {
+            throw new OutOfRangeProblemSizeException(String.format(
+                    "The scaled weights (scale %d) or prices (scale %d) do not fit in a long.",
+                    weightScale, priceScale));
+        }
+        totalWeight = sumWeight;
+        totalPrice = sumPrice;
+    }
+
+    /**
+     * Converts the real number {@code num} to long, by moving its
+     * decimal point {@code scale} digits to the right.
+     *
+     * @param num   The number to be converted to long.
+     * @param scale The number of digits to move the decimal point.
+     * @return The long value of {@code num * 10^scale}.
+     * @throws ArithmeticException if {@code num * 10^scale} has a nonzero
+     *                             fractional part, or will not fit in a {@code long}.
+     */
+    public static long toLong(final BigDecimal num, final int scale) {
+        return num.movePointRight(scale).longValueExact();
+    }
+
+    /**
+     * @return The number of items in this view.
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * @param i The position of an item in this view
+     * @return The scaled weight of the item
+     */
+    public long weight(final int i) {
+        return weights[i];
+    }
+
+    /**
+     * @param i The position of an item in this view
+     * @return The scaled price of the item
+     */
+    public long price(final int i) {
+        return prices[i];
+    }
+
+    /**
+     * @param i The position of an item in this view
+     * @return The label (number) of the item
+     */
+    public int label(final int i) {
+        return labels[i];
+    }
+
+    /**
+     * @return A copy of the scaled weights, in the order of this view.
+     */
+    public long[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * @return A copy of the scaled prices, in the order of this view.
+     */
+    public long[] getPrices() {
+        return prices.clone();
+    }
+
+    /**
+     * Creates a view of the same items, sorted by {@code order}.
+     * Sorting is stable.
+     *
+     * @param order A comparator of positions in this view
+     * @return A new view, where position {@code i} holds the ith smallest item
+     */
+    public FixedPointInstance sorted(final Comparator<Integer> order) {
+        final int[] positions = IntStream.range(0, size()).boxed()
+                .sorted(order)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return new FixedPointInstance(maxWeight,
+                Arrays.stream(positions).mapToLong(i -> weights[i]).toArray(),
+                Arrays.stream(positions).mapToLong(i -> prices[i]).toArray(),
+                Arrays.stream(positions).map(i -> labels[i]).toArray(),
+                weightScale, priceScale);
+    }
+
+    /**
+     * Decodes a subset of positions, given as a bitmask, into item labels.
+     * Bit {@code j} of {@code mask} denotes the item at position {@code j}.
+     *
+     * @param mask A bitmask of positions; only the first 63 positions can be addressed.
+     * @return A sorted set containing the labels of the selected items
+     */
+    public SortedSet<Integer> labelsOf(final long mask) {
+        final SortedSet<Integer> result = new TreeSet<>();
+        for (long m = mask; m != 0; m &= m - 1)
+            result.add(labels[Long.numberOfTrailingZeros(m)]);
+        return result;
+    }
+
+    /**
+     * Decodes a subset of positions, given as a bitset, into item labels.
+     * Bit {@code j % 64} of {@code bits[j / 64]} denotes the item at position {@code j}.
+     *
+     * @param bits A bitset of positions
+     * @return A sorted set containing the labels of the selected items
+     */
+    public SortedSet<Integer> labelsOf(final long[] bits) {
+        final SortedSet<Integer> result = new TreeSet<>();
+        for (int word = 0; word < bits.length; word++)
+            for (long m = bits[word]; m != 0; m &= m - 1)
+                result.add(labels[word * Long.SIZE + Long.numberOfTrailingZeros(m)]);
+        return result;
+    }
+
+    /**
+     * Converts a scaled price back to a {@code BigDecimal}.
+     *
+     * @param scaledPrice A price, scaled by 10<sup>priceScale</sup>
+     * @return The real value of the price
+     */
+    public BigDecimal toPrice(final long scaledPrice) {
+        return BigDecimal.valueOf(scaledPrice, priceScale);
+    }
+
+    /**
+     * Converts a scaled weight back to a {@code BigDecimal}.
+     *
+     * @param scaledWeight A weight, scaled by 10<sup>weightScale</sup>
+     * @return The real value of the weight
+     */
+    public BigDecimal toWeight(final long scaledWeight) {
+        return BigDecimal.valueOf(scaledWeight, weightScale);
+    }
+
+    private static List<Item> sort(final List<Item> items, final Comparator<Item> order) {
+        if (order == null)
+            return items;
+        return items.stream()
+                .sorted(order)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
@@ -7,24 +7,45 @@ import net.jcip.annotations.Immutable;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import static eu.unite.challenge.validations.ConstraintRules.*;
-import static eu.unite.challenge.validations.RegexPatternsValidator.*;
 
 /**
  * This class parses triples "n,w,p",
  * and stores them as the three fields number, weight, and price. <p>
  * It also computes efficiency = p/w.
+ * <p>
+ * A triple may be followed by a quantity q, as in "n,w,p,q": The item is
+ * then available q times. Instead of q copies, solvers see the binary
+ * pieces of the item (see {@link #pieces()}), whose quantities are 1, 2,
+ * 4, ..., and the rest, so that every quantity from 0 to q is a sum of
+ * distinct pieces. A quantity of 1000 costs 10 pieces instead of 1000
+ * items. The label of piece j of item n is n + j&middot;PIECE_STRIDE, so
+ * piece 0 of every item has the label of the item itself.
+ * <p>
+ * On a line with a maximum volume (see {@link RecordInstance#hasVolume()}),
+ * the triple is followed by a volume v, and then by the optional quantity,
+ * as in "n,w,p,v" or "n,w,p,v,q". Items of other lines have a volume of zero.
  */
 @Getter
 @Immutable
 public final class Item implements Serializable {
     private static final long serialVersionUID = -4534989690893969984L;
 
+    // Labels of items are below this stride, see pieceLabel()
+    public static final int PIECE_STRIDE = MAX_ITEMS_PER_LINE + 1;
+
     private final int number;
     private final BigDecimal weight;
     private final BigDecimal price;
+    private final BigDecimal volume;
+    private final int quantity;
 
     private final transient BigDecimal efficiency;
 
@@ -39,51 +60,171 @@ public final class Item implements Serializable {
      * See {@link #checkRanges} for further details.
      */
     public Item(final int number, final BigDecimal weight, final BigDecimal price) throws ItemException {
+        this(number, weight, price, 1);
+    }
+
+    /**
+     * @param number   Item's number n
+     * @param weight   Item's weight w
+     * @param price    Item's price p
+     * @param quantity How many times the item is available
+     * @throws ItemException If any of the items are out of bounds.
+     * See {@link #checkRanges} and {@link #checkQuantity} for further details.
+     */
+    public Item(final int number, final BigDecimal weight, final BigDecimal price, final int quantity)
+            throws ItemException {
+        this(number, weight, price, BigDecimal.ZERO, quantity);
+    }
+
+    /**
+     * @param number   Item's number n
+     * @param weight   Item's weight w
+     * @param price    Item's price p
+     * @param volume   Item's volume v, or zero if the line has no maximum volume
+     * @param quantity How many times the item is available
+     * @throws ItemException If any of the items are out of bounds.
+     * See {@link #checkRanges}, {@link #checkVolume} and {@link #checkQuantity} for further details.
+     */
+    public Item(final int number, final BigDecimal weight, final BigDecimal price, final BigDecimal volume,
+                final int quantity) throws ItemException {
         checkRanges(number, weight, price);
+        if (volume.signum() != 0)
+            checkVolume(number, volume);
+        checkQuantity(number, quantity);
         this.number = number;
         this.weight = weight;
         this.price = price;
+        this.volume = volume;
+        this.quantity = quantity;
         this.efficiency = computeEfficiency();
     }
 
+    /**
+     * Creates piece {@code piece} of {@code item}, which holds {@code size}
+     * units of it. Pieces are not checked against the ranges of items.
+     */
+    private Item(final Item item, final int piece, final int size) {
+        this.number = pieceLabel(item.number, piece);
+        this.weight = item.weight.multiply(BigDecimal.valueOf(size));
+        this.price = item.price.multiply(BigDecimal.valueOf(size));
+        this.volume = item.volume.multiply(BigDecimal.valueOf(size));
+        this.quantity = 1;
+        this.efficiency = item.efficiency;
+    }
+
+    /**
+     * Creates a copy of {@code item} with another number, which is
+     * not checked against the ranges of items.
+     */
+    private Item(final int number, final Item item) {
+        this.number = number;
+        this.weight = item.weight;
+        this.price = item.price;
+        this.volume = item.volume;
+        this.quantity = item.quantity;
+        this.efficiency = item.efficiency;
+    }
+
     /**
      * @param itemNo Item index, in the list of items (1-based)
-     * @param triple A string in format "n,w,€p" where
+     * @param triple A string in format "n,w,€p" or "n,w,€p,q" where
      *               n is the item number (must be identical to {@code itemNo}
      *               w is the item weight
      *               p is the item profit
+     *               q is the item quantity
      * @throws ItemException if {@code triple} is not in proper format
      */
     public Item(final int itemNo, final String triple) throws ItemException {
-        if (triple == null)
-            throw new ItemException(itemNo, "item cannot be null");
+        this(itemNo, triple, false);
+    }
+
+    /**
+     * @param itemNo     Item index, in the list of items (1-based)
+     * @param triple     A string in format "n,w,€p" or "n,w,€p,q", or if
+     *                   {@code withVolume}, "n,w,€p,v" or "n,w,€p,v,q" where
+     *                   v is the item volume
+     * @param withVolume Whether the line has a maximum volume
+     * @throws ItemException if {@code triple} is not in proper format
+     */
+    public Item(final int itemNo, final String triple, final boolean withVolume) throws ItemException {
+        this(itemNo, LineTokenizer.ofItem(itemNo, triple), withVolume);
+    }
 
-        String strippedTriple = triple.replaceAll("\\s+", "");
-        String[] subItems = strippedTriple.split(",");
-        if (subItems.length != 3)
-            throw new ItemException(itemNo,
-                    String.format("Expected 3 components, but received %d", subItems.length));
+    /**
+     * Parses the current item of {@code tokenizer}, see {@link #Item(int, String, boolean)}.
+     *
+     * @param itemNo     Item index, in the list of items (1-based)
+     * @param tokenizer  A tokenizer, positioned at the item
+     * @param withVolume Whether the line has a maximum volume
+     * @throws ItemException if the item is not in proper format, or its
+     *                       weight or price is out of bounds
+     */
+    Item(final int itemNo, final LineTokenizer tokenizer, final boolean withVolume) throws ItemException {
+        // The number of components without the quantity
+        final int required = withVolume ? 4 : 3;
+        final int components = tokenizer.components();
+        if (components != required && components != required + 1)
+            throw new ItemException(itemNo, String.format("Expected %d or %d components, but received %d",
+                    required, required + 1, components));
 
-        if (!LABEL_PATTERN.matcher(subItems[0]).matches())
+        final int labelFrom = tokenizer.itemFrom();
+        final int labelTo = tokenizer.componentEnd(labelFrom);
+        if (!tokenizer.isPositiveInteger(labelFrom, labelTo))
             throw new ItemException(itemNo, "Item number must be a positive integer");
 
-        if (!WEIGHT_PATTERN.matcher(subItems[1]).matches())
+        int from = labelTo + 1;
+        int to = tokenizer.componentEnd(from);
+        final BigDecimal w = tokenizer.decimal(from, to);
+        if (w == null)
             throw new ItemException(itemNo, "Item weight must be a number");
 
-        if (!PRICE_PATTERN.matcher(subItems[2]).matches())
+        from = to + 1;
+        to = tokenizer.componentEnd(from);
+        // skip the € sign
+        final BigDecimal p = tokenizer.startsWith('€', from, to) ? tokenizer.decimal(from + 1, to) : null;
+        if (p == null)
             throw new ItemException(itemNo, "Item price must be a number, preceded with €");
 
-        int num = Integer.parseInt(subItems[0]);
-        BigDecimal w = new BigDecimal(subItems[1]);
-        // use substring to discard the € sign
-        BigDecimal p = new BigDecimal(subItems[2].substring(1));
+        BigDecimal v = BigDecimal.ZERO;
+        if (withVolume) {
+            from = to + 1;
+            to = tokenizer.componentEnd(from);
+            v = tokenizer.decimal(from, to);
+            if (v == null)
+                throw new ItemException(itemNo, "Item volume must be a number");
+        }
+
+        final boolean hasQuantity = components == required + 1;
+        if (hasQuantity) {
+            from = to + 1;
+            to = tokenizer.componentEnd(from);
+            if (!tokenizer.isPositiveInteger(from, to))
+                throw new ItemException(itemNo, "Item quantity must be a positive integer");
+        }
 
+        int num = tokenizer.parseInt(labelFrom, labelTo);
         if (num != itemNo)
             throw new ItemException(itemNo, "Item number does not match its position");
 
+        /*
+         * The number of items of the line is checked by RecordInstance, once
+         * they are counted, so only the weight and the price are checked here.
+         */
+        checkWeightAndPrice(num, w, p);
+        if (withVolume)
+            checkVolume(num, v);
+
+        // A quantity with more digits than an int is out of range anyway
+        int q = 1;
+        if (hasQuantity)
+            q = to - from > 9 ? Integer.MAX_VALUE : tokenizer.parseInt(from, to);
+        checkQuantity(num, q);
+
         this.number = num;
         this.weight = w;
         this.price = p;
+        this.volume = v;
+        this.quantity = q;
         this.efficiency = computeEfficiency();
     }
 
@@ -112,6 +253,17 @@ public final class Item implements Serializable {
         if (number > MAX_ITEMS_PER_LINE)
             throw new ItemException(number, String.format("Item number = %d is greater than the maximum allowed %d",
                     number, MAX_ITEMS_PER_LINE));
+        checkWeightAndPrice(number, weight, price);
+    }
+
+    /**
+     * @param number Item's number n
+     * @param weight Item's weight w. Must be 0 < w <= MAX_ITEM_WEIGHT
+     * @param price  Item's price p. Must be 0 < p < MAX_ITEM_PRICE
+     * @throws ItemException If the weight or the price is out of bounds.
+     */
+    public static void checkWeightAndPrice(final int number, final BigDecimal weight, final BigDecimal price)
+            throws ItemException {
         if (weight.compareTo(BigDecimal.ZERO) <= 0)
             throw new ItemException(number, "Item weight must be positive");
         if (price.compareTo(BigDecimal.ZERO) <= 0)
@@ -124,8 +276,113 @@ public final class Item implements Serializable {
                     "Package price %s exceeds %s", weight.toPlainString(), MAX_ITEM_WEIGHT.toPlainString()));
     }
 
+    /**
+     * @param number Item's number n
+     * @param volume Item's volume. Must be 0 < volume <= MAX_ITEM_VOLUME
+     * @throws ItemException If the volume is out of bounds.
+     */
+    public static void checkVolume(final int number, final BigDecimal volume) throws ItemException {
+        if (volume.compareTo(BigDecimal.ZERO) <= 0)
+            throw new ItemException(number, "Item volume must be positive");
+        if (volume.compareTo(MAX_ITEM_VOLUME) > 0)
+            throw new ItemException(number, String.format(
+                    "Item volume %s exceeds %s", volume.toPlainString(), MAX_ITEM_VOLUME.toPlainString()));
+    }
+
+    /**
+     * @param number   Item's number n
+     * @param quantity Item's quantity. Must be 1<=quantity<=MAX_ITEM_QUANTITY
+     * @throws ItemException If the quantity is out of bounds.
+     */
+    public static void checkQuantity(final int number, final int quantity) throws ItemException {
+        if (quantity <= 0)
+            throw new ItemException(number, "Item quantity must be positive");
+        if (quantity > MAX_ITEM_QUANTITY)
+            throw new ItemException(number, String.format("Item quantity %d exceeds %d",
+                    quantity, MAX_ITEM_QUANTITY));
+    }
+
+    /**
+     * @param number The number of the copy
+     * @return A copy of this item with {@code number}
+     */
+    public Item withNumber(final int number) {
+        return new Item(number, this);
+    }
+
+    /**
+     * Splits the item into pieces of 1, 2, 4, ... units, and a last piece
+     * with the rest. E.g. a quantity of 10 gives the pieces 1, 2, 4, 3.
+     *
+     * @return The pieces of the item, or the item itself if its quantity is 1
+     */
+    public List<Item> pieces() {
+        if (quantity == 1)
+            return List.of(this);
+        final List<Item> pieces = new ArrayList<>();
+        for (int piece = 0, left = quantity; left > 0; piece++) {
+            final int size = pieceSize(piece);
+            pieces.add(new Item(this, piece, size));
+            left -= size;
+        }
+        return Collections.unmodifiableList(pieces);
+    }
+
+    /**
+     * Chooses pieces which add up to {@code count} units. The last piece,
+     * which holds the rest, is taken if it fits, and the remaining units
+     * are then a sum of distinct powers of two.
+     *
+     * @param count A number of units, from 0 to the quantity of the item
+     * @return The labels of the chosen pieces
+     */
+    public SortedSet<Integer> pieceLabels(final int count) {
+        final SortedSet<Integer> labels = new TreeSet<>();
+        final int pieces = pieces().size();
+        int left = count;
+        for (int piece = pieces - 1; piece >= 0 && left > 0; piece--)
+            if (pieceSize(piece) <= left) {
+                labels.add(pieceLabel(number, piece));
+                left -= pieceSize(piece);
+            }
+        return labels;
+    }
+
+    /**
+     * @param piece The index of a piece of this item
+     * @return The number of units in the piece
+     */
+    public int pieceSize(final int piece) {
+        final int full = (1 << piece) - 1;
+        return Math.min(1 << piece, quantity - full);
+    }
+
+    /**
+     * @return The label of piece {@code piece} of item {@code number}
+     */
+    public static int pieceLabel(final int number, final int piece) {
+        return number + piece * PIECE_STRIDE;
+    }
+
+    /**
+     * @return The number of the item, which a piece label belongs to
+     */
+    public static int numberOf(final int pieceLabel) {
+        return pieceLabel % PIECE_STRIDE;
+    }
+
+    /**
+     * @return The index of the piece, which a piece label denotes
+     */
+    public static int pieceOf(final int pieceLabel) {
+        return pieceLabel / PIECE_STRIDE;
+    }
+
     String tripleString() {
-        return String.format("%d, %s, €%s", number, weight.toPlainString(), price.toPlainString());
+        String triple = String.format("%d, %s, €%s", number, weight.toPlainString(), price.toPlainString());
+        if (volume.signum() != 0)
+            triple += ", " + volume.toPlainString();
+        return quantity == 1 ? triple : triple + ", " + quantity;
     }
 
     @Override
@@ -140,7 +397,9 @@ public final class Item implements Serializable {
         Item item = (Item) o;
         return number == item.number &&
                 weight.compareTo(item.weight) == 0 &&
-                price.compareTo(item.price) == 0;
+                price.compareTo(item.price) == 0 &&
+                volume.compareTo(item.volume) == 0 &&
+                quantity == item.quantity;
     }
 
     @Override
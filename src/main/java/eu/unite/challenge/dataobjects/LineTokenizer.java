@@ -0,0 +1,286 @@
+package eu.unite.challenge.dataobjects;
+
+import eu.unite.challenge.exceptions.ItemException;
+import eu.unite.challenge.exceptions.LineFormatException;
+import net.jcip.annotations.NotThreadSafe;
+
+import java.math.BigDecimal;
+
+/**
+ * A hand-written scanner for the lines of the input file, which accepts exactly
+ * the patterns of {@link eu.unite.challenge.validations.RegexPatternsValidator},
+ * and throws the same exceptions as splitting the line and matching those patterns.
+ * <p>
+ * The line is copied once without whitespace. Then the sections, the limits and
+ * the items are found by scanning that copy, and numbers are parsed from it
+ * directly, without creating substrings.
+ *
+ * @see RecordInstance
+ * @see Item
+ */
+@NotThreadSafe
+final class LineTokenizer {
+    // Numbers with at most this many digits fit into the unscaled long of a BigDecimal
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // Numbers with at most this many digits fit into an int
+    private static final int MAX_INT_DIGITS = 9;
+
+    private final char[] chars;
+    private final int length;
+
+    // Index of the last line terminator other than \n and \r, which "." does not match, or -1
+    private final int lastTerminator;
+
+    // Index of the ":" ending section[0], and the end of section[1]
+    private int colon;
+    private int end;
+
+    // Position of the next search for an item, and the bounds of the current item
+    private int position;
+    private int itemFrom;
+    private int itemTo;
+
+    private LineTokenizer(final CharSequence text) {
+        char[] stripped = new char[text.length()];
+        int n = 0;
+        int terminator = -1;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (isWhitespace(c))
+                continue;
+            if (isLineTerminator(c))
+                terminator = n;
+            stripped[n++] = c;
+        }
+        chars = stripped;
+        length = n;
+        lastTerminator = terminator;
+    }
+
+    /**
+     * Strips the line, and splits it into section[0] and section[1], as
+     * {@code line.replaceAll("\\s+", "").split(":")} does.
+     *
+     * @param lineNo Line number, used to give meaningful errors
+     * @param line   The line itself
+     * @return A tokenizer, positioned before the first item
+     * @throws LineFormatException If the line is not in a:b format
+     */
+    static LineTokenizer ofLine(final int lineNo, final String line) throws LineFormatException {
+        if (line == null) throw new LineFormatException(lineNo, "Line cannot be null");
+
+        final LineTokenizer tokenizer = new LineTokenizer(line);
+        if (tokenizer.length == 0) throw new LineFormatException(lineNo, "Line cannot be blank");
+
+        /*
+         * split() drops trailing empty sections, so "a:b:" is still a:b.
+         * Other than that, there must be exactly one ":", and b must not be empty.
+         */
+        final int colon = tokenizer.indexOf(':', 0, tokenizer.length);
+        final int next = colon < 0 ? -1 : tokenizer.indexOf(':', colon + 1, tokenizer.length);
+        final int end = next < 0 ? tokenizer.length : next;
+        if (colon < 0 || end == colon + 1 || !tokenizer.only(':', end, tokenizer.length))
+            throw new LineFormatException(lineNo, "The line is not in a:b format");
+
+        tokenizer.colon = colon;
+        tokenizer.end = end;
+        tokenizer.position = colon + 1;
+        return tokenizer;
+    }
+
+    /**
+     * @param itemNo Item index, used to give meaningful errors
+     * @param triple A string in the format of {@link Item#Item(int, String, boolean)}
+     * @return A tokenizer, whose current item is the whole stripped string
+     * @throws ItemException If {@code triple} is null
+     */
+    static LineTokenizer ofItem(final int itemNo, final String triple) throws ItemException {
+        if (triple == null)
+            throw new ItemException(itemNo, "item cannot be null");
+
+        final LineTokenizer tokenizer = new LineTokenizer(triple);
+        tokenizer.itemTo = tokenizer.length;
+        return tokenizer;
+    }
+
+    /**
+     * Splits section[0] into the maximum weight, and the optional maximum volume.
+     *
+     * @param lineNo Line number, used to give meaningful errors
+     * @return The maximum weight, followed by the maximum volume if present
+     * @throws LineFormatException If the limits are malformed
+     */
+    BigDecimal[] limits(final int lineNo) throws LineFormatException {
+        final int comma = indexOf(',', 0, colon);
+        if (comma >= 0 && indexOf(',', comma + 1, colon) >= 0)
+            throw new LineFormatException(lineNo, "Expected a maximum weight, and optionally a maximum volume");
+
+        final BigDecimal maxWeight = decimal(0, comma < 0 ? colon : comma);
+        if (maxWeight == null)
+            throw new LineFormatException(lineNo, "Maximum weight must be a positive number");
+        if (comma < 0)
+            return new BigDecimal[]{maxWeight};
+
+        final BigDecimal maxVolume = decimal(comma + 1, colon);
+        if (maxVolume == null)
+            throw new LineFormatException(lineNo, "Maximum volume must be a positive number");
+        return new BigDecimal[]{maxWeight, maxVolume};
+    }
+
+    /**
+     * Checks that section[1] is a sequence of parentheses, i.e. that it starts
+     * with "(", ends with ")", and has no line terminator.
+     *
+     * @param lineNo Line number, used to give meaningful errors
+     * @throws LineFormatException If the items are malformed
+     */
+    void checkItems(final int lineNo) throws LineFormatException {
+        if (end - colon - 1 < 2 || chars[colon + 1] != '(' || chars[end - 1] != ')' || lastTerminator > colon)
+            throw new LineFormatException(
+                    lineNo, "Items must be separated by matching pairs of parentheses");
+    }
+
+    /**
+     * Advances to the contents of the next pair of parentheses, i.e. from a "("
+     * to the first ")" after it. Anything between pairs is skipped.
+     *
+     * @return {@code false} if there are no more items
+     */
+    boolean nextItem() {
+        final int open = indexOf('(', position, end);
+        final int close = open < 0 ? -1 : indexOf(')', open + 1, end);
+        if (close < 0)
+            return false;
+        itemFrom = open + 1;
+        itemTo = close;
+        position = close + 1;
+        return true;
+    }
+
+    /**
+     * @return The number of components of the current item, as
+     * {@code item.split(",").length} counts them
+     */
+    int components() {
+        int last = itemTo;
+        while (last > itemFrom && chars[last - 1] == ',')
+            last--;
+        if (last == itemFrom)
+            return itemTo == itemFrom ? 1 : 0;
+
+        int count = 1;
+        for (int i = itemFrom; i < last; i++)
+            if (chars[i] == ',')
+                count++;
+        return count;
+    }
+
+    /**
+     * @return The start of the current item
+     */
+    int itemFrom() {
+        return itemFrom;
+    }
+
+    /**
+     * @return The end of the component of the current item starting at {@code from}
+     */
+    int componentEnd(final int from) {
+        final int comma = indexOf(',', from, itemTo);
+        return comma < 0 ? itemTo : comma;
+    }
+
+    /**
+     * @return {@code true} if the characters from {@code from} to {@code to}
+     * are a positive integer without leading zeros
+     */
+    boolean isPositiveInteger(final int from, final int to) {
+        if (from == to || chars[from] < '1' || chars[from] > '9')
+            return false;
+        for (int i = from + 1; i < to; i++)
+            if (!isDigit(chars[i]))
+                return false;
+        return true;
+    }
+
+    /**
+     * @return The positive integer from {@code from} to {@code to}, see {@link #isPositiveInteger}
+     * @throws NumberFormatException If it does not fit into an int
+     */
+    int parseInt(final int from, final int to) {
+        if (to - from > MAX_INT_DIGITS)
+            return Integer.parseInt(new String(chars, from, to - from));
+        int value = 0;
+        for (int i = from; i < to; i++)
+            value = value * 10 + chars[i] - '0';
+        return value;
+    }
+
+    /**
+     * @return {@code true} if the characters from {@code from} to {@code to} start with {@code c}
+     */
+    boolean startsWith(final char c, final int from, final int to) {
+        return from < to && chars[from] == c;
+    }
+
+    /**
+     * Parses a non-negative number, as in "12", "12.5" or ".5".
+     *
+     * @return The number from {@code from} to {@code to}, with as many
+     * decimals as written, or {@code null} if it is not a number
+     */
+    BigDecimal decimal(final int from, final int to) {
+        long unscaled = 0;
+        int digits = 0;
+        int i = from;
+        for (; i < to && isDigit(chars[i]); i++, digits++)
+            unscaled = unscaled * 10 + chars[i] - '0';
+
+        int scale = 0;
+        if (i < to && chars[i] == '.') {
+            final int point = ++i;
+            for (; i < to && isDigit(chars[i]); i++, digits++)
+                unscaled = unscaled * 10 + chars[i] - '0';
+            scale = i - point;
+            if (scale == 0)
+                return null;
+        } else if (digits == 0) {
+            return null;
+        }
+        if (i != to)
+            return null;
+
+        return digits <= MAX_LONG_DIGITS
+                ? BigDecimal.valueOf(unscaled, scale)
+                : new BigDecimal(chars, from, to - from);
+    }
+
+    private int indexOf(final char c, final int from, final int to) {
+        for (int i = from; i < to; i++)
+            if (chars[i] == c)
+                return i;
+        return -1;
+    }
+
+    private boolean only(final char c, final int from, final int to) {
+        for (int i = from; i < to; i++)
+            if (chars[i] != c)
+                return false;
+        return true;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Line terminators, other than \n and \r, which are whitespace
+    private static boolean isLineTerminator(final char c) {
+        return c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    // The characters of the regular expression \s
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -7,14 +7,21 @@ import org.springframework.lang.Nullable;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
  * This class receives map of labels-to-items (@code map), and a list of item labels
  * (@{code labels}). It creates a "package" of the corresponding items, and
- * computes the total weight and price of items in the package. It also computes
+ * computes the total weight, price and volume of items in the package. It also computes
  * {@code result} as the CSV version of {@code indices}.
+ * <p>
+ * Labels may also be labels of pieces (see {@link Item#pieces()}). The pieces
+ * of an item are added up to its quantity in the package, and an item which
+ * is taken more than once appears as "label x quantity" in {@code result},
+ * e.g. "1,3x4".
  */
 @Immutable
 @Getter
@@ -29,6 +36,12 @@ public final class Package {
     // A sorted set of indices in the bag
     private final SortedSet<Integer> indices;
 
+    // How many units of each item in the bag are taken
+    private final SortedMap<Integer, Integer> quantities;
+
+    // The labels which the bag was built from, including labels of pieces
+    private final SortedSet<Integer> labels;
+
     // CSV format of elements in indices
     private final String result;
 
@@ -38,6 +51,9 @@ public final class Package {
     // Total price of the bag
     private final BigDecimal resultPrice;
 
+    // Total volume of the bag, zero if the items have no volume
+    private final BigDecimal resultVolume;
+
     /**
      * Constructs a {@code Package} using items whose labels are specified.
      * Specifically, converts {@code sortedLabels} to CSV format and stores it
@@ -55,20 +71,31 @@ public final class Package {
             throw new NullPointerException("Argument 'map' cannot be null.");
 
         if (sortedLabels == null || sortedLabels.isEmpty()) {
-            indices = Collections.emptySortedSet();
+            indices = labels = Collections.emptySortedSet();
+            quantities = Collections.emptySortedMap();
             result = "-";
-            resultWeight = resultPrice = BigDecimal.ZERO;
+            resultWeight = resultPrice = resultVolume = BigDecimal.ZERO;
         } else {
-            if(!map.keySet().containsAll(sortedLabels))
-                throw new IllegalArgumentException("The labels must be a subset of the key-set of map.");
+            SortedMap<Integer, Integer> counts = new TreeMap<>();
+            for (int label : sortedLabels) {
+                final int number = Item.numberOf(label);
+                if (!map.containsKey(number))
+                    throw new IllegalArgumentException("The labels must be a subset of the key-set of map.");
+                final int size = map.get(number).pieceSize(Item.pieceOf(label));
+                if (size <= 0)
+                    throw new IllegalArgumentException(String.format("Label %d is not a piece of item %d.", label, number));
+                counts.merge(number, size, Integer::sum);
+            }
 
-            SortedSet<Integer> tmpLabels = new TreeSet<>(sortedLabels);
-            indices = Collections.unmodifiableSortedSet(tmpLabels);
+            labels = Collections.unmodifiableSortedSet(new TreeSet<>(sortedLabels));
+            quantities = Collections.unmodifiableSortedMap(counts);
+            indices = Collections.unmodifiableSortedSet(new TreeSet<>(counts.keySet()));
 
             StringBuilder sb = new StringBuilder();
             String delimiter = "";
             BigDecimal weight = BigDecimal.ZERO;
             BigDecimal price = BigDecimal.ZERO;
+            BigDecimal volume = BigDecimal.ZERO;
 
             /*
              * The following loop creates a comma-separated vales (CSV)
@@ -82,16 +109,22 @@ public final class Package {
              * to loop over indices. This enables us to compute
              * everything in a single pass.
              */
-            for (int i : indices) {
+            for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+                final int i = entry.getKey();
+                final BigDecimal count = BigDecimal.valueOf(entry.getValue());
                 sb.append(delimiter).append(i);
+                if (entry.getValue() > 1)
+                    sb.append('x').append(entry.getValue());
                 delimiter = ",";
-                weight = weight.add(map.get(i).getWeight());
-                price = price.add(map.get(i).getPrice());
+                weight = weight.add(map.get(i).getWeight().multiply(count));
+                price = price.add(map.get(i).getPrice().multiply(count));
+                volume = volume.add(map.get(i).getVolume().multiply(count));
             }
 
             result = sb.toString();
             resultPrice = price;
             resultWeight = weight;
+            resultVolume = volume;
         }
     }
 
@@ -13,11 +13,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
 import static eu.unite.challenge.validations.ConstraintRules.*;
-import static eu.unite.challenge.validations.RegexPatternsValidator.*;
 
 /**
  * This class reads an input line as a {@code String}, and parses
@@ -25,6 +23,10 @@ import static eu.unite.challenge.validations.RegexPatternsValidator.*;
  * list of items ({@code List<Item> items}).
  * It also keeps a mapping {@code Map<Integer, Item> map} for fast
  * retrieval of items given their label.
+ * <p>
+ * The maximum weight may be followed by a maximum volume, as in
+ * "W,V : ...". Then every item has a volume (see {@link Item}), and the
+ * total volume of a package must not exceed V either.
  *
  * @see Item
  */
@@ -36,11 +38,20 @@ public final class RecordInstance implements Serializable {
     private static final transient Logger logger = LoggerFactory.getLogger(RecordInstance.class);
 
     private final BigDecimal maxWeight;
+
+    // The maximum volume, or null if the line only limits the weight
+    private final BigDecimal maxVolume;
+
     private final List<Item> items;
     private final Map<Integer, Item> map;
 
+    // The binary pieces of the items, which solvers pack instead of the items
+    private final List<Item> pieces;
+
     private final transient int maxWeightScale;
 
+    private final transient int maxPriceScale;
+
     /**
      * Creates a problem instance using the line number and the line itself.
      *
@@ -52,40 +63,44 @@ public final class RecordInstance implements Serializable {
      */
     public RecordInstance(final int lineNo, final String line) throws LineFormatException {
         /*
-         * For a well-formed line of the form a : b,
-         * section[0] = a
-         * section[1] = b
+         * For a well-formed line of the form a : b, the tokenizer
+         * splits a into the limits, and b into the items
          */
-        String[] sections = getSections(lineNo, line);
+        LineTokenizer tokenizer = LineTokenizer.ofLine(lineNo, line);
+        BigDecimal[] limits = tokenizer.limits(lineNo);
 
-        maxWeight = new BigDecimal(sections[0]);
+        maxWeight = limits[0];
         if (maxWeight.compareTo(MAX_PACKAGE_WEIGHT) > 0)
             throw new LineFormatException(
                     lineNo, String.format("Max package weight %s exceeds %s",
                     maxWeight.toPlainString(), MAX_PACKAGE_WEIGHT.toPlainString()));
 
+        maxVolume = limits.length == 2 ? limits[1] : null;
+        if (maxVolume != null && maxVolume.compareTo(MAX_PACKAGE_VOLUME) > 0)
+            throw new LineFormatException(
+                    lineNo, String.format("Max package volume %s exceeds %s",
+                    maxVolume.toPlainString(), MAX_PACKAGE_VOLUME.toPlainString()));
 
         int scale = maxWeight.scale();
+        int priceScale = 0;
         logger.trace("Line #{}: maxWeight = {}", lineNo, maxWeight);
 
-        /*
-         * Use proper RegEx to split the line into items
-         */
-        Matcher matcher = getMatcher(lineNo, sections[1]);
+        tokenizer.checkItems(lineNo);
         items = new ArrayList<>();
         int cnt;
 
-        for (cnt = 0; matcher.find(); cnt++) {
+        for (cnt = 0; tokenizer.nextItem(); cnt++) {
             Item item;
             try {
-                item = new Item(cnt + 1, matcher.group(1));
+                item = new Item(cnt + 1, tokenizer, maxVolume != null);
             } catch (ItemException e) {
                 throw new LineFormatException(lineNo, e);
             }
-            if (item.getWeight().compareTo(maxWeight) <= 0)
+            if (fits(item, maxWeight, maxVolume))
                 items.add(item);
 
             scale = Math.max(scale, item.getWeight().scale());
+            priceScale = Math.max(priceScale, item.getPrice().scale());
         }
 
         if (cnt > MAX_ITEMS_PER_LINE)
@@ -98,65 +113,60 @@ public final class RecordInstance implements Serializable {
         maxWeightScale = scale;
         logger.trace("maxWeightScale = {}", maxWeightScale);
 
+        maxPriceScale = priceScale;
+        logger.trace("maxPriceScale = {}", maxPriceScale);
+
         map = items.stream()
                 .collect(Collectors.toMap(Item::getNumber, item -> item));
+        pieces = piecesOf(items, maxWeight, maxVolume);
     }
 
-    /**
-     *
-     * @param lineNo Line number, used to give meaningful errors
-     * @param triples The triples part of a line, having the form
-     *                (1,w1,€p1)(2,w2,€p2)...(m,wm,€pm)
-     * @return An instance of {@link Matcher}, matching each triple
-     * @throws LineFormatException If the triples are malformed
+    private RecordInstance(final BigDecimal maxWeight, final BigDecimal maxVolume, final List<Item> items,
+                           final int maxWeightScale, final int maxPriceScale) {
+        this.maxWeight = maxWeight;
+        this.maxVolume = maxVolume;
+        this.items = new ArrayList<>(items);
+        this.maxWeightScale = maxWeightScale;
+        this.maxPriceScale = maxPriceScale;
+        map = this.items.stream()
+                .collect(Collectors.toMap(Item::getNumber, item -> item));
+        pieces = piecesOf(this.items, maxWeight, maxVolume);
+    }
+
+    /*
+     * A count c of an item is a sum of pieces with at most c units each, so
+     * pieces which are heavier than maxWeight (or larger than maxVolume)
+     * are never needed.
      */
-//    @NotNull
-    private Matcher getMatcher(int lineNo, String triples) throws LineFormatException {
-        if (!ALL_ITEMS_PATTERN.matcher(triples).matches())
-            throw new LineFormatException(
-                    lineNo, "Items must be separated by matching pairs of parentheses");
+    private static List<Item> piecesOf(final List<Item> items, final BigDecimal maxWeight,
+                                       final BigDecimal maxVolume) {
+        return items.stream()
+                .flatMap(item -> item.pieces().stream())
+                .filter(piece -> fits(piece, maxWeight, maxVolume))
+                .collect(Collectors.toUnmodifiableList());
+    }
 
-        return SINGLE_ITEM_PATTERN.matcher(triples);
+    private static boolean fits(final Item item, final BigDecimal maxWeight, final BigDecimal maxVolume) {
+        return item.getWeight().compareTo(maxWeight) <= 0
+                && (maxVolume == null || item.getVolume().compareTo(maxVolume) <= 0);
     }
 
     /**
-     * A line must have the form
-     * <p>a : b</p>
-     * where
-     * <ul>
-     * <li> a is the maximum weight of the package, and</li>
-     * <li> b is a representation of items.</li>
-     * </ul>
-     * <p>
-     * This method splits the line using ":" into two sections:
-     * <ul>
-     * <li>section[0] = a</li>
-     * <li>section[1] = b</li>
-     * </ul>
-     * It checks there are exactly two sections, and
-     * section[0] is a valid real number
-     * </p>
+     * Creates an instance with the same maximum weight, maximum volume and scales,
+     * but only some of the items.
      *
-     * @param lineNo Line number, used to give meaningful errors
-     * @param line   The line itself
-     * @return sections array, as explained above
-     * @throws LineFormatException If the line is malformed
+     * @param items A subset of the items of this instance
+     * @return The restricted instance
      */
-//    @NotNull
-    private String[] getSections(final int lineNo, final String line) throws LineFormatException {
-        if (line == null) throw new LineFormatException(lineNo, "Line cannot be null");
-
-        String strippedLine = line.replaceAll("\\s+", "");
-        if (strippedLine.isEmpty()) throw new LineFormatException(lineNo, "Line cannot be blank");
-
-        String[] sections = strippedLine.split(":");
-        if (sections.length != 2)
-            throw new LineFormatException(lineNo, "The line is not in a:b format");
-
-        if (!DECIMAL_PATTERN.matcher(sections[0]).matches())
-            throw new LineFormatException(lineNo, "Maximum weight must be a positive number");
+    public RecordInstance withItems(final List<Item> items) {
+        return new RecordInstance(maxWeight, maxVolume, items, maxWeightScale, maxPriceScale);
+    }
 
-        return sections;
+    /**
+     * @return {@code true} if the line has a maximum volume
+     */
+    public boolean hasVolume() {
+        return maxVolume != null;
     }
 
     /**
@@ -172,4 +182,13 @@ public final class RecordInstance implements Serializable {
     public List<Item> getItems() {
         return Collections.unmodifiableList(items);
     }
+
+    /**
+     * @return The binary pieces of the items (see {@link Item#pieces()}), in
+     * the order of the items, without those heavier than the maximum weight.
+     * If all quantities are 1, these are the items.
+     */
+    public List<Item> getPieces() {
+        return pieces;
+    }
 }
@@ -4,8 +4,7 @@ package eu.unite.challenge.exceptions;
 import net.jcip.annotations.Immutable;
 
 /**
- * Exception which is thrown when the input file is empty,
- * or is larger than some value specified in the {@code ConstraintRules} class.
+ * Exception which is thrown when the input file is empty.
  */
 @Immutable
 public class FileFormatException extends FormatException {
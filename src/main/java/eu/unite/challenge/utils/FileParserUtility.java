@@ -7,20 +7,30 @@ import net.jcip.annotations.Immutable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static eu.unite.challenge.validations.ConstraintRules.*;
 
 /**
- * This class loads the input file, and reads it line-by-line.
+ * This class reads the input file line-by-line, through a buffered reader.
  * Each line is passed to an instance of the class {@link RecordInstance}
  * to create a problem instance.
+ * <p>
+ * {@link #stream()} reads the lines lazily, so a file of any size is
+ * parsed in constant memory. {@link #parse()} collects all instances into
+ * a list, which is only suitable for small files.
  */
 @Immutable
 public class FileParserUtility {
@@ -38,37 +48,78 @@ public class FileParserUtility {
     /**
      * This method parses the input file specified by {@code path}
      * to the constructor. It returns a list of instances of the class
-     * {@link RecordInstance}.
+     * {@link RecordInstance}, with {@code null} for every malformed line.
      *
      * @return A list of problem instances
      * @throws IOException         if an I/O error occurs
-     * @throws FileFormatException if file is larger than
-     *                             {@code MAX_FILE_SIZE_BYTES}, or file is empty
+     * @throws FileFormatException if file is empty
      */
     public List<RecordInstance> parse() throws IOException, FileFormatException {
-        final long size = Files.size(path);
-        if (size > MAX_FILE_SIZE_BYTES)
-            throw new FileFormatException(
-                    String.format("Input file size = %d, which is greater than the maximum allowable size %d",
-                            size, MAX_FILE_SIZE_BYTES));
-
-        List<String> strLines = Files.readAllLines(path, FILE_ENCODING);
+        try (Stream<RecordInstance> instances = stream()) {
+            return instances.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-        if (strLines.isEmpty())
+    /**
+     * Parses the input file lazily, in the order of its lines. Malformed
+     * lines are reported with their line number, and are {@code null} in
+     * the stream, so that the n-th element always belongs to line n.
+     * <p>
+     * The stream holds the open file, so it must be closed, e.g. by
+     * try-with-resources. I/O errors while reading are thrown as
+     * {@link UncheckedIOException}.
+     *
+     * @return A stream of problem instances
+     * @throws IOException         if the file cannot be opened
+     * @throws FileFormatException if file is empty
+     */
+    public Stream<RecordInstance> stream() throws IOException, FileFormatException {
+        if (Files.size(path) == 0)
             throw new FileFormatException("File is empty.");
 
+        final BufferedReader reader = Files.newBufferedReader(path, FILE_ENCODING);
+        final Iterator<String> lines = reader.lines().iterator();
+
         /*
-         * Use an IntStream to traverse the lines in the file.
-         * For each line, the line number and the line itself
-         * are passed to RecordInstance constructor.
+         * Lines are numbered by the iterator, which is always advanced in
+         * order, even if the stream is made parallel.
          */
-        return IntStream.range(0, strLines.size()).mapToObj(i -> {
-            try {
-                return new RecordInstance(i + 1, strLines.get(i));
-            } catch (FormatException e) {
-                logger.warn("{} This line was discarded.", e.getMessage());
-                return null;
+        final Iterator<RecordInstance> instances = new Iterator<>() {
+            private int lineNo;
+
+            @Override
+            public boolean hasNext() {
+                return lines.hasNext();
             }
-        }).collect(Collectors.toList());
+
+            @Override
+            public RecordInstance next() {
+                final String line = lines.next();
+                return parseLine(++lineNo, line);
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(instances, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * @return The problem instance of the line, or {@code null} if the line is malformed
+     */
+    private static RecordInstance parseLine(final int lineNo, final String line) {
+        try {
+            return new RecordInstance(lineNo, line);
+        } catch (FormatException e) {
+            logger.warn("{} This line was discarded.", e.getMessage());
+            return null;
+        }
     }
 }
@@ -15,6 +15,9 @@ public class ConstraintRules {
     // Maximum weight of package
     public static final BigDecimal MAX_PACKAGE_WEIGHT = BigDecimal.valueOf(100);
 
+    // Maximum volume of package
+    public static final BigDecimal MAX_PACKAGE_VOLUME = BigDecimal.valueOf(100);
+
     // Maximum items per line
     public static final int MAX_ITEMS_PER_LINE = 15;
 
@@ -24,12 +27,15 @@ public class ConstraintRules {
     // Maximum price of an item
     public static final BigDecimal MAX_ITEM_PRICE = BigDecimal.valueOf(100);
 
+    // Maximum volume of an item
+    public static final BigDecimal MAX_ITEM_VOLUME = BigDecimal.valueOf(100);
+
+    // Maximum quantity of an item
+    public static final int MAX_ITEM_QUANTITY = 10_000;
+
     // Default file encoding, used for reading/writing to files
     public static final Charset FILE_ENCODING = StandardCharsets.UTF_8;
 
-    // Maximum input file size, in bytes
-    public static final long MAX_FILE_SIZE_BYTES = 1_000_000;
-
     /**
      * How many digits to keep digits after the decimal point, when dividing numbers together?
      */
@@ -41,4 +47,60 @@ public class ConstraintRules {
      */
     public static final int MAX_INT_WEIGHT_FOR_DP = 10000;
 
+    /*
+     * The packed mode of DynamicProgrammingAlgoImpl keeps a single row of O(W) longs, and O(N*W) bits.
+     * The following constant gives an upper bound for W in that mode. It can be raised with the
+     * system property "unite.dp.packed.max-int-weight".
+     */
+    public static final int MAX_INT_WEIGHT_FOR_PACKED_DP = Integer.getInteger("unite.dp.packed.max-int-weight", 1_000_000);
+
+    /*
+     * The mapped mode of DynamicProgrammingAlgoImpl keeps both its row of O(W) longs and its O(N*W) bits in a
+     * temporary file, so neither the heap nor the direct memory grow with W. The following constant gives an
+     * upper bound for W in that mode. It can be raised with the system property "unite.dp.mapped.max-int-weight".
+     */
+    public static final int MAX_INT_WEIGHT_FOR_MAPPED_DP = Integer.getInteger("unite.dp.mapped.max-int-weight", 100_000_000);
+
+    /*
+     * ProfitDynamicProgrammingAlgoImpl keeps a single row of O(P) longs, and O(N*P) bits, where P is the
+     * sum of the integer prices. The following constant gives an upper bound for P. It can be raised
+     * with the system property "unite.dp.profit.max-int-price".
+     */
+    public static final int MAX_INT_PRICE_FOR_DP = Integer.getInteger("unite.dp.profit.max-int-price", 1_000_000);
+
+    /*
+     * FptasAlgoImpl rounds the prices so that P is O(N^2/epsilon), and solves the rounded instance with the table of
+     * ProfitDynamicProgrammingAlgoImpl, of N*(P+1) cells. The following constant gives an upper bound for the number
+     * of cells, instead of MAX_INT_PRICE_FOR_DP. Prices are rounded further if they need more cells, and epsilon is
+     * then not guaranteed. It can be raised with the system property "unite.fptas.max-cells".
+     */
+    public static final long MAX_CELLS_FOR_FPTAS = Long.getLong("unite.fptas.max-cells", 400_000_000L);
+
+    /*
+     * MultipleKnapsackSolver searches exactly up to the following number of items, where an item with a
+     * quantity counts as its pieces, and falls back to its greedy-plus-repair mode for larger pools. It can be
+     * changed with the system property "unite.mkp.exact.max-items".
+     */
+    public static final int MAX_ITEMS_FOR_EXACT_MKP = Integer.getInteger("unite.mkp.exact.max-items", 24);
+
+    /*
+     * TwoDimensionalAlgoImpl solves lines with a maximum volume by its sparse Pareto dynamic programming
+     * up to the following number of pieces, and by its branch and bound for larger lines. It can be changed
+     * with the system property "unite.2d.pareto.max-items".
+     */
+    public static final int MAX_ITEMS_FOR_2D_PARETO = Integer.getInteger("unite.2d.pareto.max-items", 20);
+
+    /*
+     * The maximum number of solutions kept by the SolutionCache of Application. It can be changed
+     * with the system property "unite.cache.capacity".
+     */
+    public static final int SOLUTION_CACHE_CAPACITY = Integer.getInteger("unite.cache.capacity", 10_000);
+
+    /*
+     * Application reads the input file as a stream, and solves the following number of lines at a time in
+     * parallel, so that its memory does not grow with the size of the file. It can be changed with the
+     * system property "unite.solve.batch-size".
+     */
+    public static final int SOLVE_BATCH_SIZE = Integer.getInteger("unite.solve.batch-size", 1024);
+
 }
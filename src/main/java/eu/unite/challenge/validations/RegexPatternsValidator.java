@@ -6,7 +6,11 @@ import net.jcip.annotations.Immutable;
 import java.util.regex.Pattern;
 
 /**
- * Class for storing static and compiled regular expression patterns
+ * Class for storing static and compiled regular expression patterns.
+ * <p>
+ * These patterns define the format of a line. Lines are parsed by a
+ * hand-written scanner, which accepts exactly the same strings, without
+ * the cost of matching the patterns.
  */
 @Immutable
 public final class RegexPatternsValidator {
@@ -26,8 +30,10 @@ public final class RegexPatternsValidator {
     /*
      * A single line has format
      *   W : (1,w1,€p1)...(m,wm,€pm)
+     * or, with a maximum volume V,
+     *   W,V : (1,w1,€p1,v1)...(m,wm,€pm,vm)
      * where
-     *  - W is has DECIMAL_PATTERN
+     *  - W and V have DECIMAL_PATTERN
      *  - each single item has SINGLE_ITEM_PATTERN
      *  - all items together have ALL_ITEMS_PATTERN
      */
@@ -37,13 +43,18 @@ public final class RegexPatternsValidator {
 
 
     /*
-     * An item is represented by a triple n,w,€p
+     * An item is represented by a triple n,w,€p, optionally followed by ,q
+     * On a line with a maximum volume, the triple is followed by ,v and then optionally by ,q
      *   - n is the label (or index/number) of the item
      *   - w is the weight of the item
      *   - p is the price of the item
+     *   - v is the volume of the item
+     *   - q is the quantity of the item (1 if it is missing)
      * The following patterns match each of these elements
      */
     public static final Pattern LABEL_PATTERN = Pattern.compile("^" + INT_REGEX + "$");
     public static final Pattern WEIGHT_PATTERN = Pattern.compile("^" + DECIMAL_REGEX + "$");
     public static final Pattern PRICE_PATTERN = Pattern.compile("^€" + DECIMAL_REGEX + "$");
+    public static final Pattern VOLUME_PATTERN = Pattern.compile("^" + DECIMAL_REGEX + "$");
+    public static final Pattern QUANTITY_PATTERN = Pattern.compile("^" + INT_REGEX + "$");
 }
@@ -3,6 +3,8 @@ package eu.unite.challenge.algorithms;
 
 import eu.unite.challenge.dataobjects.Package;
 import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.slf4j.Logger;
@@ -10,9 +12,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class BranchAndBoundAlgoImplTest {
@@ -38,4 +44,98 @@ class BranchAndBoundAlgoImplTest {
 
         assertEquals(bfPrice, bbPrice);
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomReductionCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BranchAndBoundAlgoImpl bb = new BranchAndBoundAlgoImpl(p);
+        Package bfBag = new BruteForceAlgoImpl(p).getBag();
+
+        // Fixed items never change the price or the weight of the best package
+        assertEquals(0, bfBag.getResultPrice().compareTo(bb.getBag().getResultPrice()));
+        assertEquals(0, bfBag.getResultWeight().compareTo(bb.getBag().getResultWeight()));
+        assertTrue(bb.getFixedItems() <= p.getItems().size());
+
+        // U2 is never larger than the fractional bound, up to rounding
+        if (bb.getReduction().isAllFit())
+            return;
+        BigDecimal u2 = bb.computeU2Bound(0, BigDecimal.ZERO);
+        BigDecimal fractional = bb.computeBound(0, BigDecimal.ZERO);
+        assertTrue(u2.compareTo(fractional.add(new BigDecimal("0.0000001"))) <= 0, u2 + " > " + fractional);
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#boundedSource")
+    void randomBoundedCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BigDecimal expected = DynamicProgrammingAlgoImplTest.boundedPrice(p);
+        DynamicProgrammingAlgoImplTest.assertBounded(p, expected, new BranchAndBoundAlgoImpl(p).getBag());
+        DynamicProgrammingAlgoImplTest.assertBounded(p, expected, new FixedPointBranchAndBoundAlgoImpl(p).getBag());
+        DynamicProgrammingAlgoImplTest.assertBounded(p, expected, new DepthFirstBranchAndBoundAlgoImpl(p).getBag());
+    }
+
+    @Test
+    void testAllItemsFixed() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,5,€50) (2,5,€40) (3,6,€10) (4,4,€1)");
+        BranchAndBoundAlgoImpl bb = new BranchAndBoundAlgoImpl(p);
+        assertEquals("1,2", bb.getBag().getResult());
+        // Item 3 is dominated by items 1 and 2, so it is dropped before the search
+        assertEquals(1, bb.getReduction().getDominatedItems());
+        assertEquals(3, bb.getFixedItems());
+        assertEquals(0, bb.getNodes());
+    }
+
+    @Test
+    void testU2Bound() throws LineFormatException {
+        // The fractional bound is 60 + 4/5 * 45; U2 takes item 2, and removes 1 of item 1
+        RecordInstance p = new RecordInstance(1, "10 : (1,6,€60) (2,5,€45) (3,5,€40)");
+        BranchAndBoundAlgoImpl bb = new BranchAndBoundAlgoImpl(p);
+        assertEquals("2,3", bb.getBag().getResult());
+        assertEquals(0, bb.getFixedItems());
+        assertEquals(0, new BigDecimal("96").compareTo(bb.computeBound(0, BigDecimal.ZERO)));
+        assertEquals(0, new BigDecimal("95").compareTo(bb.computeU2Bound(0, BigDecimal.ZERO)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomExpiredCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BigDecimal optimum = new BruteForceAlgoImpl(p).getBag().getResultPrice();
+        BranchAndBoundAlgoImpl bb = new BranchAndBoundAlgoImpl(p, Duration.ZERO);
+
+        // The incumbent is feasible, and the optimum lies between it and the upper bound
+        assertTrue(bb.getBag().getResultWeight().compareTo(p.getMaxWeight()) <= 0);
+        assertTrue(bb.getBag().getResultPrice().compareTo(optimum) <= 0);
+        assertTrue(bb.getUpperBound().compareTo(optimum) >= 0);
+        assertEquals(bb.isOptimal(), bb.getGap().signum() == 0);
+
+        // The same holds for whichever solver solveWithin picks
+        AbstractProblemSolver expired = AbstractProblemSolver.solveWithin(p, Duration.ZERO);
+        assertTrue(expired.getBag().getResultPrice().compareTo(optimum) <= 0);
+        assertTrue(expired.getUpperBound().compareTo(optimum) >= 0);
+
+        AbstractProblemSolver solved = AbstractProblemSolver.solveWithin(p, Duration.ofMinutes(1));
+        assertTrue(solved.isOptimal());
+        assertEquals(0, optimum.compareTo(solved.getBag().getResultPrice()));
+    }
+
+    @Test
+    void testBudget() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,6,€60) (2,5,€45) (3,5,€40)");
+
+        // The greedy solution is returned, with the bound of the root
+        BranchAndBoundAlgoImpl expired = new BranchAndBoundAlgoImpl(p, Duration.ZERO);
+        assertEquals("1", expired.getBag().getResult());
+        assertFalse(expired.isOptimal());
+        assertEquals(0, new BigDecimal("95").compareTo(expired.getUpperBound()));
+        assertEquals(0, new BigDecimal("35").compareTo(expired.getGap()));
+
+        BranchAndBoundAlgoImpl solved = new BranchAndBoundAlgoImpl(p, Duration.ofMinutes(1));
+        assertEquals("2,3", solved.getBag().getResult());
+        assertTrue(solved.isOptimal());
+        assertEquals(0, solved.getGap().signum());
+
+        assertThrows(IllegalArgumentException.class, () -> new BranchAndBoundAlgoImpl(p, Duration.ofMillis(-1)));
+    }
+}
@@ -1,15 +1,20 @@
 package eu.unite.challenge.algorithms;
 
+import eu.unite.challenge.dataobjects.FixedPointInstance;
 import eu.unite.challenge.dataobjects.RecordInstance;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Random;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 class BruteForceAlgoImplTest {
+    private final Random r = new Random();
 
     @ParameterizedTest
     @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
@@ -18,6 +23,45 @@ class BruteForceAlgoImplTest {
         assertEquals(bruteForce.getBag().getResult(), solution);
     }
 
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void grayCodeSolve(final int lineNo, final String line, final String solution) throws Exception {
+        BruteForceAlgoImpl bruteForce = new BruteForceAlgoImpl(new RecordInstance(lineNo, line),
+                BruteForceAlgoImpl.Mode.GRAY_CODE);
+        assertEquals(solution, bruteForce.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomGrayCodeCase(final int lineNo, final String line) throws Exception {
+        RecordInstance p = new RecordInstance(lineNo, line);
+        BruteForceAlgoImpl subsets = new BruteForceAlgoImpl(p, BruteForceAlgoImpl.Mode.SUBSETS);
+        BruteForceAlgoImpl grayCode = new BruteForceAlgoImpl(p, BruteForceAlgoImpl.Mode.GRAY_CODE);
+        assertEquals(subsets.getBag().getIndices(), grayCode.getBag().getIndices());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomParallelGrayCodeCase(final int lineNo, final String line) throws Exception {
+        RecordInstance p = new RecordInstance(lineNo, line);
+        BruteForceAlgoImpl subsets = new BruteForceAlgoImpl(p, BruteForceAlgoImpl.Mode.SUBSETS);
+        BruteForceAlgoImpl parallel = new BruteForceAlgoImpl(p, BruteForceAlgoImpl.Mode.PARALLEL_GRAY_CODE);
+        assertEquals(subsets.getBag().getIndices(), parallel.getBag().getIndices());
+    }
+
+    @Test
+    void largeParallelCase() {
+        final int count = 22;
+        // Few distinct values, so that there are many complete ties across chunks
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(10) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(10) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(r.nextInt(100) + 1,
+                weights, prices, labels, 0, 0);
+
+        assertEquals(BruteForceAlgoImpl.grayCodeSolve(instance), BruteForceAlgoImpl.parallelGrayCodeSolve(instance));
+    }
+
     @Test
     void nullTest() {
         BruteForceAlgoImpl bruteForce = new BruteForceAlgoImpl(null);
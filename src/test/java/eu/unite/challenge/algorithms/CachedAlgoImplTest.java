@@ -0,0 +1,41 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CachedAlgoImplTest {
+    private static final SolutionCache cache = new SolutionCache(100);
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        CachedAlgoImpl cached = new CachedAlgoImpl(new RecordInstance(lineNo, line), cache);
+        assertEquals(solution, cached.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        CachedAlgoImpl cached = new CachedAlgoImpl(p, cache);
+        BruteForceAlgoImpl bf = new BruteForceAlgoImpl(p);
+
+        // max price, then min weight, whether the solution was cached or not
+        assertEquals(bf.getBag().getResultPrice(), cached.getBag().getResultPrice());
+        assertEquals(0, bf.getBag().getResultWeight().compareTo(cached.getBag().getResultWeight()));
+    }
+
+    @Test
+    void nullTest() {
+        CachedAlgoImpl cached = new CachedAlgoImpl(null, cache);
+        assertEquals("ERR", cached.toString());
+    }
+}
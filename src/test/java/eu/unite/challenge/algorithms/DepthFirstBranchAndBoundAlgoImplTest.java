@@ -0,0 +1,81 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DepthFirstBranchAndBoundAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(DepthFirstBranchAndBoundAlgoImplTest.class);
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        DepthFirstBranchAndBoundAlgoImpl bb = new DepthFirstBranchAndBoundAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, bb.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BranchAndBoundAlgoImpl bb = new BranchAndBoundAlgoImpl(p);
+        DepthFirstBranchAndBoundAlgoImpl dfs = new DepthFirstBranchAndBoundAlgoImpl(p);
+
+        Package bbBag = bb.getBag();
+        Package dfsBag = dfs.getBag();
+
+        logger.trace("Branch & bound result:      " + bbBag);
+        logger.trace("Depth-first result:         " + dfsBag);
+
+        assertEquals(bbBag.getResultPrice(), dfsBag.getResultPrice());
+        assertEquals(0, bbBag.getResultWeight().compareTo(dfsBag.getResultWeight()));
+    }
+
+    @Test
+    void testLastSetBit() {
+        long[] bits = {1L << 3, 0, 1L << 63};
+        assertEquals(191, DepthFirstBranchAndBoundAlgoImpl.lastSetBit(bits, 191));
+        assertEquals(3, DepthFirstBranchAndBoundAlgoImpl.lastSetBit(bits, 190));
+        assertEquals(3, DepthFirstBranchAndBoundAlgoImpl.lastSetBit(bits, 3));
+        assertEquals(-1, DepthFirstBranchAndBoundAlgoImpl.lastSetBit(bits, 2));
+        assertEquals(-1, DepthFirstBranchAndBoundAlgoImpl.lastSetBit(bits, -1));
+    }
+
+    @RepeatedTest(20)
+    void largeCase() {
+        // More than 64 items, so the path spans several words
+        final int count = 150;
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(1000) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(1000) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(r.nextInt(20000) + 1,
+                weights, prices, labels, 0, 0);
+        final FixedPointInstance sorted = instance.sorted(ItemComparators.efficiencyPrice(instance).reversed());
+
+        final SortedSet<Integer> dfs = sorted.labelsOf(DepthFirstBranchAndBoundAlgoImpl.dfsSolve(sorted));
+        final SortedSet<Integer> dp = DynamicProgrammingAlgoImpl.packedDpSolve(instance);
+
+        assertTrue(dfs.stream().mapToLong(label -> weights[label - 1]).sum() <= instance.getMaxWeight());
+        assertEquals(dp.stream().mapToLong(label -> prices[label - 1]).sum(),
+                dfs.stream().mapToLong(label -> prices[label - 1]).sum());
+    }
+}
@@ -1,6 +1,7 @@
 package eu.unite.challenge.algorithms;
 
 
+import eu.unite.challenge.dataobjects.FixedPointInstance;
 import eu.unite.challenge.dataobjects.Item;
 import eu.unite.challenge.dataobjects.Package;
 import eu.unite.challenge.dataobjects.RecordInstance;
@@ -15,11 +16,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.SortedSet;
+import java.util.stream.IntStream;
 
+import static eu.unite.challenge.validations.ConstraintRules.MAX_INT_WEIGHT_FOR_PACKED_DP;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -56,11 +60,123 @@ class DynamicProgrammingAlgoImplTest {
 
     @Test
     void testHuge() throws LineFormatException {
-        RecordInstance p = new RecordInstance(1, "99.8135: (1, 5.33, €10)");
+        // The items do not all fit, and their weights have no common divisor
+        RecordInstance p = new RecordInstance(1, "99.8135: (1, 5.3301, €10) (2, 95.33, €20)");
         assertThrows(OutOfRangeProblemSizeException.class, () ->
                 new DynamicProgrammingAlgoImpl(p));
     }
 
+    @Test
+    void testHugePacked() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "99.8135: (1, 5.33, €10)");
+        DynamicProgrammingAlgoImpl dp = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.PACKED);
+        assertEquals("1", dp.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void packedSolve(final int lineNo, final String line, final String solution) throws Exception {
+        RecordInstance p = new RecordInstance(lineNo, line);
+        DynamicProgrammingAlgoImpl dp = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.PACKED);
+        assertEquals(solution, dp.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomPackedCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        DynamicProgrammingAlgoImpl table = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.TABLE);
+        DynamicProgrammingAlgoImpl packed = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.PACKED);
+
+        assertEquals(table.getBag().getIndices(), packed.getBag().getIndices());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void mappedSolve(final int lineNo, final String line, final String solution) throws Exception {
+        RecordInstance p = new RecordInstance(lineNo, line);
+        DynamicProgrammingAlgoImpl dp = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.MAPPED);
+        assertEquals(solution, dp.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomMappedCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        DynamicProgrammingAlgoImpl packed = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.PACKED);
+        DynamicProgrammingAlgoImpl mapped = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.MAPPED);
+
+        assertEquals(packed.getBag().getIndices(), mapped.getBag().getIndices());
+    }
+
+    @Test
+    void testHugeMapped() {
+        // W is beyond the packed bound, so the profit-indexed table is the reference
+        final int count = 40;
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(500_000) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(100) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(MAX_INT_WEIGHT_FOR_PACKED_DP + r.nextInt(1_000_000),
+                weights, prices, labels, 0, 0);
+        assertThrows(OutOfRangeProblemSizeException.class, () -> DynamicProgrammingAlgoImpl.packedDpSolve(instance));
+
+        final SortedSet<Integer> mapped = DynamicProgrammingAlgoImpl.mappedDpSolve(instance);
+        final SortedSet<Integer> profit = ProfitDynamicProgrammingAlgoImpl.profitDpSolve(instance);
+        assertTrue(mapped.stream().mapToLong(label -> weights[label - 1]).sum() <= instance.getMaxWeight());
+        assertEquals(profit.stream().mapToLong(label -> prices[label - 1]).sum(),
+                mapped.stream().mapToLong(label -> prices[label - 1]).sum());
+    }
+
+    @Test
+    void testBounded() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,3,€5,3) (2,4,€7,2)");
+        for (DynamicProgrammingAlgoImpl.Mode mode : DynamicProgrammingAlgoImpl.Mode.values()) {
+            Package bag = new DynamicProgrammingAlgoImpl(p, mode).getBag();
+            assertEquals("1x2,2", bag.getResult());
+            assertEquals(BigDecimal.valueOf(17), bag.getResultPrice());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#boundedSource")
+    void randomBoundedCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BigDecimal expected = boundedPrice(p);
+        for (DynamicProgrammingAlgoImpl.Mode mode : DynamicProgrammingAlgoImpl.Mode.values())
+            assertBounded(p, expected, new DynamicProgrammingAlgoImpl(p, mode).getBag());
+    }
+
+    /**
+     * Asserts that {@code bag} is a feasible package of {@code p}, with price {@code expected}.
+     */
+    static void assertBounded(final RecordInstance p, final BigDecimal expected, final Package bag) {
+        assertEquals(0, expected.compareTo(bag.getResultPrice()), bag.toString());
+        assertTrue(bag.getResultWeight().compareTo(p.getMaxWeight()) <= 0);
+        bag.getQuantities().forEach((label, count) -> assertTrue(count <= p.getMap().get(label).getQuantity()));
+    }
+
+    /**
+     * @return The optimal price of {@code p}, where every item is copied as
+     * many times as its quantity, instead of being split into pieces
+     */
+    static BigDecimal boundedPrice(final RecordInstance p) {
+        final int weightScale = p.getMaxWeightScale();
+        final int priceScale = p.getMaxPriceScale();
+        final List<long[]> copies = new ArrayList<>();
+        for (Item item : p.getItems())
+            for (int i = 0; i < item.getQuantity(); i++)
+                copies.add(new long[]{FixedPointInstance.toLong(item.getWeight(), weightScale),
+                        FixedPointInstance.toLong(item.getPrice(), priceScale)});
+        final FixedPointInstance instance = new FixedPointInstance(
+                FixedPointInstance.toLong(p.getMaxWeight(), weightScale),
+                copies.stream().mapToLong(c -> c[0]).toArray(),
+                copies.stream().mapToLong(c -> c[1]).toArray(),
+                IntStream.rangeClosed(1, copies.size()).toArray(), weightScale, priceScale);
+        return instance.toPrice(DynamicProgrammingAlgoImpl.packedDpSolve(instance).stream()
+                .mapToLong(label -> copies.get(label - 1)[1])
+                .sum());
+    }
+
     @ParameterizedTest
     @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
     void randomCase(final int lineNo, final String line) {
@@ -81,4 +197,43 @@ class DynamicProgrammingAlgoImplTest {
 
         assertEquals(bfPrice, dpPrice);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBudget() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,6,€60) (2,5,€45) (3,5,€40)");
+
+        // No row is computed, so the bound is the fractional bound of all items
+        DynamicProgrammingAlgoImpl expired = new DynamicProgrammingAlgoImpl(p, Duration.ZERO);
+        assertEquals("-", expired.getBag().getResult());
+        assertFalse(expired.isOptimal());
+        assertEquals(0, new BigDecimal("96").compareTo(expired.getUpperBound()));
+        assertEquals(0, new BigDecimal("96").compareTo(expired.getGap()));
+
+        DynamicProgrammingAlgoImpl solved = new DynamicProgrammingAlgoImpl(p, Duration.ofMinutes(1));
+        assertEquals("2,3", solved.getBag().getResult());
+        assertTrue(solved.isOptimal());
+        assertEquals(0, solved.getGap().signum());
+    }
+
+    @Test
+    void testPartialRows() {
+        // Once items 1 and 2 are done, item 3 is bounded on its own, with the full weight
+        final FixedPointInstance instance = new FixedPointInstance(10,
+                new long[]{6, 5, 5}, new long[]{60, 45, 40}, new int[]{1, 2, 3}, 0, 0);
+        assertEquals(40, DynamicProgrammingAlgoImpl.fractionalBound(instance, 2));
+        assertEquals(96, DynamicProgrammingAlgoImpl.fractionalBound(instance, 0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomBudgetCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        DynamicProgrammingAlgoImpl packed = new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.PACKED);
+        DynamicProgrammingAlgoImpl expired = new DynamicProgrammingAlgoImpl(p, Duration.ZERO);
+        DynamicProgrammingAlgoImpl solved = new DynamicProgrammingAlgoImpl(p, Duration.ofMinutes(1));
+
+        assertTrue(expired.getUpperBound().compareTo(packed.getBag().getResultPrice()) >= 0);
+        assertEquals(packed.getBag().getIndices(), solved.getBag().getIndices());
+        assertTrue(solved.isOptimal());
+    }
+}
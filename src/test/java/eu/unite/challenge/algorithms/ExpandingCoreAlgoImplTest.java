@@ -0,0 +1,89 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ExpandingCoreAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(ExpandingCoreAlgoImplTest.class);
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        ExpandingCoreAlgoImpl core = new ExpandingCoreAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, core.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BruteForceAlgoImpl bf = new BruteForceAlgoImpl(p);
+        ExpandingCoreAlgoImpl core = new ExpandingCoreAlgoImpl(p);
+
+        Package bfBag = bf.getBag();
+        Package coreBag = core.getBag();
+
+        logger.trace("Brute force result:      " + bfBag);
+        logger.trace("Expanding core result:   " + coreBag);
+
+        // max price, then min weight
+        assertEquals(bfBag.getResultPrice(), coreBag.getResultPrice());
+        assertEquals(0, bfBag.getResultWeight().compareTo(coreBag.getResultWeight()));
+    }
+
+    @RepeatedTest(20)
+    void largeCase() {
+        // Small values, so that many items share the efficiency of the break item
+        assertSameAsDp(300, 20, r.nextInt(1000) + 1);
+    }
+
+    @RepeatedTest(5)
+    void hugeCase() {
+        // Uncorrelated items, where the core stays small
+        assertSameAsDp(2000, 100, r.nextInt(50_000) + 1);
+    }
+
+    private static void assertSameAsDp(final int count, final int maxValue, final long maxWeight) {
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(maxValue) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(maxValue) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(maxWeight, weights, prices, labels, 0, 0);
+        final FixedPointInstance sorted = instance.sorted(ItemComparators.efficiencyPrice(instance).reversed());
+
+        final SortedSet<Integer> core = sorted.labelsOf(ExpandingCoreAlgoImpl.coreSolve(sorted));
+        final long weight = core.stream().mapToLong(label -> weights[label - 1]).sum();
+        final long price = core.stream().mapToLong(label -> prices[label - 1]).sum();
+
+        // The order of ItemComparators.priceWeight, so that the lighter subset wins
+        final Comparator<Integer> priceWeight = Comparator.<Integer>comparingLong(instance::price)
+                .thenComparing(Comparator.<Integer>comparingLong(instance::weight).reversed());
+        final SortedSet<Integer> dp = DynamicProgrammingAlgoImpl.packedDpSolve(instance.sorted(priceWeight.reversed()));
+
+        assertTrue(weight <= maxWeight);
+        assertEquals(dp.stream().mapToLong(label -> prices[label - 1]).sum(), price);
+        // Among subsets of the same price, the dynamic programming does not always find the lightest
+        assertTrue(weight <= dp.stream().mapToLong(label -> weights[label - 1]).sum());
+    }
+}
@@ -0,0 +1,47 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class FixedPointBranchAndBoundAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(FixedPointBranchAndBoundAlgoImplTest.class);
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        FixedPointBranchAndBoundAlgoImpl fp = new FixedPointBranchAndBoundAlgoImpl(new RecordInstance(lineNo, line));
+        BranchAndBoundAlgoImpl bb = new BranchAndBoundAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(bb.getBag().getResult(), fp.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BranchAndBoundAlgoImpl bb = new BranchAndBoundAlgoImpl(p);
+        FixedPointBranchAndBoundAlgoImpl fp = new FixedPointBranchAndBoundAlgoImpl(p);
+
+        Package bbBag = bb.getBag();
+        Package fpBag = fp.getBag();
+
+        logger.trace("Branch & bound result:      " + bbBag);
+        logger.trace("Fixed-point result:   " + fpBag);
+
+        // Both return the lightest package of the best price, which is unique on random lines
+        assertEquals(bbBag.getIndices(), fpBag.getIndices());
+        assertEquals(bbBag.getResultPrice(), fpBag.getResultPrice());
+        assertEquals(bbBag.getResultWeight(), fpBag.getResultWeight());
+    }
+}
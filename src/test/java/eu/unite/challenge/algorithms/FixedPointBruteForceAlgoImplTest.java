@@ -0,0 +1,47 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class FixedPointBruteForceAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(FixedPointBruteForceAlgoImplTest.class);
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        FixedPointBruteForceAlgoImpl fp = new FixedPointBruteForceAlgoImpl(new RecordInstance(lineNo, line));
+        BruteForceAlgoImpl bf = new BruteForceAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(bf.getBag().getResult(), fp.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BruteForceAlgoImpl bf = new BruteForceAlgoImpl(p);
+        FixedPointBruteForceAlgoImpl fp = new FixedPointBruteForceAlgoImpl(p);
+
+        Package bfBag = bf.getBag();
+        Package fpBag = fp.getBag();
+
+        logger.trace("Brute force result:      " + bfBag);
+        logger.trace("Fixed-point result:   " + fpBag);
+
+        // The fixed-point solver must be bit-identical, not only equal in price
+        assertEquals(bfBag.getIndices(), fpBag.getIndices());
+        assertEquals(bfBag.getResultPrice(), fpBag.getResultPrice());
+        assertEquals(bfBag.getResultWeight(), fpBag.getResultWeight());
+    }
+}
@@ -0,0 +1,59 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class FixedPointDynamicProgrammingAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(FixedPointDynamicProgrammingAlgoImplTest.class);
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        FixedPointDynamicProgrammingAlgoImpl fp = new FixedPointDynamicProgrammingAlgoImpl(new RecordInstance(lineNo, line));
+        DynamicProgrammingAlgoImpl dp = new DynamicProgrammingAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(dp.getBag().getResult(), fp.getBag().getResult());
+    }
+
+    @Test
+    void testHuge() throws LineFormatException {
+        // The items do not all fit, and their weights have no common divisor
+        RecordInstance p = new RecordInstance(1, "99.8135: (1, 5.3301, €10) (2, 95.33, €20)");
+        assertThrows(OutOfRangeProblemSizeException.class, () ->
+                new FixedPointDynamicProgrammingAlgoImpl(p));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        DynamicProgrammingAlgoImpl dp = new DynamicProgrammingAlgoImpl(p);
+        FixedPointDynamicProgrammingAlgoImpl fp = new FixedPointDynamicProgrammingAlgoImpl(p);
+
+        Package dpBag = dp.getBag();
+        Package fpBag = fp.getBag();
+
+        logger.trace("Dynamic programming result:      " + dpBag);
+        logger.trace("Fixed-point result:   " + fpBag);
+
+        // The fixed-point solver must be bit-identical, not only equal in price
+        assertEquals(dpBag.getIndices(), fpBag.getIndices());
+        assertEquals(dpBag.getResultPrice(), fpBag.getResultPrice());
+        assertEquals(dpBag.getResultWeight(), fpBag.getResultWeight());
+    }
+}
@@ -0,0 +1,47 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class FixedPointGreedyApproximationAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(FixedPointGreedyApproximationAlgoImplTest.class);
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        FixedPointGreedyApproximationAlgoImpl fp = new FixedPointGreedyApproximationAlgoImpl(new RecordInstance(lineNo, line));
+        GreedyApproximationAlgoImpl ga = new GreedyApproximationAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(ga.getBag().getResult(), fp.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        GreedyApproximationAlgoImpl ga = new GreedyApproximationAlgoImpl(p);
+        FixedPointGreedyApproximationAlgoImpl fp = new FixedPointGreedyApproximationAlgoImpl(p);
+
+        Package gaBag = ga.getBag();
+        Package fpBag = fp.getBag();
+
+        logger.trace("Greedy approx. result:      " + gaBag);
+        logger.trace("Fixed-point result:   " + fpBag);
+
+        // The fixed-point solver must be bit-identical, not only equal in price
+        assertEquals(gaBag.getIndices(), fpBag.getIndices());
+        assertEquals(gaBag.getResultPrice(), fpBag.getResultPrice());
+        assertEquals(gaBag.getResultWeight(), fpBag.getResultWeight());
+    }
+}
@@ -0,0 +1,119 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class FptasAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(FptasAlgoImplTest.class);
+
+    private static final double[] EPSILONS = {0.9, 0.5, 0.1, 0.01};
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        FptasAlgoImpl fptas = new FptasAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, fptas.getBag().getResult());
+    }
+
+    @Test
+    void invalidEpsilon() throws Exception {
+        RecordInstance p = new RecordInstance(1, "8 : (1,15.3,€34)");
+        assertThrows(IllegalArgumentException.class, () -> new FptasAlgoImpl(p, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FptasAlgoImpl(p, 1));
+        assertThrows(IllegalArgumentException.class, () -> new FptasAlgoImpl(p, Double.NaN));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        Package bfBag = new BruteForceAlgoImpl(p).getBag();
+        BigDecimal bfPrice = bfBag.getResultPrice();
+
+        for (double epsilon : EPSILONS) {
+            FptasAlgoImpl fptas = new FptasAlgoImpl(p, epsilon);
+            Package fptasBag = fptas.getBag();
+
+            logger.trace("Brute force result:    " + bfBag);
+            logger.trace("FPTAS({}) result:    {}", epsilon, fptasBag);
+
+            assertTrue(fptasBag.getResultWeight().compareTo(p.getMaxWeight()) <= 0);
+            assertTrue(fptasBag.getResultPrice().compareTo(
+                    bfPrice.multiply(BigDecimal.ONE.subtract(BigDecimal.valueOf(epsilon)))) >= 0);
+
+            // The fractional bound is proven, and the package is only optimal if it reaches it
+            assertTrue(fptas.getUpperBound().compareTo(bfPrice) >= 0);
+            assertEquals(fptas.isOptimal(), fptas.getGap().signum() == 0);
+        }
+    }
+
+    @RepeatedTest(20)
+    void largeCase() {
+        // Prices with 12 digits are far beyond the profit-indexed table, but the rounded ones are not
+        assertWithinEpsilon(100);
+    }
+
+    @RepeatedTest(5)
+    void moreThanHundredItems() {
+        // The rounded prices add up to about N^2/epsilon, which is beyond the price bound of the exact solver
+        assertWithinEpsilon(150);
+    }
+
+    @Test
+    void tooManyCells() {
+        // N^3/epsilon is beyond the cells of the table, so the prices are rounded further
+        final int count = 2000;
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(1000) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(10_000_000) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(100_000, weights, prices, labels, 0, 0);
+
+        final SortedSet<Integer> fptas = assertDoesNotThrow(() -> FptasAlgoImpl.fptasSolve(instance, 0.01));
+        assertTrue(fptas.stream().mapToLong(label -> weights[label - 1]).sum() <= instance.getMaxWeight());
+        assertTrue(FptasAlgoImpl.priceBound(count) < (double) count * count / 0.01);
+    }
+
+    private static void assertWithinEpsilon(final int count) {
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(1000) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(1_000_000_000) * 1000L + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(r.nextInt(10000) + 1,
+                weights, prices, labels, 0, 0);
+
+        final SortedSet<Integer> dp = DynamicProgrammingAlgoImpl.packedDpSolve(instance);
+        final long optimum = dp.stream().mapToLong(label -> prices[label - 1]).sum();
+
+        for (double epsilon : EPSILONS) {
+            final SortedSet<Integer> fptas = FptasAlgoImpl.fptasSolve(instance, epsilon);
+            final long weight = fptas.stream().mapToLong(label -> weights[label - 1]).sum();
+            final long price = fptas.stream().mapToLong(label -> prices[label - 1]).sum();
+
+            assertTrue(weight <= instance.getMaxWeight());
+            assertTrue(price >= (1 - epsilon) * optimum);
+        }
+    }
+}
@@ -55,6 +55,11 @@ class GreedyApproximationAlgoImplTest {
         RecordInstance p = new RecordInstance(1, "10 : (1, 1, €1) (2, 10, €9)");
         GreedyApproximationAlgoImpl ga = new GreedyApproximationAlgoImpl(p);
         assertEquals(BigDecimal.valueOf(9), ga.getBag().getResultPrice());
+
+        // The fractional bound takes item 1, and 9/10 of item 2
+        assertFalse(ga.isOptimal());
+        assertEquals(0, new BigDecimal("9.1").compareTo(ga.getUpperBound()));
+        assertEquals(0, new BigDecimal("0.1").compareTo(ga.getGap()));
         logger.trace(ga.getBag().toString());
     }
 
@@ -78,5 +83,9 @@ class GreedyApproximationAlgoImplTest {
 
         if (!bfPrice.equals(BigDecimal.ZERO))
             assertTrue(bfPrice.compareTo(gaPrice.multiply(TWO)) < 0);
+
+        assertTrue(ga.getUpperBound().compareTo(bfPrice) >= 0);
+        assertEquals(ga.isOptimal(), ga.getGap().signum() == 0);
+        assertTrue(new FixedPointGreedyApproximationAlgoImpl(p).getUpperBound().compareTo(bfPrice) >= 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class IncrementalDynamicProgrammingAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalDynamicProgrammingAlgoImplTest.class);
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        IncrementalDynamicProgrammingAlgoImpl dp = new IncrementalDynamicProgrammingAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, dp.getBag().getResult());
+        assertEquals(0, dp.getReusedRows());
+    }
+
+    @Test
+    void testRepricedItem() throws Exception {
+        RecordInstance first = new RecordInstance(1, "75 : (1,85.31,€29) (2,14.55,€74) (3,3.98,€16) (4,26.24,€55)");
+        RecordInstance second = new RecordInstance(2, "75 : (1,85.31,€29) (2,14.55,€74) (3,3.98,€15) (4,26.24,€55)");
+        IncrementalDynamicProgrammingAlgoImpl previous = new IncrementalDynamicProgrammingAlgoImpl(first);
+        IncrementalDynamicProgrammingAlgoImpl next = new IncrementalDynamicProgrammingAlgoImpl(second, previous);
+
+        // Item 1 does not fit, and only the cheapest item was repriced, so two rows are kept
+        assertEquals(2, next.getReusedRows());
+        assertEquals(1, next.getComputedRows());
+        assertEquals(new IncrementalDynamicProgrammingAlgoImpl(second).getBag().getResult(), next.getBag().getResult());
+    }
+
+    @Test
+    void testAddedExpensiveItem() throws Exception {
+        RecordInstance first = new RecordInstance(1, "75 : (1,5.31,€29) (2,14.55,€74) (3,3.98,€16) (4,26.24,€55)");
+        RecordInstance second = new RecordInstance(2,
+                "75 : (1,5.31,€29) (2,14.55,€74) (3,3.98,€16) (4,26.24,€55) (5,40.5,€99)");
+        IncrementalDynamicProgrammingAlgoImpl previous = new IncrementalDynamicProgrammingAlgoImpl(first);
+        IncrementalDynamicProgrammingAlgoImpl next = new IncrementalDynamicProgrammingAlgoImpl(second, previous);
+
+        // The new item is the most expensive one, but it is appended after the four others
+        assertEquals(4, next.getReusedRows());
+        assertEquals(1, next.getComputedRows());
+        assertEquals(new IncrementalDynamicProgrammingAlgoImpl(second).getBag().getResult(), next.getBag().getResult());
+
+        // Repricing it again keeps the four rows
+        RecordInstance third = new RecordInstance(3,
+                "75 : (1,5.31,€29) (2,14.55,€74) (3,3.98,€16) (4,26.24,€55) (5,40.5,€89)");
+        IncrementalDynamicProgrammingAlgoImpl last = new IncrementalDynamicProgrammingAlgoImpl(third, next);
+        assertEquals(1, last.getComputedRows());
+        assertEquals(new IncrementalDynamicProgrammingAlgoImpl(third).getBag().getResult(), last.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        IncrementalDynamicProgrammingAlgoImpl previous = new IncrementalDynamicProgrammingAlgoImpl(p);
+        RecordInstance corrected = assertDoesNotThrow(() -> new RecordInstance(lineNo, correct(p)));
+        logger.trace("Corrected: {}", corrected.getItems());
+
+        IncrementalDynamicProgrammingAlgoImpl incremental = new IncrementalDynamicProgrammingAlgoImpl(corrected, previous);
+        IncrementalDynamicProgrammingAlgoImpl full = new IncrementalDynamicProgrammingAlgoImpl(corrected);
+
+        assertEquals(full.getBag().getIndices(), incremental.getBag().getIndices());
+        assertEquals(corrected.getItems().size(), incremental.getReusedRows() + incremental.getComputedRows());
+        // The lightest package of the best price is unique on random lines
+        assertEquals(new BruteForceAlgoImpl(corrected).getBag().getIndices(), incremental.getBag().getIndices());
+
+        // Chained corrections keep working on the retained state
+        IncrementalDynamicProgrammingAlgoImpl back = new IncrementalDynamicProgrammingAlgoImpl(p, incremental);
+        assertEquals(previous.getBag().getIndices(), back.getBag().getIndices());
+    }
+
+    /**
+     * Adds, removes or reprices a random item of the line.
+     */
+    private static String correct(final RecordInstance p) {
+        final List<Item> items = new ArrayList<>(p.getItems());
+        final List<String> triples = new ArrayList<>();
+        for (Item item : items)
+            triples.add(item.getWeight().toPlainString() + ",€" + item.getPrice().toPlainString());
+
+        final BigDecimal price = BigDecimal.valueOf(r.nextDouble() * 100 + 0.001).setScale(3, RoundingMode.HALF_UP);
+        final int position = triples.isEmpty() ? 0 : r.nextInt(triples.size());
+        // A line needs at least one item, so a single item is never removed
+        switch (triples.size() <= 1 ? 0 : r.nextInt(3)) {
+            case 0:
+                final BigDecimal weight = BigDecimal.valueOf(r.nextDouble() * 70 + 0.01).setScale(2, RoundingMode.HALF_UP);
+                if (triples.size() < 15)
+                    triples.add(weight.toPlainString() + ",€" + price.toPlainString());
+                break;
+            case 1:
+                triples.remove(position);
+                break;
+            default:
+                triples.set(position, items.get(position).getWeight().toPlainString() + ",€" + price.toPlainString());
+        }
+
+        final StringBuilder sb = new StringBuilder(p.getMaxWeight().toPlainString()).append(" :");
+        for (int i = 0; i < triples.size(); i++)
+            sb.append(" (").append(i + 1).append(",").append(triples.get(i)).append(")");
+        assertTrue(triples.size() <= 15);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class KBestSolverTest {
+
+    private static final int K = 5;
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        RecordInstance p = new RecordInstance(lineNo, line);
+        for (KBestSolver.Mode mode : KBestSolver.Mode.values()) {
+            List<Package> packages = KBestSolver.best(p, K, mode);
+            assertEquals(solution, packages.get(0).getResult());
+            assertEquals(ranks(allPackages(p), K), ranks(packages, K));
+        }
+    }
+
+    @Test
+    void testRanking() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,4,€10) (2,6,€10) (3,5,€8) (4,5,€3)");
+        List<String> expected = List.of("1,2", "1,3", "1,4", "3,4", "1", "2", "3", "4", "-");
+        for (KBestSolver.Mode mode : KBestSolver.Mode.values())
+            assertEquals(expected, KBestSolver.best(p, 20, mode).stream()
+                    .map(Package::getResult)
+                    .collect(Collectors.toList()));
+        assertEquals(List.of("1,2", "1,3"), KBestSolver.best(p, 2).stream()
+                .map(Package::getResult)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testTies() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,5,€10) (2,5,€10) (3,5,€10) (4,3,€1)");
+        assertEquals(List.of("1,2", "1,3", "2,3"), KBestSolver.ties(p).stream()
+                .map(Package::getResult)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testQuantities() throws LineFormatException {
+        // The pieces 1, 2, 2 of the quantity give 2 units in two ways, which are a single package
+        RecordInstance p = new RecordInstance(1, "4 : (1,2,€10,5)");
+        for (KBestSolver.Mode mode : KBestSolver.Mode.values())
+            assertEquals(List.of("1x2", "1", "-"), KBestSolver.best(p, 4, mode).stream()
+                    .map(Package::getResult)
+                    .collect(Collectors.toList()));
+        assertEquals(List.of("1x2"), KBestSolver.ties(p).stream()
+                .map(Package::getResult)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testNonPositiveK() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,4,€10)");
+        assertThrows(IllegalArgumentException.class, () -> KBestSolver.best(p, 0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        List<Package> all = allPackages(p);
+
+        List<String> expected = ranks(all, K);
+        assertEquals(expected, ranks(KBestSolver.best(p, K, KBestSolver.Mode.BRANCH_AND_BOUND), K));
+        assertEquals(expected, ranks(KBestSolver.best(p, K, KBestSolver.Mode.DYNAMIC_PROGRAMMING), K));
+
+        Package best = all.get(0);
+        assertEquals(all.stream()
+                        .filter(b -> b.getResultPrice().compareTo(best.getResultPrice()) == 0
+                                && b.getResultWeight().compareTo(best.getResultWeight()) == 0)
+                        .map(Package::getResult)
+                        .collect(Collectors.toList()),
+                KBestSolver.ties(p).stream().map(Package::getResult).collect(Collectors.toList()));
+        assertEquals(new BruteForceAlgoImpl(p).getBag().getResult(), KBestSolver.ties(p).get(0).getResult());
+    }
+
+    // The price and weight of the first k packages; ties on both may be returned in any order
+    private static List<String> ranks(final List<Package> packages, final int k) {
+        return packages.stream()
+                .limit(k)
+                .map(b -> b.getResultPrice().stripTrailingZeros().toPlainString()
+                        + "/" + b.getResultWeight().stripTrailingZeros().toPlainString())
+                .collect(Collectors.toList());
+    }
+
+    // Every feasible package, ranked
+    private static List<Package> allPackages(final RecordInstance p) {
+        List<Item> items = p.getItems();
+        List<Package> packages = new ArrayList<>();
+        for (int mask = 0; mask < 1 << items.size(); mask++) {
+            SortedSet<Integer> labels = new TreeSet<>();
+            BigDecimal weight = BigDecimal.ZERO;
+            for (int i = 0; i < items.size(); i++)
+                if ((mask & (1 << i)) != 0) {
+                    labels.add(items.get(i).getNumber());
+                    weight = weight.add(items.get(i).getWeight());
+                }
+            if (weight.compareTo(p.getMaxWeight()) <= 0)
+                packages.add(new Package(p.getMap(), labels));
+        }
+        packages.sort(KBestSolver.RANK);
+        return packages;
+    }
+}
@@ -0,0 +1,80 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MeetInTheMiddleAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(MeetInTheMiddleAlgoImplTest.class);
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        MeetInTheMiddleAlgoImpl mitm = new MeetInTheMiddleAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, mitm.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BruteForceAlgoImpl bf = new BruteForceAlgoImpl(p);
+        MeetInTheMiddleAlgoImpl mitm = new MeetInTheMiddleAlgoImpl(p);
+
+        Package bfBag = bf.getBag();
+        Package mitmBag = mitm.getBag();
+
+        logger.trace("Brute force result:          " + bfBag);
+        logger.trace("Meet in the middle result:   " + mitmBag);
+
+        // max price, then min weight
+        assertEquals(bfBag.getResultPrice(), mitmBag.getResultPrice());
+        assertEquals(0, bfBag.getResultWeight().compareTo(mitmBag.getResultWeight()));
+    }
+
+    @RepeatedTest(20)
+    void largeCase() {
+        // 40 items are far beyond the brute-force horizon, so the packed DP is the reference
+        final int count = 40;
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(1000) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(1000) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(r.nextInt(10000) + 1,
+                weights, prices, labels, 0, 0);
+
+        final long mask = MeetInTheMiddleAlgoImpl.mitmSolve(instance);
+        long weight = 0;
+        long price = 0;
+        for (int j = 0; j < count; j++)
+            if ((mask & (1L << j)) != 0) {
+                weight += weights[j];
+                price += prices[j];
+            }
+
+        final SortedSet<Integer> dp = DynamicProgrammingAlgoImpl.packedDpSolve(instance);
+        final long dpPrice = dp.stream().mapToLong(label -> prices[label - 1]).sum();
+
+        assertTrue(weight <= instance.getMaxWeight());
+        assertEquals(dpPrice, price);
+    }
+}
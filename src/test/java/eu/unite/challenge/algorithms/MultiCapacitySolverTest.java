@@ -0,0 +1,93 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.ItemException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MultiCapacitySolverTest {
+
+    static Random r = new Random();
+
+    @Test
+    void givenItems() throws ItemException {
+        final List<Item> items = List.of(
+                new Item(1, new BigDecimal("53.38"), new BigDecimal("45")),
+                new Item(2, new BigDecimal("88.62"), new BigDecimal("98")),
+                new Item(3, new BigDecimal("78.48"), new BigDecimal("3")),
+                new Item(4, new BigDecimal("72.30"), new BigDecimal("76")),
+                new Item(5, new BigDecimal("30.18"), new BigDecimal("9")),
+                new Item(6, new BigDecimal("46.34"), new BigDecimal("48")));
+        final SortedMap<BigDecimal, Package> packages = MultiCapacitySolver.solve(items,
+                List.of(new BigDecimal("81"), BigDecimal.ZERO, new BigDecimal("8"), new BigDecimal("100")));
+
+        assertEquals(List.of(BigDecimal.ZERO, new BigDecimal("8"), new BigDecimal("81"), new BigDecimal("100")),
+                new ArrayList<>(packages.keySet()));
+        assertEquals("-", packages.get(BigDecimal.ZERO).getResult());
+        assertEquals("-", packages.get(new BigDecimal("8")).getResult());
+        assertEquals("4", packages.get(new BigDecimal("81")).getResult());
+        assertEquals("2", packages.get(new BigDecimal("100")).getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        final RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        final List<Item> items = p.getItems();
+        final List<BigDecimal> maxWeights = new ArrayList<>();
+        maxWeights.add(p.getMaxWeight());
+        for (int i = 0; i < 5; i++)
+            maxWeights.add(BigDecimal.valueOf(r.nextInt(20_000), 2));
+
+        final SortedMap<BigDecimal, Package> packages = MultiCapacitySolver.solve(items, maxWeights);
+        for (BigDecimal maxWeight : maxWeights)
+            assertEquals(separateSolve(items, maxWeight), packages.get(maxWeight).getIndices(), maxWeight.toString());
+        assertEquals(new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.PACKED).getBag().getResult(),
+                packages.get(p.getMaxWeight()).getResult());
+    }
+
+    @Test
+    void testNegativeMaxWeight() throws ItemException {
+        final List<Item> items = List.of(new Item(1, BigDecimal.ONE, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> MultiCapacitySolver.solve(items, List.of(BigDecimal.ONE, BigDecimal.ONE.negate())));
+    }
+
+    @Test
+    void testNoMaxWeights() throws ItemException {
+        final List<Item> items = List.of(new Item(1, BigDecimal.ONE, BigDecimal.ONE));
+        assertTrue(MultiCapacitySolver.solve(items, List.of()).isEmpty());
+    }
+
+    // The packed dynamic programming, solved for a single maximum weight
+    private static SortedSet<Integer> separateSolve(final List<Item> items, final BigDecimal maxWeight) {
+        int weightScale = maxWeight.scale();
+        int priceScale = 0;
+        for (Item item : items) {
+            weightScale = Math.max(weightScale, item.getWeight().scale());
+            priceScale = Math.max(priceScale, item.getPrice().scale());
+        }
+        return DynamicProgrammingAlgoImpl.packedDpSolve(new FixedPointInstance(maxWeight,
+                items.stream().sorted(ItemComparators.priceWeight.reversed()).collect(Collectors.toList()),
+                weightScale, priceScale));
+    }
+}
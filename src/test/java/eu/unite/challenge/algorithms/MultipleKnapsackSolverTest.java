@@ -0,0 +1,176 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.ItemException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MultipleKnapsackSolverTest {
+
+    static Random r = new Random();
+
+    @Test
+    void givenItems() throws ItemException {
+        // Solving 10 first takes items 1 and 2, and leaves nothing for 5
+        final List<Item> items = List.of(
+                new Item(1, new BigDecimal("5"), new BigDecimal("6")),
+                new Item(2, new BigDecimal("5"), new BigDecimal("6")),
+                new Item(3, new BigDecimal("10"), new BigDecimal("11")));
+        final List<BigDecimal> maxWeights = List.of(BigDecimal.TEN, new BigDecimal("5"));
+        for (MultipleKnapsackSolver.Mode mode : MultipleKnapsackSolver.Mode.values()) {
+            final List<Package> packages = MultipleKnapsackSolver.solve(items, maxWeights, mode);
+            assertEquals(2, packages.size());
+            assertEquals(new BigDecimal("17"), totalPrice(packages), mode.toString());
+            assertFeasible(items, maxWeights, packages);
+        }
+        assertEquals(List.of("3", "1"), MultipleKnapsackSolver.solve(items, maxWeights).stream()
+                .map(Package::getResult)
+                .collect(Collectors.toList()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        final RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        final List<Item> items = p.getItems().subList(0, Math.min(8, p.getItems().size()));
+        final List<BigDecimal> maxWeights = List.of(BigDecimal.valueOf(r.nextInt(10_000), 2),
+                BigDecimal.valueOf(r.nextInt(10_000), 2), BigDecimal.valueOf(r.nextInt(100), 0));
+
+        final List<Package> exact = MultipleKnapsackSolver.solve(items, maxWeights, MultipleKnapsackSolver.Mode.EXACT);
+        final List<Package> greedy = MultipleKnapsackSolver.solve(items, maxWeights, MultipleKnapsackSolver.Mode.GREEDY);
+        assertFeasible(items, maxWeights, exact);
+        assertFeasible(items, maxWeights, greedy);
+        assertEquals(0, bruteForce(items, maxWeights, 0, new BigDecimal[maxWeights.size()])
+                .compareTo(totalPrice(exact)), line);
+        assertTrue(totalPrice(greedy).compareTo(totalPrice(exact)) <= 0);
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomSingleCase(final int lineNo, final String line) {
+        // With a single package, the price is the one of a single solve
+        final RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        final List<Package> packages = MultipleKnapsackSolver.solve(p.getItems(), List.of(p.getMaxWeight()));
+        assertEquals(0, new DynamicProgrammingAlgoImpl(p).getBag().getResultPrice()
+                .compareTo(packages.get(0).getResultPrice()));
+    }
+
+    @Test
+    void testLargePool() {
+        // 500 items, which fall back to the greedy mode
+        final int count = 500;
+        final long[] weights = new long[count];
+        final long[] prices = new long[count];
+        final int[] labels = new int[count];
+        for (int i = 0; i < count; i++) {
+            weights[i] = 1 + r.nextInt(10_000);
+            prices[i] = 1 + r.nextInt(10_000);
+            labels[i] = i + 1;
+        }
+        final FixedPointInstance instance = new FixedPointInstance(0, weights, prices, labels, 2, 2);
+        final long[] capacities = {50_000, 120_000, 0, 75_000};
+
+        final List<SortedSet<Integer>> packages = MultipleKnapsackSolver.assign(instance, capacities);
+        assertEquals(capacities.length, packages.size());
+        final Set<Integer> used = new HashSet<>();
+        final long[] room = capacities.clone();
+        for (int k = 0; k < capacities.length; k++) {
+            for (int label : packages.get(k)) {
+                assertTrue(used.add(label));
+                room[k] -= weights[label - 1];
+            }
+            assertTrue(room[k] >= 0);
+        }
+        assertTrue(packages.get(2).isEmpty());
+
+        // No item which is left out fits in the room left in a package
+        for (int i = 0; i < count; i++)
+            if (!used.contains(labels[i]))
+                for (int k = 0; k < capacities.length; k++)
+                    assertTrue(weights[i] > room[k]);
+    }
+
+    @Test
+    void testQuantities() throws ItemException {
+        // 15 items, but 75 pieces, which fall back to the greedy mode
+        final List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= 15; i++)
+            items.add(new Item(i, BigDecimal.valueOf(1 + r.nextInt(6)), BigDecimal.valueOf(1 + r.nextInt(100)), 20));
+        final List<BigDecimal> maxWeights = List.of(BigDecimal.valueOf(95 + r.nextInt(10)),
+                BigDecimal.valueOf(95 + r.nextInt(10)), BigDecimal.valueOf(95 + r.nextInt(10)));
+
+        final List<Package> packages = MultipleKnapsackSolver.solve(items, maxWeights);
+        assertEquals(MultipleKnapsackSolver.solve(items, maxWeights, MultipleKnapsackSolver.Mode.GREEDY).stream()
+                        .map(Package::getResult)
+                        .collect(Collectors.toList()),
+                packages.stream().map(Package::getResult).collect(Collectors.toList()));
+        for (int k = 0; k < packages.size(); k++)
+            assertTrue(packages.get(k).getResultWeight().compareTo(maxWeights.get(k)) <= 0);
+    }
+
+    @Test
+    void testNegativeMaxWeight() throws ItemException {
+        final List<Item> items = List.of(new Item(1, BigDecimal.ONE, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> MultipleKnapsackSolver.solve(items, List.of(BigDecimal.ONE, BigDecimal.ONE.negate())));
+    }
+
+    @Test
+    void testNoMaxWeights() throws ItemException {
+        final List<Item> items = List.of(new Item(1, BigDecimal.ONE, BigDecimal.ONE));
+        assertTrue(MultipleKnapsackSolver.solve(items, List.of()).isEmpty());
+    }
+
+    private static BigDecimal totalPrice(final List<Package> packages) {
+        return packages.stream().map(Package::getResultPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static void assertFeasible(final List<Item> items, final List<BigDecimal> maxWeights,
+                                       final List<Package> packages) {
+        final Set<Integer> used = new HashSet<>();
+        for (int k = 0; k < packages.size(); k++) {
+            assertTrue(packages.get(k).getResultWeight().compareTo(maxWeights.get(k)) <= 0);
+            for (int label : packages.get(k).getIndices())
+                assertTrue(used.add(label));
+        }
+        assertTrue(items.stream().map(Item::getNumber).collect(Collectors.toSet()).containsAll(used));
+    }
+
+    // Tries every package, or none, for every item
+    private static BigDecimal bruteForce(final List<Item> items, final List<BigDecimal> maxWeights,
+                                         final int level, final BigDecimal[] weights) {
+        if (level == items.size())
+            return BigDecimal.ZERO;
+        final Item item = items.get(level);
+        BigDecimal best = bruteForce(items, maxWeights, level + 1, weights);
+        for (int k = 0; k < weights.length; k++) {
+            final BigDecimal previous = weights[k] == null ? BigDecimal.ZERO : weights[k];
+            if (previous.add(item.getWeight()).compareTo(maxWeights.get(k)) > 0)
+                continue;
+            weights[k] = previous.add(item.getWeight());
+            best = best.max(item.getPrice().add(bruteForce(items, maxWeights, level + 1, weights)));
+            weights[k] = previous;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,59 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ParallelBranchAndBoundAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelBranchAndBoundAlgoImplTest.class);
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        ParallelBranchAndBoundAlgoImpl bb = new ParallelBranchAndBoundAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, bb.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        DepthFirstBranchAndBoundAlgoImpl dfs = new DepthFirstBranchAndBoundAlgoImpl(p);
+        ParallelBranchAndBoundAlgoImpl parallel = new ParallelBranchAndBoundAlgoImpl(p, 3);
+
+        // The parallel solver must be identical to the sequential one
+        assertEquals(dfs.getBag().getIndices(), parallel.getBag().getIndices());
+    }
+
+    @RepeatedTest(20)
+    void largeCase() {
+        final int count = 150;
+        // Few distinct values, so that there are many complete ties
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(20) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(20) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(r.nextInt(500) + 1,
+                weights, prices, labels, 0, 0);
+        final FixedPointInstance sorted = instance.sorted(ItemComparators.efficiencyPrice(instance).reversed());
+
+        final long[] sequential = DepthFirstBranchAndBoundAlgoImpl.dfsSolve(sorted);
+        for (int parallelism = 1; parallelism <= 8; parallelism *= 2)
+            assertArrayEquals(sequential, ParallelBranchAndBoundAlgoImpl.parallelSolve(sorted, parallelism));
+    }
+}
@@ -0,0 +1,85 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ParetoFrontierAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(ParetoFrontierAlgoImplTest.class);
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        ParetoFrontierAlgoImpl pareto = new ParetoFrontierAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, pareto.getBag().getResult());
+    }
+
+    @Test
+    void testHighPrecisionWeights() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1,
+                "99.81351234: (1, 5.33121234, €10) (2, 60.00014321, €20) (3, 40.48231111, €15) (4, 34.4823, €15)");
+        ParetoFrontierAlgoImpl pareto = new ParetoFrontierAlgoImpl(p);
+        assertEquals("1,3,4", pareto.getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BruteForceAlgoImpl bf = new BruteForceAlgoImpl(p);
+        ParetoFrontierAlgoImpl pareto = new ParetoFrontierAlgoImpl(p);
+
+        Package bfBag = bf.getBag();
+        Package paretoBag = pareto.getBag();
+
+        logger.trace("Brute force result:      " + bfBag);
+        logger.trace("Pareto frontier result:  " + paretoBag);
+
+        // max price, then min weight
+        assertEquals(bfBag.getResultPrice(), paretoBag.getResultPrice());
+        assertEquals(0, bfBag.getResultWeight().compareTo(paretoBag.getResultWeight()));
+    }
+
+    @RepeatedTest(20)
+    void largeCase() {
+        // 200 items are beyond any bitmask, and weights with 9 digits are beyond any dense table
+        final int count = 200;
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(1_000_000_000) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(100) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(r.nextInt(1_000_000_000) + 10_000_000_000L,
+                weights, prices, labels, 9, 0);
+
+        final SortedSet<Integer> pareto = ParetoFrontierAlgoImpl.paretoSolve(instance);
+        final long weight = pareto.stream().mapToLong(label -> weights[label - 1]).sum();
+        final long price = pareto.stream().mapToLong(label -> prices[label - 1]).sum();
+
+        final SortedSet<Integer> dp = ProfitDynamicProgrammingAlgoImpl.profitDpSolve(instance);
+
+        assertTrue(weight <= instance.getMaxWeight());
+        assertEquals(dp.stream().mapToLong(label -> prices[label - 1]).sum(), price);
+        assertEquals(dp.stream().mapToLong(label -> weights[label - 1]).sum(), weight);
+    }
+}
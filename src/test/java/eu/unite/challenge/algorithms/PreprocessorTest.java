@@ -0,0 +1,101 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class PreprocessorTest {
+
+    @Test
+    void testDominatedItems() throws LineFormatException {
+        // Item 3 is dominated by items 1 and 2, which do not fit together with it
+        RecordInstance p = new RecordInstance(1, "10 : (1,5,€50) (2,5,€40) (3,6,€10) (4,4,€1)");
+        Preprocessor.Reduction reduction = Preprocessor.reduce(p);
+        assertEquals(1, reduction.getDominatedItems());
+        assertEquals(3, reduction.getInstance().getItems().size());
+        assertFalse(reduction.getInstance().getMap().containsKey(3));
+        assertFalse(reduction.isAllFit());
+    }
+
+    @Test
+    void testDominatedItemWhichFits() throws LineFormatException {
+        // Item 2 is dominated by item 1, but both fit together, so it is kept
+        RecordInstance p = new RecordInstance(1, "10 : (1,4,€10) (2,5,€9) (3,8,€12)");
+        Preprocessor.Reduction reduction = Preprocessor.reduce(p);
+        assertEquals(0, reduction.getDominatedItems());
+        assertSame(p, reduction.getInstance());
+        assertEquals("1,2", new BruteForceAlgoImpl(p).getBag().getResult());
+    }
+
+    @Test
+    void testDominatedItemWithVolume() throws LineFormatException {
+        // Item 3 is heavier and cheaper than items 1 and 2, but only item 1 is not larger, and it fits with 3
+        RecordInstance p = new RecordInstance(1, "11,10 : (1,5,€50,1) (2,5,€40,9) (3,6,€10,2)");
+        assertEquals(0, Preprocessor.reduce(p).getDominatedItems());
+
+        // Volumes which do not fit together make an item dominated as well
+        RecordInstance q = new RecordInstance(1, "100,10 : (1,5,€50,5) (2,5,€40,5) (3,6,€10,6)");
+        assertEquals(1, Preprocessor.reduce(q).getDominatedItems());
+        assertTrue(Preprocessor.reduce(q).isAllFit());
+        assertEquals("1,2", new TwoDimensionalAlgoImpl(q).getBag().getResult());
+    }
+
+    @Test
+    void testAllFit() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10 : (1,4,€10) (2,5,€9) (3,12,€12)");
+        Preprocessor.Reduction reduction = Preprocessor.reduce(p);
+        assertTrue(reduction.isAllFit());
+        assertEquals("1,2", new DynamicProgrammingAlgoImpl(p).getBag().getResult());
+        assertTrue(new DynamicProgrammingAlgoImpl(p).getReduction().isAllFit());
+    }
+
+    @Test
+    void testWeightUnit() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10.3 : (1,0.25,€1) (2,0.5,€2) (3,1.75,€3)");
+        assertEquals(0, new BigDecimal("0.25").compareTo(Preprocessor.weightUnit(p)));
+        assertEquals(0, new BigDecimal("25").compareTo(Preprocessor.reduce(p).getWidthReduction()));
+
+        FixedPointInstance normalized = Preprocessor.normalize(new FixedPointInstance(p));
+        assertEquals(41, normalized.getMaxWeight());
+        assertEquals(1, normalized.weight(0));
+        assertEquals(2, normalized.weight(1));
+        assertEquals(7, normalized.weight(2));
+        assertEquals(3, normalized.label(2));
+    }
+
+    @Test
+    void testNormalizeCoprime() throws LineFormatException {
+        FixedPointInstance instance = new FixedPointInstance(new RecordInstance(1, "10 : (1,2,€1) (2,3,€2)"));
+        assertSame(instance, Preprocessor.normalize(instance));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+
+        // The best package of the original instance, without any reduction
+        FixedPointInstance original = new FixedPointInstance(p);
+        Package expected = new Package(p.getMap(), original.labelsOf(BruteForceAlgoImpl.grayCodeSolve(original)));
+        Package reduced = new BruteForceAlgoImpl(p).getBag();
+
+        assertEquals(0, expected.getResultPrice().compareTo(reduced.getResultPrice()));
+        assertEquals(0, expected.getResultWeight().compareTo(reduced.getResultWeight()));
+        assertEquals(new DynamicProgrammingAlgoImpl(p, DynamicProgrammingAlgoImpl.Mode.PACKED).getBag().getIndices(),
+                new DynamicProgrammingAlgoImpl(p).getBag().getIndices());
+    }
+}
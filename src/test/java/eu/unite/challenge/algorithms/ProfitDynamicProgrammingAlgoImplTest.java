@@ -0,0 +1,98 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.FixedPointInstance;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProfitDynamicProgrammingAlgoImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(ProfitDynamicProgrammingAlgoImplTest.class);
+
+    static Random r = new Random();
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        ProfitDynamicProgrammingAlgoImpl dp = new ProfitDynamicProgrammingAlgoImpl(new RecordInstance(lineNo, line));
+        assertEquals(solution, dp.getBag().getResult());
+    }
+
+    @Test
+    void testHighPrecisionWeights() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "99.8135: (1, 5.3312, €10) (2, 60.0001, €20) (3, 40.4823, €15)");
+        assertThrows(OutOfRangeProblemSizeException.class, () ->
+                new DynamicProgrammingAlgoImpl(p));
+        ProfitDynamicProgrammingAlgoImpl dp = new ProfitDynamicProgrammingAlgoImpl(p);
+        assertEquals("1,2", dp.getBag().getResult());
+    }
+
+    @Test
+    void testHugePrice() {
+        final FixedPointInstance instance = new FixedPointInstance(10,
+                new long[]{1, 2}, new long[]{2_000_000_000L, 3}, new int[]{1, 2}, 0, 0);
+        assertThrows(OutOfRangeProblemSizeException.class, () ->
+                ProfitDynamicProgrammingAlgoImpl.profitDpSolve(instance));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        BruteForceAlgoImpl bf = new BruteForceAlgoImpl(p);
+        ProfitDynamicProgrammingAlgoImpl dp = new ProfitDynamicProgrammingAlgoImpl(p);
+
+        Package bfBag = bf.getBag();
+        Package dpBag = dp.getBag();
+
+        logger.trace("Brute force result:          " + bfBag);
+        logger.trace("Profit DP result:            " + dpBag);
+
+        // max price, then min weight
+        assertEquals(bfBag.getResultPrice(), dpBag.getResultPrice());
+        assertEquals(0, bfBag.getResultWeight().compareTo(dpBag.getResultWeight()));
+    }
+
+    @RepeatedTest(20)
+    void largeCase() {
+        // Weights with 9 digits are far beyond any weight-indexed table, but prices are small
+        final int count = 60;
+        final long[] weights = IntStream.range(0, count).mapToLong(i -> r.nextInt(1_000_000_000) + 1).toArray();
+        final long[] prices = IntStream.range(0, count).mapToLong(i -> r.nextInt(100) + 1).toArray();
+        final int[] labels = IntStream.rangeClosed(1, count).toArray();
+        final FixedPointInstance instance = new FixedPointInstance(r.nextInt(10_000_000) + 10_000_000_000L,
+                weights, prices, labels, 9, 0);
+
+        final SortedSet<Integer> dp = ProfitDynamicProgrammingAlgoImpl.profitDpSolve(instance);
+        final long weight = dp.stream().mapToLong(label -> weights[label - 1]).sum();
+        final long price = dp.stream().mapToLong(label -> prices[label - 1]).sum();
+
+        final FixedPointInstance sorted = instance.sorted(ItemComparators.efficiencyPrice(instance).reversed());
+        final long[] bits = DepthFirstBranchAndBoundAlgoImpl.dfsSolve(sorted);
+        final SortedSet<Integer> bb = sorted.labelsOf(bits);
+
+        assertTrue(weight <= instance.getMaxWeight());
+        assertEquals(bb.stream().mapToLong(label -> prices[label - 1]).sum(), price);
+        assertEquals(bb.stream().mapToLong(label -> weights[label - 1]).sum(), weight);
+    }
+}
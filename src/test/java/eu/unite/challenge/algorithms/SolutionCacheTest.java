@@ -0,0 +1,157 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.RecordInstance;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class SolutionCacheTest {
+
+    private static SortedSet<Integer> bruteForce(final RecordInstance r) {
+        return new BruteForceAlgoImpl(r).getBag().getIndices();
+    }
+
+    @Test
+    void testIdenticalLines() throws Exception {
+        SolutionCache cache = new SolutionCache(10);
+        String line = "75 : (1,85.31,€29) (2,14.55,€74) (3,3.98,€16) (4,26.24,€55) (5,63.69,€52) (6,76.25,€75) (7,60.02,€74) (8,93.18,€35) (9,89.95,€78)";
+
+        assertEquals("2,7", result(cache, new RecordInstance(1, line)));
+        assertEquals("2,7", result(cache, new RecordInstance(2, line)));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testRemappedLabels() throws Exception {
+        SolutionCache cache = new SolutionCache(10);
+        RecordInstance first = new RecordInstance(1, "75 : (1,85.31,€29) (2,14.55,€74) (3,3.98,€16) (4,26.24,€55) (5,63.69,€52) (6,76.25,€75) (7,60.02,€74) (8,93.18,€35) (9,89.95,€78)");
+        // The same items in another order, with trailing zeros added and removed
+        RecordInstance second = new RecordInstance(2, "75.0 : (1,89.95,€78) (2,93.18,€35) (3,60.020,€74) (4,76.25,€75.0) (5,63.69,€52) (6,26.24,€55) (7,3.98,€16) (8,14.550,€74) (9,85.31,€29)");
+
+        assertEquals("2,7", result(cache, first));
+        assertEquals("3,8", result(cache, second));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testBoundedLines() throws Exception {
+        SolutionCache cache = new SolutionCache(10);
+        RecordInstance first = new RecordInstance(1, "10 : (1,3,€5,3) (2,4,€7,2)");
+        RecordInstance second = new RecordInstance(2, "10 : (1,4,€7,2) (2,3,€5,3)");
+        // A different quantity is a different line
+        RecordInstance third = new RecordInstance(3, "10 : (1,4,€7,2) (2,3,€5,1)");
+
+        assertEquals("1x2,2", result(cache, first));
+        assertEquals("1,2x2", result(cache, second));
+        assertEquals("1x2", result(cache, third));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testVolumeLines() throws Exception {
+        SolutionCache cache = new SolutionCache(10);
+        RecordInstance weightOnly = new RecordInstance(1, "10 : (1,6,€10) (2,4,€9) (3,4,€8)");
+        RecordInstance volume = new RecordInstance(2, "10,6 : (1,6,€10,1) (2,4,€9,6) (3,4,€8,5)");
+        RecordInstance larger = new RecordInstance(3, "10,7 : (1,6,€10,1) (2,4,€9,6) (3,4,€8,5)");
+
+        assertEquals("1,2", result(cache, weightOnly));
+        assertEquals("1,3", new CachedAlgoImpl(volume, cache, TwoDimensionalAlgoImpl::new).getBag().getResult());
+        assertEquals("1,2", new CachedAlgoImpl(larger, cache, TwoDimensionalAlgoImpl::new).getBag().getResult());
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testTieBreakOfPermutations() throws Exception {
+        // The two 5s and 5+3+2 both cost €10 and weigh 10, and the solver's choice depends on the order of the items
+        RecordInstance first = new RecordInstance(1, "10 : (1,5,€5) (2,5,€5) (3,3,€3) (4,2,€2) (5,7,€6)");
+        RecordInstance second = new RecordInstance(2, "10 : (1,2,€2) (2,3,€3) (3,7,€6) (4,5,€5) (5,5,€5)");
+
+        SolutionCache firstSolved = new SolutionCache(10);
+        String firstResult = new CachedAlgoImpl(first, firstSolved).getBag().getResult();
+        String secondResult = new CachedAlgoImpl(second, firstSolved).getBag().getResult();
+
+        SolutionCache secondSolved = new SolutionCache(10);
+        assertEquals(secondResult, new CachedAlgoImpl(second, secondSolved).getBag().getResult());
+        assertEquals(firstResult, new CachedAlgoImpl(first, secondSolved).getBag().getResult());
+        assertEquals(1, firstSolved.getHits());
+        assertEquals(1, secondSolved.getHits());
+    }
+
+    @Test
+    void testEviction() throws Exception {
+        SolutionCache cache = new SolutionCache(2);
+        RecordInstance a = new RecordInstance(1, "8 : (1,15.3,€34)");
+        RecordInstance b = new RecordInstance(2, "10 : (1,1,€1) (2,10,€9)");
+        RecordInstance c = new RecordInstance(3, "10 : (1,1,€1) (2,9,€9)");
+
+        cache.solve(a, SolutionCacheTest::bruteForce);
+        cache.solve(b, SolutionCacheTest::bruteForce);
+        // a is now the most recently used entry, so b is evicted by c
+        cache.solve(a, SolutionCacheTest::bruteForce);
+        cache.solve(c, SolutionCacheTest::bruteForce);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+
+        cache.solve(a, SolutionCacheTest::bruteForce);
+        cache.solve(b, SolutionCacheTest::bruteForce);
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    void testParallelStream() throws Exception {
+        SolutionCache cache = new SolutionCache(3);
+        List<String> lines = List.of(
+                "81 : (1,53.38,€45) (2,88.62,€98) (3,78.48,€3) (4,72.30,€76) (5,30.18,€9) (6,46.34,€48)",
+                "75 : (1,85.31,€29) (2,14.55,€74) (3,3.98,€16) (4,26.24,€55) (5,63.69,€52) (6,76.25,€75) (7,60.02,€74) (8,93.18,€35) (9,89.95,€78)",
+                "56 : (1,90.72,€13) (2,33.80,€40) (3,43.15,€10) (4,37.97,€16) (5,46.81,€36) (6,48.77,€79) (7,81.80,€45) (8,19.36,€79) (9,6.76,€64)",
+                "8 : (1,15.3,€34)");
+        List<String> solutions = List.of("4", "2,7", "8,9", "-");
+        AtomicInteger solved = new AtomicInteger();
+
+        List<String> results = IntStream.range(0, 2000).parallel()
+                .mapToObj(i -> {
+                    try {
+                        RecordInstance r = new RecordInstance(i, lines.get(i % lines.size()));
+                        return cache.solve(r, miss -> {
+                            solved.incrementAndGet();
+                            return bruteForce(miss);
+                        });
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .map(labels -> labels.isEmpty() ? "-"
+                        : labels.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < results.size(); i++)
+            assertEquals(solutions.get(i % solutions.size()), results.get(i));
+        assertEquals(2000, cache.getHits() + cache.getMisses());
+        assertEquals(solved.get(), cache.getMisses());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SolutionCache(0));
+    }
+
+    private static String result(final SolutionCache cache, final RecordInstance r) {
+        return new CachedAlgoImpl(r, cache, BruteForceAlgoImpl::new).getBag().getResult();
+    }
+}
@@ -0,0 +1,96 @@
+package eu.unite.challenge.algorithms;
+
+
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SolverSelectorTest {
+    private static final Logger logger = LoggerFactory.getLogger(SolverSelectorTest.class);
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
+    void solve(final int lineNo, final String line, final String solution) throws Exception {
+        SolverSelector.Decision decision = SolverSelector.solve(new RecordInstance(lineNo, line));
+        assertEquals(solution, decision.getSolver().getBag().getResult());
+    }
+
+    @Test
+    void testVolumeLine() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10,6 : (1,6,€10,1) (2,4,€9,6) (3,4,€8,5)");
+        assertEquals(Collections.singleton(SolverSelector.Strategy.TWO_DIMENSIONAL), SolverSelector.estimate(p).keySet());
+        assertEquals("1,3", SolverSelector.solve(p).getSolver().getBag().getResult());
+        assertEquals("1,3", new CachedAlgoImpl(p, new SolutionCache(1)).getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomCase(final int lineNo, final String line) {
+        logger.trace("{} --- {}\n", lineNo, line);
+
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        SolverSelector.Decision decision = SolverSelector.solve(p);
+        logger.trace("{}", decision);
+
+        // The cheapest strategy is chosen, and its costs are exposed
+        Map<SolverSelector.Strategy, Double> estimates = decision.getEstimates();
+        assertEquals(Collections.min(estimates.values()).doubleValue(), decision.getEstimatedCost());
+        assertTrue(decision.getActualNanos() >= 0);
+
+        Package bfBag = new BruteForceAlgoImpl(p).getBag();
+        Package bag = decision.getSolver().getBag();
+
+        // max price, then min weight
+        assertEquals(bfBag.getResultPrice(), bag.getResultPrice());
+        assertEquals(0, bfBag.getResultWeight().compareTo(bag.getResultWeight()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#boundedSource")
+    void randomBoundedCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        DynamicProgrammingAlgoImplTest.assertBounded(p, DynamicProgrammingAlgoImplTest.boundedPrice(p),
+                SolverSelector.solve(p).getSolver().getBag());
+    }
+
+    @Test
+    void testHighPrecisionWeights() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "99.8135: (1, 5.3312, €10) (2, 60.0001, €20) (3, 40.4823, €15)");
+        Map<SolverSelector.Strategy, Double> estimates = SolverSelector.estimate(p);
+
+        // W is about 10^6 here, so the weight-indexed table is never the cheapest
+        assertTrue(estimates.containsKey(SolverSelector.Strategy.PROFIT_DYNAMIC_PROGRAMMING));
+        assertTrue(estimates.get(SolverSelector.Strategy.DYNAMIC_PROGRAMMING)
+                > estimates.get(SolverSelector.Strategy.PROFIT_DYNAMIC_PROGRAMMING));
+
+        SolverSelector.Decision decision = SolverSelector.solve(p);
+        assertFalse(decision.getStrategy() == SolverSelector.Strategy.DYNAMIC_PROGRAMMING);
+        assertEquals("1,2", decision.getSolver().getBag().getResult());
+    }
+
+    @Test
+    void testOutOfRangeStrategiesAreSkipped() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "99.81351: (1, 5.33001, €10.123456789) (2, 95.33, €10)");
+        Map<SolverSelector.Strategy, Double> estimates = SolverSelector.estimate(p);
+
+        // Both W and P are out of range for the dynamic programming solvers
+        assertFalse(estimates.containsKey(SolverSelector.Strategy.DYNAMIC_PROGRAMMING));
+        assertFalse(estimates.containsKey(SolverSelector.Strategy.PROFIT_DYNAMIC_PROGRAMMING));
+        assertEquals("1", SolverSelector.solve(p).getSolver().getBag().getResult());
+    }
+}
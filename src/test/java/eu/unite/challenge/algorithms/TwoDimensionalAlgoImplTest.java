@@ -0,0 +1,118 @@
+package eu.unite.challenge.algorithms;
+
+import eu.unite.challenge.dataobjects.Item;
+import eu.unite.challenge.dataobjects.Package;
+import eu.unite.challenge.dataobjects.RecordInstance;
+import eu.unite.challenge.exceptions.LineFormatException;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TwoDimensionalAlgoImplTest {
+
+    static Random r = new Random();
+
+    @Test
+    void givenLine() throws LineFormatException {
+        // By weight only, 1,2 is the best package, but its volume 7 exceeds 6
+        RecordInstance p = new RecordInstance(1, "10,6 : (1,6,€10,1) (2,4,€9,6) (3,4,€8,5)");
+        for (TwoDimensionalAlgoImpl.Mode mode : TwoDimensionalAlgoImpl.Mode.values())
+            assertEquals("1,3", new TwoDimensionalAlgoImpl(p, mode).getBag().getResult(), mode.toString());
+        assertEquals("1,3", new TwoDimensionalAlgoImpl(p).getBag().getResult());
+        assertEquals("1,2", new BruteForceAlgoImpl(new RecordInstance(1, "10 : (1,6,€10) (2,4,€9) (3,4,€8)"))
+                .getBag().getResult());
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#volumeSource")
+    void randomCase(final int lineNo, final String line) {
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        Package expected = bruteForce(p);
+
+        for (TwoDimensionalAlgoImpl.Mode mode : TwoDimensionalAlgoImpl.Mode.values()) {
+            Package bag = new TwoDimensionalAlgoImpl(p, mode).getBag();
+            assertTrue(bag.getResultWeight().compareTo(p.getMaxWeight()) <= 0);
+            assertTrue(bag.getResultVolume().compareTo(p.getMaxVolume()) <= 0);
+
+            // max price, then min weight, then min volume
+            assertEquals(0, expected.getResultPrice().compareTo(bag.getResultPrice()), line);
+            assertEquals(0, expected.getResultWeight().compareTo(bag.getResultWeight()), line);
+            assertEquals(0, expected.getResultVolume().compareTo(bag.getResultVolume()), line);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("eu.unite.challenge.sources.TestCaseSources#randomSource")
+    void randomWeightOnlyCase(final int lineNo, final String line) {
+        // Without a maximum volume, the result is that of the other solvers
+        RecordInstance p = assertDoesNotThrow(() -> new RecordInstance(lineNo, line));
+        Package bfBag = new BruteForceAlgoImpl(p).getBag();
+
+        for (TwoDimensionalAlgoImpl.Mode mode : TwoDimensionalAlgoImpl.Mode.values()) {
+            Package bag = new TwoDimensionalAlgoImpl(p, mode).getBag();
+            assertEquals(0, bfBag.getResultPrice().compareTo(bag.getResultPrice()));
+            assertEquals(0, bfBag.getResultWeight().compareTo(bag.getResultWeight()));
+        }
+    }
+
+    @RepeatedTest(20)
+    void largeCase() throws LineFormatException {
+        // 15 items with quantities up to 10 have too many pieces for brute force
+        StringBuilder sb = new StringBuilder("100,100 :");
+        for (int i = 1; i <= 15; i++)
+            sb.append(String.format(" (%d,%d.%d,€%d,%d.%d,%d)", i, 1 + r.nextInt(30), r.nextInt(10),
+                    1 + r.nextInt(100), 1 + r.nextInt(30), r.nextInt(10), 1 + r.nextInt(10)));
+        RecordInstance p = new RecordInstance(1, sb.toString());
+
+        Package pareto = new TwoDimensionalAlgoImpl(p, TwoDimensionalAlgoImpl.Mode.PARETO).getBag();
+        Package bnb = new TwoDimensionalAlgoImpl(p, TwoDimensionalAlgoImpl.Mode.BRANCH_AND_BOUND).getBag();
+        assertEquals(0, pareto.getResultPrice().compareTo(bnb.getResultPrice()), sb.toString());
+        assertEquals(0, pareto.getResultWeight().compareTo(bnb.getResultWeight()), sb.toString());
+        assertEquals(0, pareto.getResultVolume().compareTo(bnb.getResultVolume()), sb.toString());
+        assertTrue(bnb.getResultVolume().compareTo(p.getMaxVolume()) <= 0);
+    }
+
+    @Test
+    void testWeightOnlySolvers() throws LineFormatException {
+        RecordInstance p = new RecordInstance(1, "10,6 : (1,6,€10,1) (2,4,€9,6)");
+        assertThrows(IllegalArgumentException.class, () -> new DynamicProgrammingAlgoImpl(p));
+        assertThrows(IllegalArgumentException.class, () -> new BranchAndBoundAlgoImpl(p));
+        assertThrows(IllegalArgumentException.class, () -> KBestSolver.best(p, 3));
+    }
+
+    // Tries every subset of the pieces
+    private static Package bruteForce(final RecordInstance p) {
+        List<Item> pieces = p.getPieces();
+        Package best = new Package(p.getMap(), null);
+        for (int mask = 0; mask < 1 << pieces.size(); mask++) {
+            SortedSet<Integer> labels = new TreeSet<>();
+            for (int i = 0; i < pieces.size(); i++)
+                if ((mask & (1 << i)) != 0)
+                    labels.add(pieces.get(i).getNumber());
+            Package bag = new Package(p.getMap(), labels);
+            if (bag.getResultWeight().compareTo(p.getMaxWeight()) > 0
+                    || bag.getResultVolume().compareTo(p.getMaxVolume()) > 0)
+                continue;
+            int price = bag.getResultPrice().compareTo(best.getResultPrice());
+            int weight = bag.getResultWeight().compareTo(best.getResultWeight());
+            if (price > 0 || (price == 0 && (weight < 0
+                    || (weight == 0 && bag.getResultVolume().compareTo(best.getResultVolume()) < 0))))
+                best = bag;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,61 @@
+package eu.unite.challenge.dataobjects;
+
+import eu.unite.challenge.algorithms.ItemComparators;
+import eu.unite.challenge.exceptions.OutOfRangeProblemSizeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FixedPointInstanceTest {
+
+    @Test
+    void testScaling() throws Exception {
+        RecordInstance p = new RecordInstance(1, "10.5 : (1, 1.3, €10) (2, 8.95, €4.5) (3, 2, €0.125)");
+        FixedPointInstance fp = new FixedPointInstance(p);
+
+        assertEquals(2, fp.getWeightScale());
+        assertEquals(3, fp.getPriceScale());
+        assertEquals(1050, fp.getMaxWeight());
+        assertArrayEquals(new long[]{130, 895, 200}, fp.getWeights());
+        assertArrayEquals(new long[]{10000, 4500, 125}, fp.getPrices());
+        assertEquals(1225, fp.getTotalWeight());
+        assertEquals(14625, fp.getTotalPrice());
+        assertEquals(List.of(1, 3), List.copyOf(fp.labelsOf(0b101)));
+        assertEquals(0, new BigDecimal("14.625").compareTo(fp.toPrice(fp.getTotalPrice())));
+        assertEquals(0, new BigDecimal("12.25").compareTo(fp.toWeight(fp.getTotalWeight())));
+    }
+
+    @Test
+    void testOrder() throws Exception {
+        RecordInstance p = new RecordInstance(1, "10 : (1, 1, €10) (2, 2, €40) (3, 4, €30)");
+        FixedPointInstance fp = new FixedPointInstance(p, ItemComparators.priceWeight.reversed());
+
+        assertEquals(2, fp.label(0));
+        assertEquals(3, fp.label(1));
+        assertEquals(1, fp.label(2));
+        assertEquals(40, fp.price(0));
+        assertEquals(4, fp.weight(1));
+
+        // efficiencies are 10, 20, 7.5
+        FixedPointInstance original = new FixedPointInstance(p);
+        FixedPointInstance sorted = original.sorted(ItemComparators.efficiencyPrice(original).reversed());
+        assertEquals(2, sorted.label(0));
+        assertEquals(1, sorted.label(1));
+        assertEquals(3, sorted.label(2));
+        assertEquals(original.getTotalPrice(), sorted.getTotalPrice());
+    }
+
+    @Test
+    void testOverflow() throws Exception {
+        List<Item> items = List.of(new Item(1, BigDecimal.ONE, BigDecimal.ONE));
+        assertThrows(OutOfRangeProblemSizeException.class,
+                () -> new FixedPointInstance(BigDecimal.ONE, items, 0, 19));
+        assertThrows(ArithmeticException.class,
+                () -> new FixedPointInstance(new BigDecimal("1.5"), items, 0, 0));
+    }
+}
@@ -2,6 +2,7 @@ package eu.unite.challenge.dataobjects;
 
 import eu.unite.challenge.exceptions.ItemException;
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -11,8 +12,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,6 +58,61 @@ class ItemTest {
                 item.hashCode());
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"1,2,€3,0", "1,2,€3,x", "1,2,€3,1.5", "1,2,€3,10001", "1,2,€3,99999999999", "1,2,€3,4,5"})
+    void checkForBadQuantities(final String s) {
+        ItemException e = assertThrows(ItemException.class, () -> new Item(1, s));
+        logger.trace("{}", e.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1,2,€3", "1,2,€3,0", "1,2,€3,x", "1,2,€3,101", "1,2,€3,4,0", "1,2,€3,4,5,6"})
+    void checkForBadVolumes(final String s) {
+        ItemException e = assertThrows(ItemException.class, () -> new Item(1, s, true));
+        logger.trace("{}", e.getMessage());
+    }
+
+    @Test
+    void checkVolumes() throws ItemException {
+        Item item = new Item(2, "2, 1.5, €2, 0.25, 3", true);
+        assertEquals(new BigDecimal("0.25"), item.getVolume());
+        assertEquals(3, item.getQuantity());
+        assertEquals(new BigDecimal("0.50"), item.pieces().get(1).getVolume());
+        assertEquals(item, new Item(2, item.tripleString(), true));
+
+        // Without a volume, the fourth component is the quantity
+        assertEquals(4, new Item(2, "2, 1.5, €2, 4").getQuantity());
+        assertEquals(BigDecimal.ZERO, new Item(2, "2, 1.5, €2, 4").getVolume());
+    }
+
+    @Test
+    void checkPieces() throws ItemException {
+        Item item = new Item(3, "3, 1.5, €2, 10");
+        assertEquals(10, item.getQuantity());
+        assertEquals("(3, 1.5, €2, 10)", item.toString());
+        assertNotEquals(new Item(3, "3, 1.5, €2"), item);
+
+        // 10 = 1 + 2 + 4 + 3
+        List<Item> pieces = item.pieces();
+        assertEquals(List.of(1, 2, 4, 3), IntStream.range(0, pieces.size())
+                .mapToObj(item::pieceSize)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(3, 3 + Item.PIECE_STRIDE, 3 + 2 * Item.PIECE_STRIDE, 3 + 3 * Item.PIECE_STRIDE),
+                pieces.stream().map(Item::getNumber).collect(Collectors.toList()));
+        assertEquals(new BigDecimal("4.5"), pieces.get(3).getWeight());
+        assertEquals(new BigDecimal("6"), pieces.get(3).getPrice());
+        assertEquals(item.getEfficiency(), pieces.get(3).getEfficiency());
+        for (Item piece : pieces) {
+            assertEquals(3, Item.numberOf(piece.getNumber()));
+            assertEquals(1, piece.getQuantity());
+        }
+
+        // A quantity of 1000 costs 10 pieces
+        assertEquals(10, new Item(1, BigDecimal.ONE, BigDecimal.ONE, 1000).pieces().size());
+        Item single = new Item(3, "3, 1.5, €2");
+        assertSame(single, single.pieces().get(0));
+    }
+
     @RepeatedTest(100)
     void checkForEquality() {
         int number = r.nextInt(15) + 1;
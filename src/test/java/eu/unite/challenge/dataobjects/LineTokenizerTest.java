@@ -0,0 +1,234 @@
+package eu.unite.challenge.dataobjects;
+
+import eu.unite.challenge.exceptions.ItemException;
+import eu.unite.challenge.exceptions.LineFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import static eu.unite.challenge.sources.TestCaseSources.GIVEN_TEST_CASE;
+import static eu.unite.challenge.validations.ConstraintRules.*;
+import static eu.unite.challenge.validations.RegexPatternsValidator.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link RecordInstance} and {@link Item}, which parse lines by
+ * {@link LineTokenizer}, to parsing them by splitting and regular expressions.
+ */
+@SpringBootTest
+class LineTokenizerTest {
+    private static final List<String> LINES = new ArrayList<>(GIVEN_TEST_CASE);
+
+    static {
+        LINES.add("10,6 : (1,6,€10,1) (2,4,€9,6) (3,4,€8,5)");
+        LINES.add("50 : (1,10,€60,3) (2,20,€100,2) (3,30,€120)");
+        LINES.add("25.5,7.25 : (1,.5,€0.25,1.5,4) (2,12.125,€7,0.5)");
+    }
+
+    private static final String ALPHABET = "0123456789.,:()€ \t\u2028x";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "8 : (1,15.3,€34):", "8 : (1,15.3,€34)::", "8 :: (1,15.3,€34)", "8 : (1,15.3,€34) : 9", ":",
+            ": (1,15.3,€34)", "8 :", "8", "8, : (1,2,€3)", ",8 : (1,2,€3)", "8,5,1 : (1,2,€3,4)", "8, 5 : (1,2,€3)",
+            ".5 : (1,.5,€.5)", "8. : (1,2,€3)", "8 : (1,2.,€3)", "8 : (1,2,€.)", "8 : (1,2,3)", "8 : (01,2,€3)",
+            "8 : (1,2,€3) x (2,2,€3)", "8 : ((1,2,€3)", "8 : (1,2,€3))(2,2,€3)", "8 : (1,2,€3", "8 : 1,2,€3)",
+            "8 : (1,2,€3,)", "8 : (1,2,€3,,)", "8 : (,1,2,€3)", "8 : (,,)", "8 : ()", "8 : (1,0,€3)", "8 : (1,0,€0)",
+            "8 : (99999999999,1,€2)", "8 : (1,1,€2,99999999999)", "8 : (1,1,€2,0)", "8 : (1,1,€2,1,1)",
+            "8 : (1,2,€3) ", "8  : (1,2,€3)", "8 : (1,0.0000000000000000000001,€3)",
+            "100.0000000000000000001 : (1,2,€3)", "101 : (1,2,€3)", "8,101 : (1,2,€3,4)", "8,5 : (1,2,€3,0)",
+            "8,5 : (1,2,€3,101)", "8,5 : (1,2,€3,6)", "8,5 : (1,2,€3)", "8 : (1,9,€3) (2,2,€3)",
+    })
+    void testEdgeCases(final String line) {
+        assertEquals(regexParse(7, line), parse(7, line), line);
+    }
+
+    @Test
+    void testRandomLines() {
+        Random random = new Random(25);
+        for (int i = 0; i < 20000; i++) {
+            String line = mutate(random, LINES.get(random.nextInt(LINES.size())));
+            assertEquals(regexParse(i, line), parse(i, line), line);
+        }
+    }
+
+    @Test
+    void testRandomItems() {
+        Random random = new Random(26);
+        for (int i = 0; i < 20000; i++) {
+            boolean withVolume = random.nextBoolean();
+            String triple = mutate(random, withVolume ? "1, 2.5, €3, .75, 4" : "1, 2.5, €3");
+            assertEquals(regexItemParse(1, triple, withVolume), itemParse(1, triple, withVolume), triple);
+        }
+    }
+
+    private static String mutate(final Random random, final String line) {
+        StringBuilder sb = new StringBuilder(line);
+        for (int k = random.nextInt(4); k >= 0; k--) {
+            int position = random.nextInt(sb.length() + 1);
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    sb.insert(position, c);
+                    break;
+                case 1:
+                    if (position < sb.length())
+                        sb.deleteCharAt(position);
+                    break;
+                default:
+                    if (position < sb.length())
+                        sb.setCharAt(position, c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String parse(final int lineNo, final String line) {
+        try {
+            RecordInstance instance = new RecordInstance(lineNo, line);
+            StringBuilder sb = new StringBuilder()
+                    .append(instance.getMaxWeight()).append(" ").append(instance.getMaxVolume())
+                    .append(" ").append(instance.getMaxWeightScale())
+                    .append(" ").append(instance.getMaxPriceScale());
+            for (Item item : instance.getItems())
+                sb.append(" ").append(describe(item.getNumber(), item.getWeight(), item.getPrice(),
+                        item.getVolume(), item.getQuantity()));
+            return sb.toString();
+        } catch (Exception e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private static String itemParse(final int itemNo, final String triple, final boolean withVolume) {
+        try {
+            Item item = new Item(itemNo, triple, withVolume);
+            return describe(item.getNumber(), item.getWeight(), item.getPrice(), item.getVolume(),
+                    item.getQuantity());
+        } catch (Exception e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private static String describe(final int number, final BigDecimal weight, final BigDecimal price,
+                                   final BigDecimal volume, final int quantity) {
+        return String.format("(%d,%s,%s,%s,%d)", number, weight, price, volume, quantity);
+    }
+
+    /*
+     * The former parsing of RecordInstance and Item, by splitting and regular expressions
+     */
+    private static String regexParse(final int lineNo, final String line) {
+        try {
+            if (line == null) throw new LineFormatException(lineNo, "Line cannot be null");
+            String strippedLine = line.replaceAll("\\s+", "");
+            if (strippedLine.isEmpty()) throw new LineFormatException(lineNo, "Line cannot be blank");
+            String[] sections = strippedLine.split(":");
+            if (sections.length != 2)
+                throw new LineFormatException(lineNo, "The line is not in a:b format");
+
+            String[] limits = sections[0].split(",", -1);
+            if (limits.length > 2)
+                throw new LineFormatException(lineNo, "Expected a maximum weight, and optionally a maximum volume");
+            if (!DECIMAL_PATTERN.matcher(limits[0]).matches())
+                throw new LineFormatException(lineNo, "Maximum weight must be a positive number");
+            if (limits.length == 2 && !DECIMAL_PATTERN.matcher(limits[1]).matches())
+                throw new LineFormatException(lineNo, "Maximum volume must be a positive number");
+
+            BigDecimal maxWeight = new BigDecimal(limits[0]);
+            if (maxWeight.compareTo(MAX_PACKAGE_WEIGHT) > 0)
+                throw new LineFormatException(lineNo, String.format("Max package weight %s exceeds %s",
+                        maxWeight.toPlainString(), MAX_PACKAGE_WEIGHT.toPlainString()));
+            BigDecimal maxVolume = limits.length == 2 ? new BigDecimal(limits[1]) : null;
+            if (maxVolume != null && maxVolume.compareTo(MAX_PACKAGE_VOLUME) > 0)
+                throw new LineFormatException(lineNo, String.format("Max package volume %s exceeds %s",
+                        maxVolume.toPlainString(), MAX_PACKAGE_VOLUME.toPlainString()));
+
+            int scale = maxWeight.scale();
+            int priceScale = 0;
+            if (!ALL_ITEMS_PATTERN.matcher(sections[1]).matches())
+                throw new LineFormatException(lineNo, "Items must be separated by matching pairs of parentheses");
+
+            Matcher matcher = SINGLE_ITEM_PATTERN.matcher(sections[1]);
+            StringBuilder items = new StringBuilder();
+            int cnt;
+            for (cnt = 0; matcher.find(); cnt++) {
+                Object[] item;
+                try {
+                    item = regexItem(cnt + 1, matcher.group(1), maxVolume != null);
+                } catch (ItemException e) {
+                    throw new LineFormatException(lineNo, e);
+                }
+                BigDecimal w = (BigDecimal) item[1];
+                BigDecimal p = (BigDecimal) item[2];
+                BigDecimal v = (BigDecimal) item[3];
+                if (w.compareTo(maxWeight) <= 0 && (maxVolume == null || v.compareTo(maxVolume) <= 0))
+                    items.append(" ").append(describe((int) item[0], w, p, v, (int) item[4]));
+                scale = Math.max(scale, w.scale());
+                priceScale = Math.max(priceScale, p.scale());
+            }
+            if (cnt > MAX_ITEMS_PER_LINE)
+                throw new LineFormatException(lineNo, String.format(
+                        "At most %d items are allowed per line, but received %d", MAX_ITEMS_PER_LINE, cnt));
+
+            return maxWeight + " " + maxVolume + " " + scale + " " + priceScale + items;
+        } catch (Exception e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private static String regexItemParse(final int itemNo, final String triple, final boolean withVolume) {
+        try {
+            Object[] item = regexItem(itemNo, triple, withVolume);
+            return describe((int) item[0], (BigDecimal) item[1], (BigDecimal) item[2], (BigDecimal) item[3],
+                    (int) item[4]);
+        } catch (Exception e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private static Object[] regexItem(final int itemNo, final String triple, final boolean withVolume)
+            throws ItemException {
+        if (triple == null)
+            throw new ItemException(itemNo, "item cannot be null");
+        final int required = withVolume ? 4 : 3;
+        String[] subItems = triple.replaceAll("\\s+", "").split(",");
+        if (subItems.length != required && subItems.length != required + 1)
+            throw new ItemException(itemNo, String.format("Expected %d or %d components, but received %d",
+                    required, required + 1, subItems.length));
+        if (!LABEL_PATTERN.matcher(subItems[0]).matches())
+            throw new ItemException(itemNo, "Item number must be a positive integer");
+        if (!WEIGHT_PATTERN.matcher(subItems[1]).matches())
+            throw new ItemException(itemNo, "Item weight must be a number");
+        if (!PRICE_PATTERN.matcher(subItems[2]).matches())
+            throw new ItemException(itemNo, "Item price must be a number, preceded with €");
+        if (withVolume && !VOLUME_PATTERN.matcher(subItems[3]).matches())
+            throw new ItemException(itemNo, "Item volume must be a number");
+        final boolean hasQuantity = subItems.length == required + 1;
+        if (hasQuantity && !QUANTITY_PATTERN.matcher(subItems[required]).matches())
+            throw new ItemException(itemNo, "Item quantity must be a positive integer");
+
+        int num = Integer.parseInt(subItems[0]);
+        BigDecimal w = new BigDecimal(subItems[1]);
+        BigDecimal p = new BigDecimal(subItems[2].substring(1));
+        if (num != itemNo)
+            throw new ItemException(itemNo, "Item number does not match its position");
+        Item.checkWeightAndPrice(num, w, p);
+        BigDecimal v = BigDecimal.ZERO;
+        if (withVolume) {
+            v = new BigDecimal(subItems[3]);
+            Item.checkVolume(num, v);
+        }
+        int q = 1;
+        if (hasQuantity)
+            q = subItems[required].length() > 9 ? Integer.MAX_VALUE : Integer.parseInt(subItems[required]);
+        Item.checkQuantity(num, q);
+        return new Object[]{num, w, p, v, q};
+    }
+}
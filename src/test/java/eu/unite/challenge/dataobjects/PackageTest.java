@@ -5,7 +5,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -70,4 +72,25 @@ class PackageTest {
         assertEquals("5,8", bag.getResult());
     }
 
+    @Test
+    public void testPieces() throws Exception {
+        Map<Integer, Item> map = new HashMap<>();
+        map.put(1, new Item(1, new BigDecimal("2.5"), BigDecimal.TEN));
+        map.put(3, new Item(3, new BigDecimal("1.5"), new BigDecimal("2"), 10));
+
+        // Pieces 1 and 2 of item 3 hold 2 and 4 units
+        SortedSet<Integer> labels = new TreeSet<>(List.of(1, 3 + Item.PIECE_STRIDE, 3 + 2 * Item.PIECE_STRIDE));
+        Package bag = new Package(map, labels);
+        assertEquals(Set.of(1, 3), bag.getIndices());
+        assertEquals(Map.of(1, 1, 3, 6), bag.getQuantities());
+        assertEquals(labels, bag.getLabels());
+        assertEquals("1,3x6", bag.getResult());
+        assertEquals(0, new BigDecimal("11.5").compareTo(bag.getResultWeight()));
+        assertEquals(0, new BigDecimal("22").compareTo(bag.getResultPrice()));
+
+        // Item 1 has a single piece
+        assertThrows(IllegalArgumentException.class,
+                () -> new Package(map, new TreeSet<>(List.of(1 + Item.PIECE_STRIDE))));
+    }
+
 }
\ No newline at end of file
@@ -9,9 +9,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
 import static eu.unite.challenge.validations.ConstraintRules.MAX_ITEMS_PER_LINE;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class RecordInstanceTest {
@@ -51,6 +59,42 @@ class RecordInstanceTest {
         logger.trace("{}", ex.getMessage());
     }
 
+    @Test
+    void checkQuantities() throws Exception {
+        RecordInstance p = new RecordInstance(1, "10 : (1,3,€5,3) (2,4,€7) (3,0.5,€1,1000)");
+        assertEquals(3, p.getMap().get(1).getQuantity());
+        assertEquals(1, p.getMap().get(2).getQuantity());
+
+        // Pieces 1, 2 of item 1, and 1, 2, 4, 8, 16 of item 3; the rest is heavier than 10
+        assertEquals(List.of(1, 1 + Item.PIECE_STRIDE, 2, 3, 3 + Item.PIECE_STRIDE, 3 + 2 * Item.PIECE_STRIDE,
+                        3 + 3 * Item.PIECE_STRIDE, 3 + 4 * Item.PIECE_STRIDE),
+                p.getPieces().stream().map(Item::getNumber).collect(Collectors.toList()));
+
+        assertThrows(FormatException.class, () -> new RecordInstance(0, "10 : (1,3,€5,0)"));
+    }
+
+    @Test
+    void checkVolumes() throws Exception {
+        RecordInstance p = new RecordInstance(1, "10,6 : (1,3,€5,2) (2,4,€7,7) (3,0.5,€1,1.5,4)");
+        assertEquals(new BigDecimal("6"), p.getMaxVolume());
+        assertTrue(p.hasVolume());
+
+        // Item 2 is larger than 6, and item 3 has the pieces 1, 2, 1
+        assertEquals(List.of(1, 3), p.getItems().stream().map(Item::getNumber).collect(Collectors.toList()));
+        assertEquals(List.of(1, 3, 3 + Item.PIECE_STRIDE, 3 + 2 * Item.PIECE_STRIDE),
+                p.getPieces().stream().map(Item::getNumber).collect(Collectors.toList()));
+        assertEquals(new BigDecimal("5.0"), new Package(p.getMap(), new TreeSet<>(List.of(1, 3 + Item.PIECE_STRIDE)))
+                .getResultVolume());
+        assertEquals(p.getItems(), p.withItems(p.getItems()).getItems());
+        assertTrue(p.withItems(p.getItems()).hasVolume());
+
+        assertFalse(new RecordInstance(1, "10 : (1,3,€5,2)").hasVolume());
+        assertThrows(FormatException.class, () -> new RecordInstance(0, "10,101 : (1,3,€5,2)"));
+        assertThrows(FormatException.class, () -> new RecordInstance(0, "10,x : (1,3,€5,2)"));
+        assertThrows(FormatException.class, () -> new RecordInstance(0, "10,6,6 : (1,3,€5,2)"));
+        assertThrows(FormatException.class, () -> new RecordInstance(0, "10,6 : (1,3,€5)"));
+    }
+
     @ParameterizedTest
     @MethodSource("eu.unite.challenge.sources.TestCaseSources#givenTestCase")
     void checkValidLine(final int lineNo, final String line) {
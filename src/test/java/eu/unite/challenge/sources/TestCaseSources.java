@@ -103,6 +103,54 @@ public class TestCaseSources {
         return Arrays.stream(args);
     }
 
+    /*
+     * Random lines, where every item has a quantity from 1 to 20
+     */
+    public static Stream<Arguments> boundedSource() {
+        Arguments[] args = new Arguments[200];
+
+        for (int i = 0; i < args.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(randomDecimal(100, 1))
+                    .append(":");
+            for (int j = 0; j <= r.nextInt(6); j++) {
+                StringBuilder item = formatItem(j, randomDecimal(30, 1), randomDecimal(100, 2));
+                item.insert(item.length() - 1, "," + (1 + r.nextInt(20)));
+                sb.append(item);
+            }
+            args[i] = Arguments.arguments(i + 1, sb.toString());
+        }
+
+        return Arrays.stream(args);
+    }
+
+    /*
+     * Random lines with a maximum volume, where items have a volume, and some
+     * have a quantity from 2 to 3
+     */
+    public static Stream<Arguments> volumeSource() {
+        Arguments[] args = new Arguments[300];
+
+        for (int i = 0; i < args.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(randomDecimal(100, 1))
+                    .append(",")
+                    .append(randomDecimal(100, 1))
+                    .append(":");
+            for (int j = 0; j <= r.nextInt(7); j++) {
+                StringBuilder item = formatItem(j, randomDecimal(50, 1), randomDecimal(100, 2));
+                String volume = "," + randomDecimal(50, 2).toPlainString();
+                if (r.nextInt(4) == 0)
+                    volume += "," + (2 + r.nextInt(2));
+                item.insert(item.length() - 1, volume);
+                sb.append(item);
+            }
+            args[i] = Arguments.arguments(i + 1, sb.toString());
+        }
+
+        return Arrays.stream(args);
+    }
+
     private static StringBuilder formatItem(int i, BigDecimal w, BigDecimal p) {
         StringBuilder sb = new StringBuilder();
         sb.append("(")
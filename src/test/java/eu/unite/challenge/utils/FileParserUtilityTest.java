@@ -8,9 +8,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static eu.unite.challenge.sources.TestCaseSources.GIVEN_TEST_CASE;
 import static eu.unite.challenge.validations.ConstraintRules.*;
@@ -63,9 +66,53 @@ public class FileParserUtilityTest {
     }
 
     @Test
-    void testLargeFile() {
-        FileParserUtility fileParser = new FileParserUtility("C:\\pagefile.sys");
-        assertThrows(FileFormatException.class, fileParser::parse);
+    void testLargeFile() throws IOException, FileFormatException {
+        // Twice the size of the former 1 MB cap, with a malformed line every 1000 lines
+        File f = File.createTempFile("items-file", ".txt");
+        f.deleteOnExit();
+        int lines = 0;
+        try (BufferedWriter writer = java.nio.file.Files.newBufferedWriter(f.toPath(), FILE_ENCODING)) {
+            for (long size = 0; size < 2_000_000; lines++) {
+                String line = lines % 1000 == 999 ? "DUMMY" : GIVEN_TEST_CASE.get(lines % GIVEN_TEST_CASE.size());
+                writer.write(line);
+                writer.newLine();
+                size += line.length() + 1;
+            }
+        }
+        assertTrue(f.length() > 1_000_000);
+
+        FileParserUtility fileParser = new FileParserUtility(f.getAbsolutePath());
+        int count = 0;
+        try (Stream<RecordInstance> recordInstances = fileParser.stream()) {
+            Iterator<RecordInstance> iterator = recordInstances.iterator();
+            for (; iterator.hasNext(); count++) {
+                RecordInstance recordInstance = iterator.next();
+                assertEquals(count % 1000 == 999, recordInstance == null, "line " + (count + 1));
+            }
+        }
+        assertEquals(lines, count);
+    }
+
+    @Test
+    void testStreamIsLazy() throws IOException, FileFormatException {
+        String text = String.join(System.lineSeparator(),
+                List.of("DUMMY", "8 : (1,15.3,€34)", "DUMMY"));
+        FileParserUtility fileParser = new FileParserUtility(getTempFile(text));
+        try (Stream<RecordInstance> recordInstances = fileParser.stream()) {
+            Iterator<RecordInstance> iterator = recordInstances.iterator();
+            assertNull(iterator.next());
+            RecordInstance recordInstance = iterator.next();
+            assertNotNull(recordInstance);
+            assertEquals(0, recordInstance.getItems().size());
+            assertNull(iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    void testStreamEmpty() throws IOException {
+        FileParserUtility fileParser = new FileParserUtility(getTempFile(null));
+        assertThrows(FileFormatException.class, fileParser::stream);
     }
 
 }
\ No newline at end of file